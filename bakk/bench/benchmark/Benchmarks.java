@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of the logic package and keeps their results, so every commit can be compared with the ones before
+ * @details every benchmark is run with the allocation profiler, so besides the time of an operation the bytes it
+ * 			allocates and the garbage collections it causes are measured; the results of a run are written as JSON to
+ * 			bench/results, named after the commit measured
+ * @author Patrick Bellositz
+ */
+public class Benchmarks {
+
+	/**
+	 * directory the results are written to
+	 */
+	static final File RESULTS = new File("bench", "results");
+
+	/**
+	 * how the benchmarks are run
+	 */
+	private static final String USAGE = "usage: java -cp <classpath> benchmark.Benchmarks [-n <name>] [<benchmark pattern>...]\n"
+			+ "  name:    the name of the result file, the current commit by default\n"
+			+ "  pattern: regular expression selecting benchmarks, e.g. ExtensionBenchmark.isAdmissible, all of them by default";
+
+	/**
+	 * main method
+	 * @param args the name of the results and the benchmarks to be run
+	 * @throws RunnerException if a benchmark could not be run
+	 */
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		String name = null;
+		boolean selected = false;
+
+		for(int i = 0; i < args.length; i++){
+			if(args[i].equals("-n") && i+1 < args.length){
+				name = args[++i];
+			}
+			else if(args[i].startsWith("-")){
+				System.err.println(USAGE);
+				System.exit(2);
+			}
+			else{
+				options.include(args[i]);
+				selected = true;
+			}
+		}
+
+		if(!selected){
+			options.include(Benchmarks.class.getPackage().getName() + "\\..*Benchmark");
+		}
+		if(name == null){
+			name = getCommit();
+		}
+
+		RESULTS.mkdirs();
+
+		options.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(new File(RESULTS, name + ".json").getPath());
+
+		new Runner(options.build()).run();
+	}
+
+	/**
+	 * @return the abbreviated hash of the commit checked out, "local" if it cannot be found
+	 */
+	static String getCommit() {
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8));
+			String commit = reader.readLine();
+
+			reader.close();
+			if(git.waitFor() == 0 && commit != null){
+				return commit.trim();
+			}
+		} catch (IOException e) {
+			//no git, the results are kept under the default name
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		return "local";
+	}
+}
@@ -0,0 +1,224 @@
+package benchmark;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import logic.AttackIndex;
+import logic.Extension;
+import logic.Framework;
+import logic.SetTrie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the tests of single extensions, the way the enumerating solvers run them without explanations
+ * @details every operation tests a fixed set of candidates: the grounded extension of the framework, maximal
+ * 			conflict-free sets and random sets of arguments, so tests that succeed and tests that fail are both measured; the
+ * 			times are given per candidate. The candidates are tested for conflict-freeness and admissibility
+ * 			once beforehand, as the solvers do before the tests depending on them. The superset queries that
+ * 			decide which extensions are preferred are measured on a set-trie of half of the maximal sets, asking
+ * 			for smaller sets contained in them and for the other maximal sets, which are contained in none
+ * @author Patrick Bellositz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtensionBenchmark {
+
+	/**
+	 * number of candidates tested by every operation
+	 */
+	private static final int CANDIDATES = 64;
+
+	@Param({"RANDOM", "ACYCLIC", "CLUSTERED"})
+	private Frameworks.Shape shape; //the way the attacks are arranged
+
+	@Param({"50", "500", "2000"})
+	private int arguments; //number of arguments
+
+	@Param({"0.01", "0.1"})
+	private double density; //probability of an attack between two arguments
+
+	private Framework framework; //the framework the candidates belong to
+	private BitSet[] members; //arguments of every candidate
+	private Extension[] candidates; //the candidates, tested for conflict-freeness and admissibility
+	private SetTrie<BitSet> maximal; //every other maximal conflict-free candidate
+	private BitSet[] queries; //alternately a subset of a stored maximal set and a maximal set that is not stored
+
+	/**
+	 * creates the framework and chooses the candidates
+	 * @throws Exception if the grounded extension could not be computed
+	 */
+	@Setup
+	public void setup() throws Exception {
+		framework = Frameworks.create(shape, arguments, density);
+
+		AttackIndex index = framework.getIndex();
+		Random random = new Random(arguments);
+
+		members = new BitSet[CANDIDATES];
+		candidates = new Extension[CANDIDATES];
+		members[0] = framework.getGroundedExtension(false, false).getMembers();
+
+		for(int c = 1; c < CANDIDATES; c++){
+			members[c] = new BitSet(arguments);
+
+			if(c % 2 == 0){ //about as many arguments as the grounded extension of a sparse framework
+				for(int i = 0; i < arguments; i++){
+					if(random.nextInt(4) == 0){
+						members[c].set(i);
+					}
+				}
+			}
+			else{ //a maximal conflict-free set, added to in random order
+				BitSet blocked = new BitSet(arguments);
+
+				for(int i = random.nextInt(arguments), k = 0; k < arguments; i = (i + 1) % arguments, k++){
+					if(blocked.get(i) || attacksItself(index, i)){
+						continue;
+					}
+
+					members[c].set(i);
+					for(int j = index.getAttackedStart(i); j < index.getAttackedEnd(i); j++){
+						blocked.set(index.getAttacked(j));
+					}
+					for(int j = index.getAttackerStart(i); j < index.getAttackerEnd(i); j++){
+						blocked.set(index.getAttacker(j));
+					}
+				}
+			}
+		}
+
+		for(int c = 0; c < CANDIDATES; c++){
+			candidates[c] = new Extension(members[c], framework);
+			candidates[c].isConflictFree(false);
+			candidates[c].isAdmissible(false);
+		}
+
+		maximal = new SetTrie<BitSet>();
+		queries = new BitSet[CANDIDATES/2];
+
+		for(int c = 1; c < CANDIDATES; c += 2){
+			if(c % 4 == 1){ //every other argument is left out, the stored set contains the rest
+				maximal.add(members[c], members[c]);
+				queries[c/2] = (BitSet) members[c].clone();
+
+				for(int i = members[c].nextSetBit(0), k = 0; i >= 0; i = members[c].nextSetBit(i+1), k++){
+					if(k % 2 == 0){
+						queries[c/2].clear(i);
+					}
+				}
+			}
+			else{ //usually contained in none of the stored sets, so every path that might contain it is searched
+				queries[c/2] = members[c];
+			}
+		}
+	}
+
+	/**
+	 * @return whether an argument attacks itself
+	 * @param index the attack index of the framework
+	 * @param id the id of the argument
+	 */
+	private static boolean attacksItself(AttackIndex index, int id) {
+		for(int j = index.getAttackedStart(id); j < index.getAttackedEnd(id); j++){
+			if(index.getAttacked(j) == id){
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * creates the extensions, reading the range and the attackers of their arguments from the attack index
+	 * @param blackhole consumes the extensions
+	 */
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES)
+	public void readAttacks(Blackhole blackhole) {
+		for(BitSet m: members){
+			blackhole.consume(new Extension(m, framework));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES)
+	public int isConflictFree() {
+		int passed = 0;
+
+		for(Extension e: candidates){
+			passed += e.isConflictFree(false) ? 1 : 0;
+		}
+
+		return passed;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES)
+	public int isAdmissible() {
+		int passed = 0;
+
+		for(Extension e: candidates){
+			passed += e.isAdmissible(false) ? 1 : 0;
+		}
+
+		return passed;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES)
+	public int isComplete() {
+		int passed = 0;
+
+		for(Extension e: candidates){
+			passed += e.isComplete(false) ? 1 : 0;
+		}
+
+		return passed;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES)
+	public int isStable() {
+		int passed = 0;
+
+		for(Extension e: candidates){
+			passed += e.isStable(false) ? 1 : 0;
+		}
+
+		return passed;
+	}
+
+	/**
+	 * looks for a stored set containing every query, as the preferred extensions are found among the admissible ones
+	 * @return the number of queries contained in a stored set
+	 */
+	@Benchmark
+	@OperationsPerInvocation(CANDIDATES/2)
+	public int getSuperset() {
+		int found = 0;
+
+		for(BitSet q: queries){
+			found += (maximal.getSuperset(q) != null) ? 1 : 0;
+		}
+
+		return found;
+	}
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import logic.Engine;
+import logic.Extension;
+import logic.Framework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the computation of all extensions of a framework under every semantics, without explanations
+ * @details conflict-free sets and admissible extensions are always enumerated, so their frameworks are small;
+ * 			complete, preferred and stable extensions are measured for every engine, on the same frameworks.
+ * 			Results computed before are never used, every operation computes the extensions from scratch
+ * @author Patrick Bellositz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameworkBenchmark {
+
+	/**
+	 * A generated framework
+	 * @author Patrick Bellositz
+	 */
+	@State(Scope.Benchmark)
+	public static class Input {
+
+		@Param({"RANDOM", "ACYCLIC", "CLUSTERED"})
+		private Frameworks.Shape shape; //the way the attacks are arranged
+
+		@Param({"12", "20"})
+		private int arguments; //number of arguments
+
+		@Param({"0.1", "0.3"})
+		private double density; //probability of an attack between two arguments
+
+		protected Framework framework; //the framework whose extensions are computed
+
+		/**
+		 * creates the framework
+		 */
+		@Setup
+		public void setup() {
+			framework = Frameworks.create(shape, arguments, density);
+			configure(framework);
+		}
+
+		/**
+		 * prepares the framework before it is measured
+		 * @param framework the framework just created
+		 */
+		protected void configure(Framework framework) {
+		}
+	}
+
+	/**
+	 * A generated framework computing its extensions with one of the engines
+	 * @author Patrick Bellositz
+	 */
+	@State(Scope.Benchmark)
+	public static class Solver extends Input {
+
+		@Param({"ENUMERATION", "LABELLING", "SAT", "SCC"})
+		private Engine engine; //the way complete, preferred and stable extensions are computed
+
+		@Override
+		protected void configure(Framework framework) {
+			framework.setEngine(engine);
+		}
+	}
+
+	@Benchmark
+	public ArrayList<Extension> getConflictFreeSets(Input input) {
+		return input.framework.getConflictFreeSets(false);
+	}
+
+	@Benchmark
+	public ArrayList<Extension> getAdmissibleExtensions(Input input) {
+		return input.framework.getAdmissibleExtensions(false, false);
+	}
+
+	@Benchmark
+	public Extension getGroundedExtension(Input input) throws Exception {
+		return input.framework.getGroundedExtension(false, false);
+	}
+
+	@Benchmark
+	public ArrayList<Extension> getCompleteExtensions(Solver solver) throws Exception {
+		return solver.framework.getCompleteExtensions(false, false);
+	}
+
+	@Benchmark
+	public ArrayList<Extension> getPreferredExtensions(Solver solver) {
+		return solver.framework.getPreferredExtensions(false, false);
+	}
+
+	@Benchmark
+	public ArrayList<Extension> getStableExtensions(Solver solver) {
+		return solver.framework.getStableExtensions(false, false);
+	}
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import logic.Argument;
+import logic.Framework;
+
+/**
+ * Generates the frameworks the benchmarks are run on
+ * @details the frameworks are random, but the same for the same parameters in every run, so results of
+ * 			different commits can be compared; they are created without an interactor, the way the solvers
+ * 			and the batch solver use them
+ * @author Patrick Bellositz
+ */
+public class Frameworks {
+
+	/**
+	 * seed of the random attacks, fixed so every run measures the same frameworks
+	 */
+	private static final long SEED = 42;
+
+	/**
+	 * number of arguments in a cluster of the clustered shape
+	 */
+	private static final int CLUSTER_SIZE = 8;
+
+	/**
+	 * The ways the attacks of a generated framework are arranged
+	 * @author Patrick Bellositz
+	 */
+	public enum Shape {
+		RANDOM, //every ordered pair of different arguments is attacked with the density as probability
+		ACYCLIC, //only arguments with lower ids attack ones with higher ids, so the grounded extension decides everything
+		CLUSTERED //cycles of eight arguments, clusters with lower ids attack ones with higher ids with the density as probability
+	}
+
+	/**
+	 * creates a framework
+	 * @param shape the way the attacks are arranged
+	 * @param size the number of arguments
+	 * @param density the probability of an attack between two arguments it may be drawn between
+	 * @return the framework, without an interactor
+	 */
+	public static Framework create(Shape shape, int size, double density) {
+		Random random = new Random(SEED);
+		ArrayList<Argument> arguments = new ArrayList<Argument>(size);
+		int[] attackers = new int[16];
+		int[] attacked = new int[16];
+		int count = 0;
+
+		for(int i = 0; i < size; i++){
+			String label = "a" + (i+1);
+			arguments.add(new Argument(label, label));
+		}
+
+		for(int i = 0; i < size; i++){
+			for(int j = 0; j < size; j++){
+				boolean attack;
+
+				if(shape == Shape.RANDOM){
+					attack = i != j && random.nextDouble() < density;
+				}
+				else if(shape == Shape.ACYCLIC){
+					attack = i < j && random.nextDouble() < density;
+				}
+				else if(i / CLUSTER_SIZE == j / CLUSTER_SIZE){ //a cycle through the cluster
+					attack = j == nextInCluster(i, size);
+				}
+				else{
+					attack = i < j && random.nextDouble() < density;
+				}
+
+				if(attack){
+					if(count == attackers.length){
+						attackers = Arrays.copyOf(attackers, 2*count);
+						attacked = Arrays.copyOf(attacked, 2*count);
+					}
+					attackers[count] = i;
+					attacked[count] = j;
+					count++;
+				}
+			}
+		}
+
+		return new Framework(arguments, attackers, attacked, count, null);
+	}
+
+	/**
+	 * @return the argument an argument attacks in the cycle of its cluster
+	 * @param id the id of the argument
+	 * @param size the number of arguments, the last cluster may be smaller than the others
+	 */
+	private static int nextInCluster(int id, int size) {
+		int first = id - id % CLUSTER_SIZE;
+		int last = Math.min(first + CLUSTER_SIZE, size) - 1;
+
+		return (id == last) ? first : id + 1;
+	}
+}
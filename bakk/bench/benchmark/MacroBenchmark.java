@@ -0,0 +1,617 @@
+package benchmark;
+
+import interactor.Interactor;
+import interactor.Trace;
+import interactor.TraceBuffer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import exceptions.InvalidInputException;
+import logic.Engine;
+import logic.Extension;
+import logic.Framework;
+import logic.FrameworkReader;
+import logic.FrameworkReader.Format;
+
+/**
+ * Runs every semantics over a corpus of framework files the way the demonstration window does, and compares the
+ * results with a baseline
+ * @details every computation is started as a trace of the interactor, exactly as the buttons of the demonstration
+ * 			window start it, and all of its commands are taken and recorded, as if the user showed all steps;
+ * 			for every file and semantics the wall time, the peak heap, the number of extensions and commands and
+ * 			whether the computation ran out of time are written to a CSV and a JSON file. Given the CSV of an earlier
+ * 			run, every computation that became slower, needed more heap, found other extensions or stopped finishing
+ * 			is reported, and the runner fails
+ * @author Patrick Bellositz
+ */
+public class MacroBenchmark {
+
+	/**
+	 * how the runner is called
+	 */
+	private static final String USAGE = "usage: java -cp <classpath> benchmark.MacroBenchmark [-s <semantics>] [-e <engine>] [-t <seconds>] [-o <output>] [-b <baseline csv>] [-r <tolerance>] <file or directory>...\n"
+			+ "  semantics: comma separated list of CF, AD, CO, PR, ST and GR, all of them by default\n"
+			+ "  engine:    " + Arrays.toString(Engine.values()) + ", ENUMERATION by default\n"
+			+ "  seconds:   time a computation may take before it is stopped, 60 by default\n"
+			+ "  output:    path of the results without extension, bench/results/macro-<commit> by default\n"
+			+ "  tolerance: share by which a computation may get slower or use more heap than in the baseline, 0.2 by default";
+
+	/**
+	 * the semantics in the order they are run, as the buttons of the demonstration window
+	 */
+	private static final String[] SEMANTICS = {"CF", "AD", "CO", "PR", "ST", "GR"};
+
+	/**
+	 * differences of wall time in milliseconds below which a computation is never reported as slower
+	 */
+	private static final long MIN_MILLIS = 50;
+
+	/**
+	 * differences of peak heap in bytes below which a computation is never reported as needing more heap
+	 */
+	private static final long MIN_HEAP = 1 << 20;
+
+	/**
+	 * milliseconds a cancelled computation is waited for before it is abandoned and the next one is started
+	 */
+	private static final long CANCEL_MILLIS = 5000;
+
+	/**
+	 * the columns of the CSV file
+	 */
+	private static final String HEADER = "file,semantics,engine,status,millis,peak_heap_bytes,extensions,commands,trace_bytes";
+
+	private ArrayList<String> semantics = new ArrayList<String>(Arrays.asList(SEMANTICS)); //the semantics run on every file
+	private Engine engine = Engine.ENUMERATION; //the way extensions are computed
+	private long timeout = 60; //seconds a computation may take
+	private String output; //path of the results without extension
+	private File baseline; //CSV of an earlier run, null if there is nothing to compare with
+	private double tolerance = 0.2; //share by which a computation may get worse than in the baseline
+	private ArrayList<File> files = new ArrayList<File>(); //the corpus
+
+	/**
+	 * The measurements of a single semantics on a single file
+	 * @author Patrick Bellositz
+	 */
+	private static class Result {
+		private String file; //path of the framework file
+		private String semantics; //the semantics computed
+		private String engine; //the way extensions were computed
+		private String status = "ok"; //ok, timeout or error
+		private long millis; //wall time from the click until the last command was taken
+		private long peakHeap; //most bytes of heap used at once during the computation
+		private int extensions; //number of extensions found, 0 unless finished
+		private int commands; //number of commands taken
+		private long traceBytes; //size of the recording of the commands
+
+		/**
+		 * @return the key identifying the computation within a run
+		 */
+		private String getKey() {
+			return file + "\n" + semantics + "\n" + engine;
+		}
+	}
+
+	/**
+	 * main method
+	 * @param args arguments from terminal
+	 */
+	public static void main(String[] args) {
+		MacroBenchmark runner = new MacroBenchmark();
+
+		try {
+			runner.parseArguments(args);
+		} catch (InvalidInputException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		try {
+			ArrayList<Result> results = runner.run();
+			runner.write(results);
+			System.exit(runner.compare(results) ? 0 : 1);
+		} catch (IOException e) {
+			System.err.println("The results could not be written or the baseline could not be read: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * reads the options and files from the terminal arguments
+	 * @param args arguments from terminal
+	 * @throws InvalidInputException if an option is unknown or misses its value, or no file is given
+	 */
+	private void parseArguments(String[] args) throws InvalidInputException {
+		for(int i = 0; i < args.length; i++){
+			String arg = args[i];
+
+			if(!arg.startsWith("-") || arg.length() == 1){
+				addFiles(new File(arg));
+				continue;
+			}
+
+			if(i+1 >= args.length){
+				throw new InvalidInputException("The option " + arg + " needs a value.");
+			}
+
+			String value = args[++i];
+
+			try {
+				if(arg.equals("-s")){
+					semantics = new ArrayList<String>(Arrays.asList(value.toUpperCase().split(",")));
+					if(!Arrays.asList(SEMANTICS).containsAll(semantics)){
+						throw new InvalidInputException("The semantics " + value + " are not supported.");
+					}
+				}
+				else if(arg.equals("-e")){
+					engine = Engine.valueOf(value.toUpperCase());
+				}
+				else if(arg.equals("-t")){
+					timeout = Long.parseLong(value);
+				}
+				else if(arg.equals("-o")){
+					output = value;
+				}
+				else if(arg.equals("-b")){
+					baseline = new File(value);
+				}
+				else if(arg.equals("-r")){
+					tolerance = Double.parseDouble(value);
+				}
+				else{
+					throw new InvalidInputException("The option " + arg + " is unknown.");
+				}
+			} catch (IllegalArgumentException e) { //also thrown for numbers that cannot be read
+				throw new InvalidInputException("The value " + value + " of the option " + arg + " is not supported.");
+			}
+		}
+
+		if(files.isEmpty()){
+			throw new InvalidInputException("No framework file is given.");
+		}
+		if(output == null){
+			output = new File(Benchmarks.RESULTS, "macro-" + Benchmarks.getCommit()).getPath();
+		}
+	}
+
+	/**
+	 * adds a file to the corpus, or all files of a directory in a known format in alphabetical order
+	 * @param file the file or directory
+	 */
+	private void addFiles(File file) {
+		File[] children = file.listFiles();
+
+		if(children == null){
+			files.add(file);
+			return;
+		}
+
+		Arrays.sort(children);
+		for(File child: children){
+			try {
+				if(child.isFile()){
+					Format.of(child);
+					files.add(child);
+				}
+			} catch (InvalidInputException e) {
+				//not a framework, skipped
+			}
+		}
+	}
+
+	/**
+	 * runs every semantics on every file, a file that cannot be read is reported and skipped
+	 * @return the measurements
+	 */
+	private ArrayList<Result> run() {
+		ArrayList<Result> results = new ArrayList<Result>();
+		Interactor interactor = Interactor.getInstance(null);
+		ExecutorService viewer = Executors.newSingleThreadExecutor(new ThreadFactory(){
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "macro benchmark viewer");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		for(File file: files){
+			FrameworkReader reader;
+
+			try {
+				reader = new FrameworkReader(file);
+				reader.read();
+			} catch (IOException e) {
+				System.err.println(file.getPath() + ": the file could not be read: " + e.getMessage());
+				continue;
+			} catch (InvalidInputException e) {
+				System.err.println(file.getPath() + ": " + e.getMessage());
+				continue;
+			}
+
+			for(String s: semantics){
+				//a framework of its own for every computation, so no results or explanations are shared
+				Framework framework = new Framework(reader.getArguments(), reader.getAttackers(), reader.getAttacked(), reader.getAttackCount(), interactor);
+				framework.setEngine(engine);
+
+				Result result = measure(interactor, viewer, framework, s);
+				result.file = file.getPath();
+				results.add(result);
+
+				System.out.println(result.file + "\t" + result.semantics + "\t" + result.status + "\t" + result.millis + " ms\t"
+						+ (result.peakHeap >> 20) + " MB\t" + result.extensions + " extensions");
+			}
+		}
+
+		viewer.shutdownNow();
+		return results;
+	}
+
+	/**
+	 * computes the extensions of a framework under a semantics and takes all commands of the computation
+	 * @param interactor the interactor starting the trace of the computation
+	 * @param viewer the thread taking the commands, like the user does
+	 * @param framework the framework
+	 * @param semantics the semantics
+	 * @return the measurements of the computation, without its file
+	 */
+	private Result measure(Interactor interactor, ExecutorService viewer, final Framework framework, String semantics) {
+		Result result = new Result();
+		result.semantics = semantics;
+		result.engine = engine.name();
+
+		System.gc();
+		for(MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()){
+			pool.resetPeakUsage();
+		}
+
+		long start = System.nanoTime();
+		final Trace<ArrayList<Extension>> trace = interactor.startTrace(getComputation(framework, semantics));
+		Future<TraceBuffer> shown = viewer.submit(new Callable<TraceBuffer>(){
+			@Override
+			public TraceBuffer call() {
+				TraceBuffer recording = new TraceBuffer();
+				recording.setNames(framework.getLabels());
+
+				while(trace.hasNext()){
+					recording.append(trace.next());
+				}
+				return recording;
+			}
+		});
+
+		try {
+			TraceBuffer recording = shown.get(timeout, TimeUnit.SECONDS);
+			ArrayList<Extension> extensions = trace.getResult();
+
+			result.millis = (System.nanoTime() - start) / 1000000;
+			result.extensions = (extensions != null) ? extensions.size() : 0;
+			result.commands = recording.size();
+			result.traceBytes = recording.getByteCount();
+		} catch (TimeoutException e) {
+			trace.cancel();
+			shown.cancel(true);
+			result.status = "timeout";
+			result.millis = (System.nanoTime() - start) / 1000000;
+
+			if(!trace.join(CANCEL_MILLIS)){ //the producer is a daemon, so an abandoned computation does not keep the runner alive
+				System.err.println(semantics + ": the cancelled computation is still running and is abandoned");
+			}
+		} catch (ExecutionException e) {
+			System.err.println(semantics + ": the commands could not be taken: " + e.getCause());
+			result.status = "error";
+		} catch (InvalidInputException e) {
+			System.err.println(semantics + ": " + e.getMessage());
+			result.status = "error";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.status = "error";
+		}
+
+		for(MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()){
+			if(pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null){
+				result.peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+
+		interactor.emptyQueue();
+		return result;
+	}
+
+	/**
+	 * @return the computation started by the button of a semantics in the demonstration window
+	 * @param framework the framework whose extensions are computed
+	 * @param semantics the semantics
+	 */
+	private static Callable<ArrayList<Extension>> getComputation(final Framework framework, final String semantics) {
+		return new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() throws InvalidInputException {
+				if(semantics.equals("CF")){
+					return framework.getConflictFreeSets();
+				}
+				if(semantics.equals("AD")){
+					return framework.getAdmissibleExtensions(false);
+				}
+				if(semantics.equals("CO")){
+					return framework.getCompleteExtensions(false);
+				}
+				if(semantics.equals("PR")){
+					return framework.getPreferredExtensions(false);
+				}
+				if(semantics.equals("ST")){
+					return framework.getStableExtensions(false);
+				}
+
+				ArrayList<Extension> grounded = new ArrayList<Extension>();
+				grounded.add(framework.getGroundedExtension(false));
+				return grounded;
+			}
+		};
+	}
+
+	/**
+	 * writes the measurements as CSV and as JSON
+	 * @param results the measurements
+	 * @throws IOException if a file could not be written
+	 */
+	private void write(ArrayList<Result> results) throws IOException {
+		File csv = new File(output + ".csv");
+		File json = new File(output + ".json");
+
+		if(csv.getParentFile() != null){
+			csv.getParentFile().mkdirs();
+		}
+
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8));
+		try{
+			out.println(HEADER);
+			for(Result r: results){
+				out.println(quoteCsv(r.file) + "," + r.semantics + "," + r.engine + "," + r.status + "," + r.millis + ","
+						+ r.peakHeap + "," + r.extensions + "," + r.commands + "," + r.traceBytes);
+			}
+		} finally{
+			out.close();
+		}
+
+		out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(json), StandardCharsets.UTF_8));
+		try{
+			out.println("[");
+			for(int i = 0; i < results.size(); i++){
+				Result r = results.get(i);
+				out.println("  {\"file\": " + quoteJson(r.file) + ", \"semantics\": \"" + r.semantics + "\", \"engine\": \"" + r.engine
+						+ "\", \"status\": \"" + r.status + "\", \"millis\": " + r.millis + ", \"peakHeapBytes\": " + r.peakHeap
+						+ ", \"extensions\": " + r.extensions + ", \"commands\": " + r.commands + ", \"traceBytes\": " + r.traceBytes
+						+ "}" + ((i+1 < results.size()) ? "," : ""));
+			}
+			out.println("]");
+		} finally{
+			out.close();
+		}
+
+		System.out.println("results written to " + csv.getPath() + " and " + json.getPath());
+	}
+
+	/**
+	 * reports every computation that got worse than in the baseline
+	 * @param results the measurements of this run
+	 * @return whether no computation got worse, true if there is no baseline
+	 * @throws IOException if the baseline could not be read
+	 */
+	private boolean compare(ArrayList<Result> results) throws IOException {
+		if(baseline == null){
+			return true;
+		}
+
+		HashMap<String, Result> before = readBaseline();
+		int regressions = 0, improvements = 0, compared = 0;
+
+		for(Result now: results){
+			Result then = before.get(now.getKey());
+
+			if(then == null){
+				continue;
+			}
+
+			String name = now.file + " " + now.semantics + " " + now.engine + ": ";
+			compared++;
+
+			if(then.status.equals("ok") && !now.status.equals("ok")){
+				System.out.println("REGRESSION " + name + "finished before, now " + now.status);
+				regressions++;
+				continue;
+			}
+			if(!then.status.equals("ok") && now.status.equals("ok")){
+				System.out.println("improvement " + name + then.status + " before, now finished in " + now.millis + " ms");
+				improvements++;
+				continue;
+			}
+			if(!now.status.equals("ok")){
+				continue;
+			}
+
+			if(then.extensions != now.extensions){
+				System.out.println("REGRESSION " + name + then.extensions + " extensions before, now " + now.extensions);
+				regressions++;
+			}
+			if(isWorse(then.millis, now.millis, MIN_MILLIS)){
+				System.out.println("REGRESSION " + name + then.millis + " ms before, now " + now.millis + " ms" + change(then.millis, now.millis));
+				regressions++;
+			}
+			else if(isWorse(now.millis, then.millis, MIN_MILLIS)){
+				System.out.println("improvement " + name + then.millis + " ms before, now " + now.millis + " ms" + change(then.millis, now.millis));
+				improvements++;
+			}
+			if(isWorse(then.peakHeap, now.peakHeap, MIN_HEAP)){
+				System.out.println("REGRESSION " + name + (then.peakHeap >> 20) + " MB heap before, now " + (now.peakHeap >> 20) + " MB"
+						+ change(then.peakHeap, now.peakHeap));
+				regressions++;
+			}
+		}
+
+		System.out.println(compared + " computations compared with " + baseline.getPath() + ": "
+				+ regressions + " regressions, " + improvements + " improvements");
+		return regressions == 0;
+	}
+
+	/**
+	 * @return whether a measurement got worse by more than the tolerance and the minimal difference
+	 * @param then the measurement of the baseline
+	 * @param now the measurement of this run
+	 * @param minimum the difference below which a measurement never got worse
+	 */
+	private boolean isWorse(long then, long now, long minimum) {
+		return now - then > minimum && now > then * (1 + tolerance);
+	}
+
+	/**
+	 * @return the relative change of a measurement, e.g. " (+25%)"
+	 * @param then the measurement of the baseline
+	 * @param now the measurement of this run
+	 */
+	private static String change(long then, long now) {
+		if(then == 0){
+			return "";
+		}
+		return String.format(Locale.ROOT, " (%+.0f%%)", 100.0 * (now - then) / then);
+	}
+
+	/**
+	 * reads the measurements of an earlier run from its CSV file
+	 * @return the measurements, by their keys
+	 * @throws IOException if the file could not be read or is not a CSV file of this runner
+	 */
+	private HashMap<String, Result> readBaseline() throws IOException {
+		HashMap<String, Result> results = new HashMap<String, Result>();
+		BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(baseline), StandardCharsets.UTF_8));
+
+		try{
+			String line = in.readLine();
+
+			if(line == null || !line.equals(HEADER)){
+				throw new IOException(baseline.getPath() + " is no result of the macro benchmark.");
+			}
+
+			while((line = in.readLine()) != null){
+				ArrayList<String> fields = splitCsv(line);
+
+				if(fields.size() != 9){
+					throw new IOException(baseline.getPath() + ": the line \"" + line + "\" cannot be read.");
+				}
+
+				Result r = new Result();
+				r.file = fields.get(0);
+				r.semantics = fields.get(1);
+				r.engine = fields.get(2);
+				r.status = fields.get(3);
+
+				try {
+					r.millis = Long.parseLong(fields.get(4));
+					r.peakHeap = Long.parseLong(fields.get(5));
+					r.extensions = Integer.parseInt(fields.get(6));
+					r.commands = Integer.parseInt(fields.get(7));
+					r.traceBytes = Long.parseLong(fields.get(8));
+				} catch (NumberFormatException e) {
+					throw new IOException(baseline.getPath() + ": the line \"" + line + "\" cannot be read.");
+				}
+
+				results.put(r.getKey(), r);
+			}
+		} finally{
+			in.close();
+		}
+
+		return results;
+	}
+
+	/**
+	 * @return a field of a CSV file, quoted if it contains a separator or a quote
+	 * @param field the content of the field
+	 */
+	private static String quoteCsv(String field) {
+		if(field.indexOf(',') < 0 && field.indexOf('"') < 0){
+			return field;
+		}
+		return "\"" + field.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * @return the fields of a line of a CSV file
+	 * @param line the line, whose fields may be quoted
+	 */
+	private static ArrayList<String> splitCsv(String line) {
+		ArrayList<String> fields = new ArrayList<String>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for(int i = 0; i < line.length(); i++){
+			char c = line.charAt(i);
+
+			if(quoted && c == '"' && i+1 < line.length() && line.charAt(i+1) == '"'){ //an escaped quote
+				field.append(c);
+				i++;
+			}
+			else if(c == '"'){
+				quoted = !quoted;
+			}
+			else if(c == ',' && !quoted){
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else{
+				field.append(c);
+			}
+		}
+
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * @return a string as a JSON string literal
+	 * @param text the string
+	 */
+	private static String quoteJson(String text) {
+		StringBuilder quoted = new StringBuilder("\"");
+
+		for(int i = 0; i < text.length(); i++){
+			char c = text.charAt(i);
+
+			if(c == '"' || c == '\\'){
+				quoted.append('\\').append(c);
+			}
+			else if(c < 0x20){
+				quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+			}
+			else{
+				quoted.append(c);
+			}
+		}
+
+		return quoted.append('"').toString();
+	}
+}
@@ -1,79 +1,81 @@
-package dto;
-
-/**
- * Data Transfer Object for Arguments from Input to Demonstration
- * @author Patrick Bellositz
- */
-public class ArgumentDto {
-	private char name; //name of the argument
-	private String statement; //statement describing the argument
-	private String attacks; //arguments the argument attacks
-	
-	/**
-	 * creates a Data Transfer Object for arguments
-	 * @param name name of the argument
-	 * @param statement text or formula describing the argument
-	 * @param attacks string of argument names the argument attacks
-	 */
-	public ArgumentDto(char name, String statement, String attacks){
-		this.setName(name);
-		this.setStatement(statement);
-		this.setAttacks(attacks);
-	}
-
-	/**
-	 * @return name of Argument
-	 */
-	public char getName() {
-		return name;
-	}
-
-	/**
-	 * @param name name of argument
-	 */
-	public void setName(char name) {
-		this.name = name;
-	}
-
-	/**
-	 * @return statement describing the argument
-	 */
-	public String getStatement() {
-		return statement;
-	}
-
-	/**
-	 * @param statement statement describing the argument
-	 */
-	public void setStatement(String statement) {
-		this.statement = statement;
-	}
-
-	/**
-	 * @return arguments the argument attacks
-	 */
-	public String getAttacks() {
-		return attacks;
-	}
-
-	/**
-	 * @param attacks arguments the argument attacks
-	 */
-	public void setAttacks(String attacks) {
-		this.attacks = attacks;
-	}
-	
-	/**
-	 * @param attack attack to be added to existing ones
-	 */
-	public void addAttack(char attack){
-		this.attacks.concat("" + attack);
-	}
-	
-	/**
-	 * @param attack attack to be removed from attacks
-	 */
-	public void removeAttack(char attack){
-		this.attacks.replace("" + attack, "");
-	}
-}
+package dto;
+
+import java.util.ArrayList;
+
+/**
+ * Data Transfer Object for Arguments from Input to Demonstration
+ * @author Patrick Bellositz
+ */
+public class ArgumentDto {
+	private String label; //name of the argument
+	private String statement; //statement describing the argument
+	private ArrayList<String> attacks; //labels of the arguments the argument attacks
+	
+	/**
+	 * creates a Data Transfer Object for arguments
+	 * @param label name of the argument
+	 * @param statement text or formula describing the argument
+	 * @param attacks labels of the arguments the argument attacks
+	 */
+	public ArgumentDto(String label, String statement, ArrayList<String> attacks){
+		this.setLabel(label);
+		this.setStatement(statement);
+		this.setAttacks(attacks);
+	}
+
+	/**
+	 * @return name of Argument
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * @param label name of argument
+	 */
+	public void setLabel(String label) {
+		this.label = label;
+	}
+
+	/**
+	 * @return statement describing the argument
+	 */
+	public String getStatement() {
+		return statement;
+	}
+
+	/**
+	 * @param statement statement describing the argument
+	 */
+	public void setStatement(String statement) {
+		this.statement = statement;
+	}
+
+	/**
+	 * @return labels of the arguments the argument attacks
+	 */
+	public ArrayList<String> getAttacks() {
+		return attacks;
+	}
+
+	/**
+	 * @param attacks labels of the arguments the argument attacks
+	 */
+	public void setAttacks(ArrayList<String> attacks) {
+		this.attacks = attacks;
+	}
+	
+	/**
+	 * @param attack label of the argument to be added to the attacked ones
+	 */
+	public void addAttack(String attack){
+		this.attacks.add(attack);
+	}
+	
+	/**
+	 * @param attack label of the argument to be removed from the attacked ones
+	 */
+	public void removeAttack(String attack){
+		this.attacks.remove(attack);
+	}
+}
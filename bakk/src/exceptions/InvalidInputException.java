@@ -1,21 +1,30 @@
-package exceptions;
-
-/**
- * Exception for invalid but programatically useable input
- * @author Patrick Bellositz
- */
-public class InvalidInputException extends Exception {
-
-	/**
-	 * id of the exception
-	 */
-	private static final long serialVersionUID = -4346322581772139027L;
-	
-	/**
-	 * creates a new Exception
-	 * @param string error message
-	 */
-	public InvalidInputException(String string) {
-		super(string);
-	}
-}
+package exceptions;
+
+/**
+ * Exception for invalid but programatically useable input
+ * @author Patrick Bellositz
+ */
+public class InvalidInputException extends Exception {
+
+	/**
+	 * id of the exception
+	 */
+	private static final long serialVersionUID = -4346322581772139027L;
+	
+	/**
+	 * creates a new Exception
+	 * @param string error message
+	 */
+	public InvalidInputException(String string) {
+		super(string);
+	}
+
+	/**
+	 * creates a new Exception caused by another one
+	 * @param string error message
+	 * @param cause the exception or error that made the input unusable
+	 */
+	public InvalidInputException(String string, Throwable cause) {
+		super(string, cause);
+	}
+}
@@ -0,0 +1,923 @@
+package gui;
+
+import interactor.GraphInstruction;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+
+import exceptions.InvalidInputException;
+import javafx.event.EventHandler;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import logic.Argument;
+import logic.Attack;
+import logic.AttackIndex;
+import logic.Framework;
+import logic.SccDecomposition;
+
+/**
+ * A pane drawing the whole graph onto a single canvas, for frameworks too large for a node per argument and attack
+ * @details nodes and edges are kept in arrays and drawn as one path per color, the node under the mouse is
+ * 			looked up in a grid of the node positions only when the mouse moves, to show its statement in a
+ * 			tooltip or to select it. The graph can be zoomed with the mouse wheel and moved by dragging it;
+ * 			only the nodes and edges in the grid cells on screen are drawn, and when zoomed out so far that
+ * 			the nodes become dots, every strongly connected component is drawn as one node
+ * @author Patrick Bellositz
+ */
+public class CanvasGraphPane extends GraphPane {
+
+	/**
+	 * largest radius of the circles, used if there is enough room
+	 */
+	private static final double CIRCLE_RADIUS = 15;
+
+	/**
+	 * smallest radius of the circles
+	 */
+	private static final double MIN_CIRCLE_RADIUS = 1.5;
+
+	/**
+	 * smallest distance on screen from a node's center at which the mouse still hits it
+	 */
+	private static final double MIN_HIT_RADIUS = 4;
+
+	/**
+	 * angle between the two long sides of the arrow
+	 */
+	private static final int ARROW_POINT_ANGLE = 25;
+
+	/**
+	 * smallest radius of the circles on screen at which the arrows are drawn, smaller arrows could not be told apart from the lines
+	 */
+	private static final double ARROW_RADIUS = 3;
+
+	/**
+	 * smallest radius of the circles on screen at which their names are drawn
+	 */
+	private static final double LABEL_RADIUS = 6;
+
+	/**
+	 * radius of the circles on screen below which every strongly connected component is drawn as one node
+	 */
+	private static final double CLUSTER_RADIUS = 2.5;
+
+	/**
+	 * color of the ring around the selected node
+	 */
+	private static final Color SELECTION_COLOR = Color.DODGERBLUE;
+
+	/**
+	 * largest zoom factor
+	 */
+	private static final double MAX_ZOOM = 64;
+
+	/**
+	 * zoom factor of one step of the mouse wheel
+	 */
+	private static final double ZOOM_STEP = 1.2;
+
+	/**
+	 * number of columns and rows of the grid the edges are sorted into
+	 */
+	private static final int EDGE_GRID = 64;
+
+	private Framework framework; //argument framework containing the nodes' data
+	private Canvas canvas; //canvas the graph is drawn onto, null until the graph is drawn
+	private Tooltip tooltip; //tooltip showing the statement of the node under the mouse, null until a node is first hit
+	private String[] names; //label of every node, in the order of the arguments' ids
+	private int[] edgeStarts, edgeEnds; //node at which every edge starts and ends
+	private double[] nodeX, nodeY; //center of every node
+	private double centerX, centerY; //center of the circle the nodes are arranged in
+	private double radius; //radius of the circles
+	private Color[] nodeColors; //current fill of every node
+	private Color[] strokeColors; //current stroke of every edge's line or loop
+	private Color[] arrowColors; //current fill of every edge's arrow
+	private double cellSize; //width and height of a cell of the grid
+	private int columns, rows; //number of cells of the grid
+	private int[] cellStarts; //position of every cell's first node in cellNodes, followed by the number of nodes
+	private int[] cellNodes; //nodes of the grid, ordered by cell
+	private double edgeCellWidth, edgeCellHeight; //width and height of a cell of the grid of edges
+	private int[] edgeCellStarts; //position of every cell's first edge in edgeCellEdges
+	private int[] edgeCellEdges; //edges passing through the cells of the grid of edges, ordered by cell
+	private int[] edgeStamps; //drawing in which every edge was last found on screen
+	private int stamp; //number of the current drawing
+	private int[] visibleNodes, visibleEdges; //nodes and edges in the cells on screen
+	private int visibleNodeCount, visibleEdgeCount; //number of nodes and edges in the cells on screen
+	private SccDecomposition components; //strongly connected components of the graph
+	private int[] clusterStarts, clusterEnds; //components at which the edges between components start and end
+	private double[] clusterX, clusterY; //center of mass of every component
+	private Color[] clusterColors; //color most nodes of every component have
+	private double scale = 1; //zoom factor, 1 shows the whole graph
+	private double offsetX, offsetY; //position of the graph's upper left corner on the canvas
+	private double viewLeft, viewTop, viewRight, viewBottom; //part of the graph on screen
+	private double dragX, dragY; //position of the mouse when the graph was last dragged
+	private int hovered = -1; //node under the mouse, -1 if there is none
+	private int selected = -1; //node selected by a click, -1 if there is none
+
+	/**
+	 * creates a new canvas pane to show a graph
+	 */
+	public CanvasGraphPane(){
+		super();
+	}
+
+	@Override
+	public void createGraph(Framework argumentFramework) {
+		this.framework = argumentFramework;
+
+		int[] nodeArguments = new int[framework.getArguments().size()];
+
+		names = new String[nodeArguments.length];
+
+		for(Argument a: framework.getArguments()){ //the nodes are drawn in the order of the arguments' ids
+			nodeArguments[a.getId()] = a.getId();
+			names[a.getId()] = a.getLabel();
+		}
+
+		int[] starts = new int[framework.getAttacks().size()];
+		int[] ends = new int[starts.length];
+		int edgeCount = 0;
+		HashSet<Long> drawn = new HashSet<Long>(2*starts.length);
+
+		for(Attack att: framework.getAttacks()){
+			int attacker = att.getAttacker().getId();
+			int attacked = att.getAttacked().getId();
+
+			if(drawn.add(edgeKey(attacker, attacked))){ //every direction is drawn only once
+				starts[edgeCount] = attacker;
+				ends[edgeCount] = attacked;
+				edgeCount++;
+			}
+		}
+
+		edgeStarts = Arrays.copyOf(starts, edgeCount);
+		edgeEnds = Arrays.copyOf(ends, edgeCount);
+
+		indexElements(nodeArguments, edgeStarts, edgeEnds);
+
+		nodeColors = new Color[names.length];
+		strokeColors = new Color[edgeStarts.length];
+		arrowColors = new Color[edgeStarts.length];
+		Arrays.fill(nodeColors, Color.BLACK);
+		Arrays.fill(strokeColors, Color.BLACK);
+		Arrays.fill(arrowColors, Color.BLACK);
+
+		visibleNodes = new int[names.length];
+		visibleEdges = new int[edgeStarts.length];
+		edgeStamps = new int[edgeStarts.length];
+
+		findClusters();
+	}
+
+	/**
+	 * arranges the nodes in a circle, like NodePane, and draws the graph onto a canvas of the pane's preferred size,
+	 * large graphs are laid out by force afterwards
+	 */
+	@Override
+	public void drawGraph() throws InvalidInputException {
+		if(framework == null || names == null){
+			return;
+		}
+
+		double width = Math.ceil(this.getPrefWidth()-15);
+		double height = Math.ceil(this.getPrefHeight());
+
+		arrangeInCircle(width, height);
+
+		canvas = new Canvas(this.getPrefWidth(), height);
+		addMouseHandlers();
+		this.getChildren().add(canvas);
+
+		positionsChanged();
+		arrangeByForce(edgeStarts, edgeEnds);
+	}
+
+	@Override
+	public void executeInstruction(GraphInstruction instruction) throws InvalidInputException {
+		if(canvas == null){ //the graph is not drawn yet
+			return;
+		}
+
+		findTargets(instruction);
+
+		for(int i = 0; i < names.length; i++){
+			nodeColors[i] = targetedNodes.get(i) ? nodeTargets[i] : Color.BLACK;
+		}
+		for(int i = 0; i < edgeStarts.length; i++){
+			strokeColors[i] = targetedEdges.get(i) ? strokeTargets[i] : Color.BLACK;
+			arrowColors[i] = targetedEdges.get(i) ? arrowTargets[i] : Color.BLACK;
+		}
+
+		colorClusters();
+		redraw();
+	}
+
+	@Override
+	protected void showPositions(double[] x, double[] y) {
+		double width = Math.ceil(this.getPrefWidth()-15);
+		double height = Math.ceil(this.getPrefHeight());
+		int n = names.length;
+
+		radius = Math.max(MIN_CIRCLE_RADIUS, Math.min(CIRCLE_RADIUS, 0.35 * Math.min(width, height) / Math.sqrt(n)));
+
+		for(int i = 0; i < n; i++){
+			nodeX[i] = radius + x[i] * (width - 2*radius);
+			nodeY[i] = radius + y[i] * (height - 2*radius);
+		}
+
+		hovered = -1;
+		positionsChanged();
+	}
+
+	@Override
+	protected boolean hasLine(int id) {
+		return edgeStarts[id] != edgeEnds[id];
+	}
+
+	/**
+	 * @return the label of the selected node, null if no node is selected
+	 */
+	public String getSelectedName() {
+		return (selected >= 0) ? names[selected] : null;
+	}
+
+	/**
+	 * zooms out, so the whole graph is shown again
+	 */
+	public void resetView() {
+		scale = 1;
+		offsetX = offsetY = 0;
+		redraw();
+	}
+
+	/**
+	 * places the nodes evenly on a circle in the middle of an area, the way a CircleLayout does,
+	 * and makes the circles as large as the room between them allows
+	 * @param width the width of the area
+	 * @param height the height of the area
+	 */
+	private void arrangeInCircle(double width, double height) {
+		int n = names.length;
+		double circle = Math.min(width, height) * 0.45;
+
+		centerX = (n > 1) ? width/2 : this.getPrefWidth()/2;
+		centerY = (n > 1) ? height/2 : this.getPrefHeight()/2;
+		nodeX = new double[n];
+		nodeY = new double[n];
+
+		for(int i = 0; i < n; i++){
+			double angle = (2 * Math.PI * i) / n;
+
+			nodeX[i] = (n > 1) ? Math.cos(angle) * circle + centerX : centerX;
+			nodeY[i] = (n > 1) ? Math.sin(angle) * circle + centerY : centerY;
+		}
+
+		radius = (n > 1) ? Math.max(MIN_CIRCLE_RADIUS, Math.min(CIRCLE_RADIUS, Math.PI * circle / n * 0.8)) : CIRCLE_RADIUS;
+	}
+
+	/**
+	 * sorts the moved nodes and edges into their grids, moves the components along and draws the graph anew
+	 */
+	private void positionsChanged() {
+		buildGrid(canvas.getWidth(), canvas.getHeight());
+		buildEdgeGrid(canvas.getWidth(), canvas.getHeight());
+		placeClusters();
+		redraw();
+	}
+
+	/**
+	 * sorts the nodes into a grid of cells at least as large as the area in which the mouse hits a node,
+	 * so only the nodes of the cells around the mouse or on screen need to be checked
+	 * @param width the width of the area the nodes lie in
+	 * @param height the height of the area the nodes lie in
+	 */
+	private void buildGrid(double width, double height) {
+		cellSize = 2 * Math.max(radius, MIN_HIT_RADIUS);
+		columns = (int) Math.ceil(width / cellSize) + 1;
+		rows = (int) Math.ceil(height / cellSize) + 1;
+		cellStarts = new int[columns * rows + 1];
+		cellNodes = new int[names.length];
+
+		int[] cells = new int[names.length];
+
+		for(int i = 0; i < names.length; i++){
+			cells[i] = getCell(nodeX[i], nodeY[i]);
+			cellStarts[cells[i]+1]++;
+		}
+		for(int c = 0; c < columns * rows; c++){
+			cellStarts[c+1] += cellStarts[c];
+		}
+
+		int[] filled = Arrays.copyOf(cellStarts, cellStarts.length);
+
+		for(int i = 0; i < names.length; i++){
+			cellNodes[filled[cells[i]]++] = i;
+		}
+	}
+
+	/**
+	 * sorts the edges into every cell of a coarse grid their line passes through, loops into the cell of their node,
+	 * following each line from cell to cell (Amanatides and Woo)
+	 * @param width the width of the area the nodes lie in
+	 * @param height the height of the area the nodes lie in
+	 */
+	private void buildEdgeGrid(double width, double height) {
+		edgeCellWidth = width / EDGE_GRID;
+		edgeCellHeight = height / EDGE_GRID;
+
+		int[] pairs = new int[4 * edgeStarts.length + 2]; //cell and edge of every time an edge passes through a cell
+		int pairCount = 0;
+
+		for(int e = 0; e < edgeStarts.length; e++){
+			double startX = nodeX[edgeStarts[e]] / edgeCellWidth;
+			double startY = nodeY[edgeStarts[e]] / edgeCellHeight;
+			double endX = nodeX[edgeEnds[e]] / edgeCellWidth;
+			double endY = nodeY[edgeEnds[e]] / edgeCellHeight;
+			int column = getEdgeGridIndex(startX);
+			int row = getEdgeGridIndex(startY);
+			int endColumn = getEdgeGridIndex(endX);
+			int endRow = getEdgeGridIndex(endY);
+			int stepX = (endX > startX) ? 1 : -1;
+			int stepY = (endY > startY) ? 1 : -1;
+			double deltaX = (endX != startX) ? Math.abs(1 / (endX - startX)) : Double.MAX_VALUE;
+			double deltaY = (endY != startY) ? Math.abs(1 / (endY - startY)) : Double.MAX_VALUE;
+			double nextX = (endX != startX) ? Math.abs(((stepX > 0) ? column + 1 : column) - startX) * deltaX : Double.MAX_VALUE;
+			double nextY = (endY != startY) ? Math.abs(((stepY > 0) ? row + 1 : row) - startY) * deltaY : Double.MAX_VALUE;
+
+			for(int steps = 0; steps <= 2 * EDGE_GRID; steps++){
+				if(pairCount + 2 > pairs.length){
+					pairs = Arrays.copyOf(pairs, 2 * pairs.length);
+				}
+				pairs[pairCount++] = row * EDGE_GRID + column;
+				pairs[pairCount++] = e;
+
+				if(column == endColumn && row == endRow){
+					break;
+				}
+
+				if(nextX < nextY){
+					column += stepX;
+					nextX += deltaX;
+				}
+				else{
+					row += stepY;
+					nextY += deltaY;
+				}
+
+				if(column < 0 || column >= EDGE_GRID || row < 0 || row >= EDGE_GRID){
+					break;
+				}
+			}
+		}
+
+		edgeCellStarts = new int[EDGE_GRID * EDGE_GRID + 1];
+		edgeCellEdges = new int[pairCount / 2];
+
+		for(int p = 0; p < pairCount; p += 2){
+			edgeCellStarts[pairs[p]+1]++;
+		}
+		for(int c = 0; c < EDGE_GRID * EDGE_GRID; c++){
+			edgeCellStarts[c+1] += edgeCellStarts[c];
+		}
+
+		int[] filled = Arrays.copyOf(edgeCellStarts, edgeCellStarts.length);
+
+		for(int p = 0; p < pairCount; p += 2){
+			edgeCellEdges[filled[pairs[p]]++] = pairs[p+1];
+		}
+	}
+
+	/**
+	 * @return the column or row of the grid of edges containing a coordinate, measured in cells
+	 * @param cells the coordinate, measured in cells
+	 */
+	private int getEdgeGridIndex(double cells) {
+		return Math.max(0, Math.min(EDGE_GRID-1, (int) Math.floor(cells)));
+	}
+
+	/**
+	 * @return the cell of the grid containing a point, points outside the grid belong to the cell at its border
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 */
+	private int getCell(double x, double y) {
+		int column = Math.max(0, Math.min(columns-1, (int) (x / cellSize)));
+		int row = Math.max(0, Math.min(rows-1, (int) (y / cellSize)));
+
+		return row * columns + column;
+	}
+
+	/**
+	 * @return the node closest to a point on the canvas, if the point hits it, -1 if no node is hit
+	 * @param canvasX the x coordinate of the point on the canvas
+	 * @param canvasY the y coordinate of the point on the canvas
+	 */
+	private int getNodeAt(double canvasX, double canvasY) {
+		double x = (canvasX - offsetX) / scale;
+		double y = (canvasY - offsetY) / scale;
+		int cell = getCell(x, y);
+		int column = cell % columns;
+		int row = cell / columns;
+		double hitRadius = Math.max(radius, MIN_HIT_RADIUS / scale);
+		double closest = hitRadius * hitRadius;
+		int hit = -1;
+
+		for(int r = Math.max(0, row-1); r <= Math.min(rows-1, row+1); r++){
+			for(int c = Math.max(0, column-1); c <= Math.min(columns-1, column+1); c++){
+				int current = r * columns + c;
+
+				for(int k = cellStarts[current]; k < cellStarts[current+1]; k++){
+					int node = cellNodes[k];
+					double dx = nodeX[node] - x;
+					double dy = nodeY[node] - y;
+
+					if(dx*dx + dy*dy <= closest){
+						closest = dx*dx + dy*dy;
+						hit = node;
+					}
+				}
+			}
+		}
+
+		return hit;
+	}
+
+	/**
+	 * shows the statement of the node under the mouse, selects nodes clicked on,
+	 * zooms with the mouse wheel and moves the graph while it is dragged
+	 */
+	private void addMouseHandlers() {
+		canvas.setOnMouseMoved(new EventHandler<MouseEvent>(){
+			@Override
+			public void handle(MouseEvent event){
+				int node = getNodeAt(event.getX(), event.getY());
+
+				if(node == hovered){
+					return;
+				}
+
+				if(node >= 0){
+					if(tooltip == null){
+						tooltip = new Tooltip();
+					}
+					hovered = node;
+					tooltip.setText(getDescription(node));
+					tooltip.show(canvas, event.getScreenX() + 10, event.getScreenY() + 10);
+				}
+				else{
+					hideTooltip();
+				}
+			}
+		});
+
+		canvas.setOnMouseExited(new EventHandler<MouseEvent>(){
+			@Override
+			public void handle(MouseEvent event){
+				hideTooltip();
+			}
+		});
+
+		canvas.setOnMouseClicked(new EventHandler<MouseEvent>(){
+			@Override
+			public void handle(MouseEvent event){
+				if(!event.isStillSincePress()){ //the graph was dragged
+					return;
+				}
+
+				if(event.getClickCount() == 2){
+					resetView();
+					return;
+				}
+
+				int node = getNodeAt(event.getX(), event.getY());
+
+				if(node != selected){
+					selected = node;
+					redraw();
+				}
+			}
+		});
+
+		canvas.setOnMousePressed(new EventHandler<MouseEvent>(){
+			@Override
+			public void handle(MouseEvent event){
+				dragX = event.getX();
+				dragY = event.getY();
+			}
+		});
+
+		canvas.setOnMouseDragged(new EventHandler<MouseEvent>(){
+			@Override
+			public void handle(MouseEvent event){
+				hideTooltip();
+				moveView(scale, offsetX + event.getX() - dragX, offsetY + event.getY() - dragY);
+				dragX = event.getX();
+				dragY = event.getY();
+			}
+		});
+
+		canvas.setOnScroll(new EventHandler<ScrollEvent>(){
+			@Override
+			public void handle(ScrollEvent event){
+				double zoom = Math.max(1, Math.min(MAX_ZOOM, scale * Math.pow(ZOOM_STEP, event.getDeltaY() / 40)));
+
+				//the point under the mouse stays where it is
+				hideTooltip();
+				moveView(zoom, event.getX() - (event.getX() - offsetX) / scale * zoom, event.getY() - (event.getY() - offsetY) / scale * zoom);
+			}
+		});
+	}
+
+	/**
+	 * hides the tooltip, if it was shown
+	 */
+	private void hideTooltip() {
+		hovered = -1;
+
+		if(tooltip != null){
+			tooltip.hide();
+		}
+	}
+
+	/**
+	 * @return the statement of a node, and the size of its component if the components are drawn as one node each
+	 * @param node the node
+	 */
+	private String getDescription(int node) {
+		String statement = framework.getArgument(node).getStatement();
+		int size = components.getMembers(components.getComponent(node)).length;
+
+		if(isClustered() && size > 1){
+			statement += "\n(one of " + size + " arguments of a strongly connected component)";
+		}
+		return statement;
+	}
+
+	/**
+	 * zooms and moves the graph, but not so far that the canvas would not be covered by it
+	 * @param zoom the zoom factor
+	 * @param x the x coordinate of the graph's upper left corner on the canvas
+	 * @param y the y coordinate of the graph's upper left corner on the canvas
+	 */
+	private void moveView(double zoom, double x, double y) {
+		scale = zoom;
+		offsetX = Math.min(0, Math.max(canvas.getWidth() * (1 - scale), x));
+		offsetY = Math.min(0, Math.max(canvas.getHeight() * (1 - scale), y));
+		redraw();
+	}
+
+	/**
+	 * @return whether the nodes are so small on screen that every component is drawn as one node
+	 */
+	private boolean isClustered() {
+		return radius * scale < CLUSTER_RADIUS && components.getComponentCount() < names.length;
+	}
+
+	/**
+	 * draws the part of the graph on screen with its current colors, edges first so the nodes are in front of them
+	 */
+	private void redraw() {
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+		viewLeft = -offsetX / scale;
+		viewTop = -offsetY / scale;
+		viewRight = (canvas.getWidth() - offsetX) / scale;
+		viewBottom = (canvas.getHeight() - offsetY) / scale;
+
+		gc.save();
+		gc.translate(offsetX, offsetY);
+		gc.scale(scale, scale);
+		gc.setLineWidth(1 / scale);
+
+		if(isClustered()){
+			drawClusters(gc);
+		}
+		else{
+			findVisible();
+			drawEdges(gc);
+			drawNodes(gc);
+
+			if(radius * scale >= LABEL_RADIUS){
+				gc.setFill(Color.WHITE);
+				gc.setFont(Font.font(radius));
+				gc.setTextAlign(TextAlignment.CENTER);
+				gc.setTextBaseline(VPos.CENTER);
+
+				for(int v = 0; v < visibleNodeCount; v++){
+					gc.fillText(names[visibleNodes[v]], nodeX[visibleNodes[v]], nodeY[visibleNodes[v]]);
+				}
+			}
+		}
+
+		if(selected >= 0){
+			double ring = radius + 2 / scale;
+
+			gc.setStroke(SELECTION_COLOR);
+			gc.setLineWidth(2 / scale);
+			gc.strokeOval(nodeX[selected] - ring, nodeY[selected] - ring, 2*ring, 2*ring);
+		}
+
+		gc.restore();
+	}
+
+	/**
+	 * collects the nodes and edges of the grid cells on screen
+	 */
+	private void findVisible() {
+		int firstColumn = Math.max(0, (int) ((viewLeft - radius) / cellSize));
+		int lastColumn = Math.min(columns-1, (int) ((viewRight + radius) / cellSize));
+		int firstRow = Math.max(0, (int) ((viewTop - radius) / cellSize));
+		int lastRow = Math.min(rows-1, (int) ((viewBottom + radius) / cellSize));
+
+		visibleNodeCount = 0;
+		for(int r = firstRow; r <= lastRow; r++){ //the cells of a row lie next to each other in cellNodes
+			for(int k = cellStarts[r * columns + firstColumn]; k < cellStarts[r * columns + lastColumn + 1]; k++){
+				visibleNodes[visibleNodeCount++] = cellNodes[k];
+			}
+		}
+
+		firstColumn = getEdgeGridIndex((viewLeft - 2*radius) / edgeCellWidth);
+		lastColumn = getEdgeGridIndex((viewRight + 2*radius) / edgeCellWidth);
+		firstRow = getEdgeGridIndex((viewTop - 2*radius) / edgeCellHeight);
+		lastRow = getEdgeGridIndex((viewBottom + 2*radius) / edgeCellHeight);
+
+		stamp++;
+		visibleEdgeCount = 0;
+		for(int r = firstRow; r <= lastRow; r++){
+			for(int k = edgeCellStarts[r * EDGE_GRID + firstColumn]; k < edgeCellStarts[r * EDGE_GRID + lastColumn + 1]; k++){
+				int edge = edgeCellEdges[k];
+
+				if(edgeStamps[edge] != stamp){ //an edge may pass through several cells
+					edgeStamps[edge] = stamp;
+					visibleEdges[visibleEdgeCount++] = edge;
+				}
+			}
+		}
+	}
+
+	/**
+	 * draws the lines and loops of the edges on screen as one path per color, followed by their arrows
+	 * @param gc the graphics context of the canvas
+	 */
+	private void drawEdges(GraphicsContext gc) {
+		double arrowLength = radius * 4 / 3;
+
+		for(Color color: getColors(strokeColors, visibleEdges, visibleEdgeCount)){
+			if(color.getOpacity() == 0){
+				continue;
+			}
+
+			gc.beginPath();
+			for(int v = 0; v < visibleEdgeCount; v++){
+				int i = visibleEdges[v];
+
+				if(!color.equals(strokeColors[i])){
+					continue;
+				}
+
+				if(hasLine(i)){
+					gc.moveTo(nodeX[edgeStarts[i]], nodeY[edgeStarts[i]]);
+					gc.lineTo(nodeX[edgeEnds[i]], nodeY[edgeEnds[i]]);
+				}
+				else{
+					double loopX = getLoopX(edgeStarts[i]);
+					double loopY = getLoopY(edgeStarts[i]);
+					double loopRadius = radius * 0.8;
+
+					gc.moveTo(loopX + loopRadius, loopY);
+					gc.arc(loopX, loopY, loopRadius, loopRadius, 0, 360);
+				}
+			}
+			gc.setStroke(color);
+			gc.stroke();
+		}
+
+		if(radius * scale < ARROW_RADIUS){
+			return;
+		}
+
+		for(Color color: getColors(arrowColors, visibleEdges, visibleEdgeCount)){
+			gc.beginPath();
+			for(int v = 0; v < visibleEdgeCount; v++){
+				int i = visibleEdges[v];
+
+				if(!color.equals(arrowColors[i])){
+					continue;
+				}
+
+				int end = edgeEnds[i];
+				double fromX = hasLine(i) ? nodeX[edgeStarts[i]] : getLoopX(end);
+				double fromY = hasLine(i) ? nodeY[edgeStarts[i]] : getLoopY(end);
+				double angle = Math.atan2(nodeY[end] - fromY, nodeX[end] - fromX);
+
+				if(!hasLine(i)){ //the loop meets the circle beside the line to its center
+					angle += Math.toRadians(40);
+				}
+
+				double tipX = nodeX[end] - Math.cos(angle) * radius;
+				double tipY = nodeY[end] - Math.sin(angle) * radius;
+				double side = Math.toRadians(ARROW_POINT_ANGLE/2);
+
+				gc.moveTo(tipX, tipY);
+				gc.lineTo(tipX - Math.cos(angle - side) * arrowLength, tipY - Math.sin(angle - side) * arrowLength);
+				gc.lineTo(tipX - Math.cos(angle + side) * arrowLength, tipY - Math.sin(angle + side) * arrowLength);
+				gc.closePath();
+			}
+			gc.setFill(color);
+			gc.fill();
+		}
+	}
+
+	/**
+	 * draws the nodes on screen as one path per color
+	 * @param gc the graphics context of the canvas
+	 */
+	private void drawNodes(GraphicsContext gc) {
+		for(Color color: getColors(nodeColors, visibleNodes, visibleNodeCount)){
+			gc.beginPath();
+			for(int v = 0; v < visibleNodeCount; v++){
+				int i = visibleNodes[v];
+
+				if(color.equals(nodeColors[i])){
+					gc.moveTo(nodeX[i] + radius, nodeY[i]);
+					gc.arc(nodeX[i], nodeY[i], radius, radius, 0, 360);
+				}
+			}
+			gc.setFill(color);
+			gc.fill();
+		}
+	}
+
+	/**
+	 * @return the different colors of some elements, in the order they first appear
+	 * @param colors the color of every element
+	 * @param elements the elements
+	 * @param count the number of elements
+	 */
+	private static LinkedHashSet<Color> getColors(Color[] colors, int[] elements, int count) {
+		LinkedHashSet<Color> found = new LinkedHashSet<Color>();
+
+		for(int v = 0; v < count; v++){
+			found.add(colors[elements[v]]);
+		}
+		return found;
+	}
+
+	/**
+	 * decomposes the graph into its strongly connected components and finds the edges between them,
+	 * every pair of components being connected at most once
+	 */
+	private void findClusters() {
+		components = new SccDecomposition(new AttackIndex(names.length, edgeStarts, edgeEnds, edgeStarts.length));
+
+		HashSet<Long> pairs = new HashSet<Long>();
+		int[] starts = new int[edgeStarts.length];
+		int[] ends = new int[edgeStarts.length];
+		int count = 0;
+
+		for(int e = 0; e < edgeStarts.length; e++){
+			int start = components.getComponent(edgeStarts[e]);
+			int end = components.getComponent(edgeEnds[e]);
+
+			if(start != end && pairs.add(edgeKey(start, end))){
+				starts[count] = start;
+				ends[count] = end;
+				count++;
+			}
+		}
+
+		clusterStarts = Arrays.copyOf(starts, count);
+		clusterEnds = Arrays.copyOf(ends, count);
+		clusterX = new double[components.getComponentCount()];
+		clusterY = new double[components.getComponentCount()];
+		clusterColors = new Color[components.getComponentCount()];
+		Arrays.fill(clusterColors, Color.BLACK);
+	}
+
+	/**
+	 * moves every component to the center of mass of its nodes
+	 */
+	private void placeClusters() {
+		for(int c = 0; c < components.getComponentCount(); c++){
+			int[] members = components.getMembers(c);
+			double sumX = 0, sumY = 0;
+
+			for(int m: members){
+				sumX += nodeX[m];
+				sumY += nodeY[m];
+			}
+
+			clusterX[c] = sumX / members.length;
+			clusterY[c] = sumY / members.length;
+		}
+	}
+
+	/**
+	 * gives every component the color most of its nodes have
+	 */
+	private void colorClusters() {
+		int count = components.getComponentCount();
+		int[] most = new int[count]; //number of nodes having the color of every component
+
+		for(Color color: new LinkedHashSet<Color>(Arrays.asList(nodeColors))){
+			int[] having = new int[count];
+
+			for(int i = 0; i < names.length; i++){
+				if(color.equals(nodeColors[i])){
+					having[components.getComponent(i)]++;
+				}
+			}
+			for(int c = 0; c < count; c++){
+				if(having[c] > most[c]){
+					most[c] = having[c];
+					clusterColors[c] = color;
+				}
+			}
+		}
+	}
+
+	/**
+	 * draws every component on screen as one node, growing with the number of its nodes,
+	 * and the edges between the components as one line each
+	 * @param gc the graphics context of the canvas
+	 */
+	private void drawClusters(GraphicsContext gc) {
+		gc.beginPath();
+		for(int e = 0; e < clusterStarts.length; e++){
+			double startX = clusterX[clusterStarts[e]], startY = clusterY[clusterStarts[e]];
+			double endX = clusterX[clusterEnds[e]], endY = clusterY[clusterEnds[e]];
+
+			if(Math.max(startX, endX) >= viewLeft && Math.min(startX, endX) <= viewRight
+					&& Math.max(startY, endY) >= viewTop && Math.min(startY, endY) <= viewBottom){
+				gc.moveTo(startX, startY);
+				gc.lineTo(endX, endY);
+			}
+		}
+		gc.setStroke(Color.GRAY);
+		gc.stroke();
+
+		int count = components.getComponentCount();
+		int[] visible = new int[count];
+		int visibleCount = 0;
+
+		for(int c = 0; c < count; c++){
+			double clusterRadius = getClusterRadius(c);
+
+			if(clusterX[c] + clusterRadius >= viewLeft && clusterX[c] - clusterRadius <= viewRight
+					&& clusterY[c] + clusterRadius >= viewTop && clusterY[c] - clusterRadius <= viewBottom){
+				visible[visibleCount++] = c;
+			}
+		}
+
+		for(Color color: getColors(clusterColors, visible, visibleCount)){
+			gc.beginPath();
+			for(int v = 0; v < visibleCount; v++){
+				int c = visible[v];
+
+				if(color.equals(clusterColors[c])){
+					double clusterRadius = getClusterRadius(c);
+
+					gc.moveTo(clusterX[c] + clusterRadius, clusterY[c]);
+					gc.arc(clusterX[c], clusterY[c], clusterRadius, clusterRadius, 0, 360);
+				}
+			}
+			gc.setFill(color);
+			gc.fill();
+		}
+	}
+
+	/**
+	 * @return the radius of the node drawn for a component
+	 * @param component the component
+	 */
+	private double getClusterRadius(int component) {
+		return Math.max(radius, MIN_CIRCLE_RADIUS / scale) * Math.sqrt(components.getMembers(component).length);
+	}
+
+	/**
+	 * @return the x coordinate of the center of the loop of a node, which lies outside the circle of nodes
+	 * @param node the node
+	 */
+	private double getLoopX(int node) {
+		double angle = Math.atan2(nodeY[node] - centerY, nodeX[node] - centerX);
+		return nodeX[node] + Math.cos(angle) * radius * 1.4;
+	}
+
+	/**
+	 * @return the y coordinate of the center of the loop of a node, which lies outside the circle of nodes
+	 * @param node the node
+	 */
+	private double getLoopY(int node) {
+		double angle = Math.atan2(nodeY[node] - centerY, nodeX[node] - centerX);
+		return nodeY[node] + Math.sin(angle) * radius * 1.4;
+	}
+}
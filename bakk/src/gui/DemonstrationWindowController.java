@@ -1,455 +1,759 @@
-package gui;
-
-import interactor.GraphInstruction;
-import interactor.Interactor;
-
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.ResourceBundle;
-
-import dto.ArgumentDto;
-import exceptions.InvalidInputException;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
-import javafx.collections.FXCollections;
-import javafx.fxml.FXML;
-import javafx.scene.control.Button;
-import javafx.scene.control.CheckBox;
-import javafx.scene.control.ChoiceBox;
-import javafx.scene.control.TextArea;
-import javafx.scene.control.Tooltip;
-import javafx.scene.layout.AnchorPane;
-import logic.Argument;
-import logic.Attack;
-import logic.Extension;
-import logic.Framework;
-
-/**
- * Controller controlling the DemonstrationWindow.fxml file behaviour
- * 	for demonstrating how abstract argumentation frameworks work
- * @author Patrick Bellositz
- */
-public class DemonstrationWindowController {
-
-	/**
-	 * wrapper object controlling what is shown on screen
-	 */
-	private static WrapperController wrapper;
-
-	@FXML
-	private ResourceBundle resources; //resource bundle
-
-	@FXML
-	private URL location; //location of file
-
-	@FXML
-	private Button backBtn, nextBtn, showAllBtn, resultsBtn, arrowBtn, completeBtn, preferredBtn, stableBtn, groundedBtn, conflictFreeBtn, admissibleBtn; //buttons in demonstration window
-
-	@FXML
-	private CheckBox previousCheckBox; //checkbox whether to use previously computed sets or extensions
-
-	@FXML
-	private TextArea explanationArea; //textArea describing every computation
-
-	@FXML
-	private AnchorPane root; //root pane containing all the UI elements
-
-	@FXML
-	private ChoiceBox<String> setsChoiceBox; //dropdown for result sets
-
-	private Tooltip conflictFreeTip, admissibleTip, completeTip, stableTip, preferredTip, groundedTip, previousTip, arrowTip, backTip, nextTip, allTip, resultsTip, choiceTip; //tooltips for all buttons etc
-
-	private Framework argumentFramework; //argument framework containing the arguments
-	private ArrayList<Argument> arguments; //arguments of the framework
-	private ArrayList<Attack> attacks; //attacks of the framework
-	private Interactor interactor; //Interactor controlling the results the user sees
-	private ArrayList<Extension> resultSet; //set containing computation results
-	private NodePane graphPane; //pane where node illustrations are shown
-
-	/**
-	 * initializes the controller
-	 * @details gets the interactor, reads arguments from it,
-	 * 			creates Framework and Graph and sets tooltips
-	 */
-	@FXML
-	void initialize() {
-		setInitialValues();
-
-		arrowTip = new Tooltip("Returns to input view.");
-		arrowBtn.setTooltip(arrowTip);
-
-		backTip = new Tooltip("Goes back a step of the computation.");
-		backBtn.setTooltip(backTip);
-
-		nextTip = new Tooltip("Shows the next step of the computation.");
-		nextBtn.setTooltip(nextTip);
-
-		allTip = new Tooltip("Shows all steps of the computation.");
-		showAllBtn.setTooltip(allTip);
-
-		resultsTip = new Tooltip("Shows the results of the computation, without showing any steps");
-		resultsBtn.setTooltip(resultsTip);
-
-		choiceTip = new Tooltip("Highlights the chosen set in the graph.");
-		setsChoiceBox.setTooltip(choiceTip);
-
-		previousTip = new Tooltip("If checked the program will not repeat computations it already has performed,"
-				+ "\nbut instead use the previous computations' results for further computations.");
-		previousCheckBox.setTooltip(previousTip);
-
-		conflictFreeTip = new Tooltip("A set of arguments is conflict-free,\nif none of it's arguments attack another.\n\nClick to compute all conflict-free sets.");
-		conflictFreeBtn.setTooltip(conflictFreeTip);
-
-		admissibleTip = new Tooltip("A conflict-free set is an admissible extension,\nif it defends each of it's arguments.\n\nClick to compute all admissible extensions.");
-		admissibleBtn.setTooltip(admissibleTip);
-
-		completeTip = new Tooltip("An admissible extension is a complete extension,\nif it contains every argument it defends.\n\nClick to compute all complete extensions.");
-		completeBtn.setTooltip(completeTip);
-
-		stableTip = new Tooltip("A conflict-free set is a stable extension,\nif it attacks every argument it doesn't contain.\n\nClick to compute all stable extensions.");
-		stableBtn.setTooltip(stableTip);
-
-		preferredTip = new Tooltip("An admissible extension is a preferred extension,\nif it is not a subset of another admissible extension.\n\nClick to compute all preferred extensions.");
-		preferredBtn.setTooltip(preferredTip);
-
-		groundedTip = new Tooltip("The extension containing all arguments that all\ncomplete extensions have in common is the grounded extension.\n\nClick to compute the grounded extension.");
-		groundedBtn.setTooltip(groundedTip);
-	}
-	
-	/**
-	 * converts Arguments from ArgumentDtos and saves them
-	 * @param rawArguments a list of ArgumentDtos
-	 */
-	private void readArguments(ArrayList<ArgumentDto> rawArguments) {
-		arguments = new ArrayList<Argument>();
-		attacks = new ArrayList<Attack>();
-		
-		for(ArgumentDto a: rawArguments){
-			arguments.add(new Argument(a.getName(),a.getStatement()));
-		}
-		
-		for(ArgumentDto a: rawArguments){
-			char attackString[] = a.getAttacks().toCharArray();
-			for(char att: attackString){
-				attacks.add(new Attack(getArgument(arguments,a.getName()),getArgument(arguments,att)));
-			}
-		}
-	}
-                                                                                                                                                                                                                                                                                                                                         
-	private Argument getArgument(ArrayList<Argument> args, char att) {
-		for(Argument a: args){
-			if(a.getName() == att){
-				return a; 
-			}
-		}
-		
-		return null;
-	}
-
-	/**
-	 * initiates the computation of the conflict free sets of the framework
-	 */
-	@FXML
-	public void onConflictFreeClick() {
-		interactor.emptyQueue();
-
-		resultSet = argumentFramework.getConflictFreeSets();
-
-		//printExtensions(resultSet);
-
-		setUI();
-	}
-
-	/**
-	 * initiates the computation of the admissible sets of the framework
-	 */
-	@FXML
-	public void onAdmissibleClick(){
-		interactor.emptyQueue();
-
-		resultSet = argumentFramework.getAdmissibleExtensions(previousCheckBox.isSelected());
-
-		//printExtensions(resultSet);
-
-		setUI();
-	}
-
-	/**
-	 * initiates the computation of the complete extensions of the framework
-	 */
-	@FXML
-	public void onCompleteClick(){
-		interactor.emptyQueue();
-
-		try {
-			resultSet = argumentFramework.getCompleteExtensions(previousCheckBox.isSelected());
-			//printExtensions(resultSet);
-			setUI();
-		} catch (InvalidInputException e) {
-			interactor.emptyQueue();
-			explanationArea.setText(e.getMessage() + " Extension could not be computed!");
-			explanationArea.setStyle("-fx-text-fill: red;");
-		}
-	}
-
-	/**
-	 * initiates the computation of the preferred extensions of the framework
-	 */
-	@FXML
-	public void onPreferredClick(){
-		interactor.emptyQueue();
-
-		resultSet = argumentFramework.getPreferredExtensions(previousCheckBox.isSelected());
-
-		//printExtensions(resultSet);
-
-		setUI();
-	}
-
-	/**
-	 * initiates the computation of the stable extensions of the framework
-	 */
-	@FXML
-	public void onStableClick(){
-		interactor.emptyQueue();
-
-		resultSet = argumentFramework.getStableExtensions(previousCheckBox.isSelected());
-
-		//printExtensions(resultSet);
-
-		setUI();
-	}
-
-	/**
-	 * initiates the computation of the grounded extension of the framework
-	 */
-	@FXML
-	public void onGroundedClick(){
-		interactor.emptyQueue();
-
-		Extension grounded;
-		try {
-			grounded = argumentFramework.getGroundedExtension(previousCheckBox.isSelected());
-			resultSet = new ArrayList<Extension>();
-			resultSet.add(grounded);
-			//printExtensions(resultSet);
-			setUI();
-		} catch (InvalidInputException e) {
-			interactor.emptyQueue();
-			explanationArea.setText(e.getMessage() + " Extension could not be computed!");
-			explanationArea.setStyle("-fx-text-fill: red;");
-		}
-	}
-
-	/**
-	 * moves the output of the computation one step forward
-	 */
-	@FXML
-	public void onNextClick(){
-		interactor.executeNextCommand();
-
-		backBtn.setDisable(false);
-
-		if(!interactor.hasNext()){
-			disableForwardButtons();
-			showChoices();
-		}
-	}
-
-	/**
-	 * moves the output of the computation one step back
-	 */
-	@FXML
-	public void onBackClick(){
-		interactor.revertCommand();
-
-		if(explanationArea.getText().isEmpty()){
-			backBtn.setDisable(true);
-		}
-
-		resetChoices();
-		showAllBtn.setDisable(false);
-		nextBtn.setDisable(false);
-		resultsBtn.setDisable(false);
-	}
-
-	/**
-	 * shows the complete computation process in text
-	 */
-	@FXML
-	public void onShowAllClick(){
-		interactor.printAllLines();
-
-		backBtn.setDisable(false);
-
-		disableForwardButtons();
-		showChoices();
-	}
-
-	/**
-	 * instantly shows only the results, but prevents further use of forward and back buttons
-	 */
-	@FXML
-	public void onResultsClick(){
-		interactor.skipToLastCommand();
-		interactor.emptyQueue();
-		
-		backBtn.setDisable(true);
-		disableForwardButtons();
-		showChoices();
-	}
-
-	/**
-	 * disables the next and show all buttons
-	 */
-	public void disableForwardButtons(){
-		nextBtn.setDisable(true);
-		showAllBtn.setDisable(true);
-		resultsBtn.setDisable(true);
-	}
-
-	/**
-	 * returns to main input window
-	 */
-	@FXML
-	public void onArrowClick(){
-		explanationArea.setText("");
-		resetChoices();
-
-		wrapper.loadMain();
-	}
-
-	/**
-	 * activates the choicebox (dropdown menu) that shows the extensions
-	 * of the chosen type
-	 */
-	public void showChoices(){
-		setsChoiceBox.setDisable(false);
-
-		ArrayList<String> formatList = new ArrayList<String>();
-
-		for(Extension e: resultSet){
-			formatList.add(e.format());
-		}
-
-		setsChoiceBox.setItems(FXCollections.observableArrayList(formatList));
-		setsChoiceBox.getSelectionModel().selectedIndexProperty().addListener(new ChoiceListener<Number>());
-		setsChoiceBox.getSelectionModel().selectFirst();
-	}
-	
-	/**
-	 * the ChoiceListener listens for changes on a choicebox, and computes
-	 * an instruction for the graph to show the newly chosen extension
-	 * @author patrick.bellositz
-	 * @param <Number> the index of the chosen element
-	 */
-	@SuppressWarnings("hiding")
-	private class ChoiceListener<Number> implements ChangeListener<Number>{
-		@Override
-		public void changed(ObservableValue<? extends Number> oval, Number sval, Number nval){
-			if((Integer) nval == -1){ //because with a new graph an empty selection (id:-1) is shown
-				return;
-			}
-			
-			Object item = setsChoiceBox.getItems().get((Integer) nval); 
-
-			if(item instanceof String){
-				GraphInstruction instruction = argumentFramework.getInstructionFromString((String) item);
-				try {
-					graphPane.executeInstruction(instruction);
-				} catch (InvalidInputException e) {
-					interactor.emptyQueue();
-					explanationArea.setText(e.getMessage() + "\n The graph may not be correctly displayed!");
-					explanationArea.setStyle("-fx-text-fill: red;");
-				}
-			}
-		}
-	}
-	
-	/**
-	 * removes all elements from the choicebox and deactivates it
-	 */
-	public void resetChoices(){
-		setsChoiceBox.getItems().setAll(FXCollections.observableList(new ArrayList<String>()));
-		setsChoiceBox.setDisable(true);
-	}
-
-	/**
-	 * brings the UI into a state where viewing of the computation process is possible
-	 */
-	public void setUI(){
-		resetChoices();
-		explanationArea.setText("");
-		explanationArea.setStyle("-fx-text-fill: black;");
-		backBtn.setDisable(true);
-		nextBtn.setDisable(false);
-		showAllBtn.setDisable(false);
-		resultsBtn.setDisable(false);
-		interactor.executeNextCommand();
-	}
-
-	/**
-	 * sets the initial UI and data values that can be changed but not unchangable values
-	 */
-	public void setInitialValues() {		
-		root.getChildren().remove(graphPane);
-		graphPane = new NodePane();
-		root.getChildren().add(graphPane);
-		graphPane.setPrefHeight(470);
-		graphPane.setPrefWidth(445);
-		graphPane.setLayoutX(15); //prevents arcs from going out of visual bounds
-
-		interactor = Interactor.getInstance(this);
-		readArguments(interactor.getRawArguments());
-		argumentFramework = new Framework(arguments, attacks, interactor);
-
-		graphPane.createGraph(argumentFramework);
-		
-		try {
-			graphPane.drawGraph();
-			explanationArea.setText("");
-			explanationArea.setStyle("-fx-text-fill: black;");
-		} catch (InvalidInputException e) {
-			interactor.emptyQueue();
-			explanationArea.setText(e.getMessage() + "\n The graph may not be correctly displayed!");
-			explanationArea.setStyle("-fx-text-fill: red;");
-		}
-
-		backBtn.setDisable(true);
-		nextBtn.setDisable(true);
-		showAllBtn.setDisable(true);
-		resultsBtn.setDisable(true);
-	}
-
-	/**
-	 * sets the wrapper for all windows to apply to this controller's window
-	 * @param wrapperController the wrapper controlling which window is shown
-	 */
-	public static void setWrapper(WrapperController wrapperController){
-		wrapper = wrapperController;
-	}
-
-	/**
-	 * @return the text area used for result output
-	 */
-	public TextArea getTextArea(){
-		return explanationArea;
-	}
-
-	/**
-	 * @return the NodePane containing the graphical representation of the framework
-	 */
-	public NodePane getGraphPane(){
-		return graphPane;
-	}
-
-	/**
-	 * prints the arguments of all computed extensions (only for testing)
-	 * @param ext the extensions to be printed
-	 */
-	public void printExtensions(ArrayList<Extension> ext){
-		for(Extension e: ext){
-			System.out.println(e.format());
-		}
-	}
-}
+package gui;
+
+import interactor.GraphInstruction;
+import interactor.Interactor;
+import interactor.Trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+
+import dto.ArgumentDto;
+import exceptions.InvalidInputException;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Slider;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+import logic.Argument;
+import logic.Attack;
+import logic.Engine;
+import logic.Extension;
+import logic.Framework;
+import logic.FrameworkReader;
+
+/**
+ * Controller controlling the DemonstrationWindow.fxml file behaviour
+ * 	for demonstrating how abstract argumentation frameworks work
+ * @author Patrick Bellositz
+ */
+public class DemonstrationWindowController {
+
+	/**
+	 * wrapper object controlling what is shown on screen
+	 */
+	private static WrapperController wrapper;
+
+	/**
+	 * number of steps shown per second while the computation is played
+	 */
+	private static final double PLAYBACK_RATE = 20;
+
+	/**
+	 * number of arguments above which the graph is drawn onto a canvas instead of a node per argument and attack
+	 */
+	private static final int CANVAS_THRESHOLD = 150;
+
+	@FXML
+	private ResourceBundle resources; //resource bundle
+
+	@FXML
+	private URL location; //location of file
+
+	@FXML
+	private Button backBtn, nextBtn, showAllBtn, resultsBtn, arrowBtn, completeBtn, preferredBtn, stableBtn, groundedBtn, conflictFreeBtn, admissibleBtn, saveTraceBtn, openTraceBtn, playBtn; //buttons in demonstration window
+
+	@FXML
+	private CheckBox previousCheckBox; //checkbox whether to use previously computed sets or extensions
+
+	@FXML
+	private LogView explanationLog; //log describing every computation, one row per step
+
+	@FXML
+	private TextField searchField; //text searched for in the log
+
+	@FXML
+	private AnchorPane root; //root pane containing all the UI elements
+
+	@FXML
+	private ChoiceBox<String> setsChoiceBox; //dropdown for result sets
+
+	@FXML
+	private ChoiceBox<String> engineChoiceBox; //dropdown for the way extensions are computed
+
+	@FXML
+	private Slider timelineSlider; //slider scrubbing through the steps computed so far
+
+	private Tooltip conflictFreeTip, admissibleTip, completeTip, stableTip, preferredTip, groundedTip, previousTip, arrowTip, backTip, nextTip, allTip, resultsTip, choiceTip, engineTip, saveTraceTip, openTraceTip, timelineTip, searchTip, playTip; //tooltips for all buttons etc
+
+	private Framework argumentFramework; //argument framework containing the arguments
+	private ArrayList<Argument> arguments; //arguments of the framework
+	private ArrayList<Attack> attacks; //attacks of the framework
+	private Interactor interactor; //Interactor controlling the results the user sees
+	private ArrayList<Extension> resultSet; //set containing computation results
+	private Trace<ArrayList<Extension>> trace; //trace of the current computation, holding its results
+	private boolean updatingTimeline; //whether the slider is being moved to the shown step, not by the user
+	private AnimationTimer playback; //shows the steps due at every frame while the computation is played, null before it is first played
+	private boolean playing; //whether the computation is being played
+	private long lastFrame; //time of the last frame played, 0 before the first one
+	private double dueSteps; //steps due but not yet shown, since the rate is seldom a multiple of the frame rate
+	private GraphPane graphPane; //pane where node illustrations are shown
+
+	/**
+	 * initializes the controller
+	 * @details gets the interactor, reads arguments from it,
+	 * 			creates Framework and Graph and sets tooltips
+	 */
+	@FXML
+	void initialize() {
+		setInitialValues();
+
+		arrowTip = new Tooltip("Returns to input view.");
+		arrowBtn.setTooltip(arrowTip);
+
+		backTip = new Tooltip("Goes back a step of the computation.");
+		backBtn.setTooltip(backTip);
+
+		nextTip = new Tooltip("Shows the next step of the computation.");
+		nextBtn.setTooltip(nextTip);
+
+		allTip = new Tooltip("Shows all steps of the computation.");
+		showAllBtn.setTooltip(allTip);
+
+		resultsTip = new Tooltip("Shows the results of the computation, without showing any steps");
+		resultsBtn.setTooltip(resultsTip);
+
+		choiceTip = new Tooltip("Highlights the chosen set in the graph.");
+		setsChoiceBox.setTooltip(choiceTip);
+
+		previousTip = new Tooltip("If checked the program will not repeat computations it already has performed,"
+				+ "\nbut instead use the previous computations' results for further computations.");
+		previousCheckBox.setTooltip(previousTip);
+
+		conflictFreeTip = new Tooltip("A set of arguments is conflict-free,\nif none of it's arguments attack another.\n\nClick to compute all conflict-free sets.");
+		conflictFreeBtn.setTooltip(conflictFreeTip);
+
+		admissibleTip = new Tooltip("A conflict-free set is an admissible extension,\nif it defends each of it's arguments.\n\nClick to compute all admissible extensions.");
+		admissibleBtn.setTooltip(admissibleTip);
+
+		completeTip = new Tooltip("An admissible extension is a complete extension,\nif it contains every argument it defends.\n\nClick to compute all complete extensions.");
+		completeBtn.setTooltip(completeTip);
+
+		stableTip = new Tooltip("A conflict-free set is a stable extension,\nif it attacks every argument it doesn't contain.\n\nClick to compute all stable extensions.");
+		stableBtn.setTooltip(stableTip);
+
+		preferredTip = new Tooltip("An admissible extension is a preferred extension,\nif it is not a subset of another admissible extension.\n\nClick to compute all preferred extensions.");
+		preferredBtn.setTooltip(preferredTip);
+
+		groundedTip = new Tooltip("The extension containing all arguments that all\ncomplete extensions have in common is the grounded extension.\n\nClick to compute the grounded extension.");
+		groundedBtn.setTooltip(groundedTip);
+
+		engineTip = new Tooltip("Chooses how complete, preferred and stable extensions are computed:\n"
+				+ "enumeration filters conflict-free sets and admissible extensions step by step,\n"
+				+ "labelling searches complete labellings directly, which is much faster for larger frameworks,\n"
+				+ "sat encodes the semantics as clauses and lets a SAT solver find their models,\n"
+				+ "scc labels the strongly connected components of the framework one after another.");
+		engineChoiceBox.setTooltip(engineTip);
+		showEngines();
+
+		saveTraceTip = new Tooltip("Saves all steps of the current computation to a file.");
+		saveTraceBtn.setTooltip(saveTraceTip);
+
+		openTraceTip = new Tooltip("Opens the steps of a saved computation.");
+		openTraceBtn.setTooltip(openTraceTip);
+
+		playTip = new Tooltip("Shows the steps of the computation one after another, until it is paused.");
+		playBtn.setTooltip(playTip);
+
+		searchTip = new Tooltip("Selects the next step of the log containing the text (press enter to search again).");
+		searchField.setTooltip(searchTip);
+
+		timelineTip = new Tooltip("Moves to any step of the computation that was already shown.");
+		timelineSlider.setTooltip(timelineTip);
+		timelineSlider.valueProperty().addListener(new ChangeListener<Number>(){
+			@Override
+			public void changed(ObservableValue<? extends Number> oval, Number sval, Number nval){
+				if(!updatingTimeline){
+					onTimelineChange((int) Math.round(nval.doubleValue()));
+				}
+			}
+		});
+	}
+
+	/**
+	 * fills the engine choicebox with all engines, selecting the framework's current one
+	 */
+	private void showEngines() {
+		ArrayList<String> engineNames = new ArrayList<String>();
+
+		for(Engine e: Engine.values()){
+			engineNames.add(e.name().toLowerCase());
+		}
+
+		engineChoiceBox.setItems(FXCollections.observableArrayList(engineNames));
+		engineChoiceBox.getSelectionModel().select(argumentFramework.getEngine().ordinal());
+		engineChoiceBox.getSelectionModel().selectedIndexProperty().addListener(new ChangeListener<Number>(){
+			@Override
+			public void changed(ObservableValue<? extends Number> oval, Number sval, Number nval){
+				if(nval.intValue() >= 0){
+					argumentFramework.setEngine(Engine.values()[nval.intValue()]);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * converts Arguments from ArgumentDtos and saves them
+	 * @param rawArguments a list of ArgumentDtos
+	 */
+	private void readArguments(ArrayList<ArgumentDto> rawArguments) {
+		arguments = new ArrayList<Argument>();
+		attacks = new ArrayList<Attack>();
+		HashMap<String, Argument> labels = new HashMap<String, Argument>();
+		
+		for(ArgumentDto a: rawArguments){
+			Argument argument = new Argument(a.getLabel(),a.getStatement());
+			arguments.add(argument);
+			labels.put(a.getLabel(), argument);
+		}
+		
+		for(ArgumentDto a: rawArguments){
+			for(String att: a.getAttacks()){
+				attacks.add(new Attack(labels.get(a.getLabel()),labels.get(att)));
+			}
+		}
+	}
+
+	/**
+	 * starts a computation, whose steps are computed only as far as they are shown
+	 * @param computation the computation of the results
+	 */
+	private void compute(Callable<ArrayList<Extension>> computation) {
+		resultSet = null;
+		trace = interactor.startTrace(computation);
+
+		setUI();
+	}
+
+	/**
+	 * initiates the computation of the conflict free sets of the framework
+	 */
+	@FXML
+	public void onConflictFreeClick() {
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() {
+				return argumentFramework.getConflictFreeSets();
+			}
+		});
+	}
+
+	/**
+	 * initiates the computation of the admissible sets of the framework
+	 */
+	@FXML
+	public void onAdmissibleClick(){
+		final boolean usePrevious = previousCheckBox.isSelected();
+
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() {
+				return argumentFramework.getAdmissibleExtensions(usePrevious);
+			}
+		});
+	}
+
+	/**
+	 * initiates the computation of the complete extensions of the framework
+	 */
+	@FXML
+	public void onCompleteClick(){
+		final boolean usePrevious = previousCheckBox.isSelected();
+
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() throws InvalidInputException {
+				return argumentFramework.getCompleteExtensions(usePrevious);
+			}
+		});
+	}
+
+	/**
+	 * initiates the computation of the preferred extensions of the framework
+	 */
+	@FXML
+	public void onPreferredClick(){
+		final boolean usePrevious = previousCheckBox.isSelected();
+
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() {
+				return argumentFramework.getPreferredExtensions(usePrevious);
+			}
+		});
+	}
+
+	/**
+	 * initiates the computation of the stable extensions of the framework
+	 */
+	@FXML
+	public void onStableClick(){
+		final boolean usePrevious = previousCheckBox.isSelected();
+
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() {
+				return argumentFramework.getStableExtensions(usePrevious);
+			}
+		});
+	}
+
+	/**
+	 * initiates the computation of the grounded extension of the framework
+	 */
+	@FXML
+	public void onGroundedClick(){
+		final boolean usePrevious = previousCheckBox.isSelected();
+
+		compute(new Callable<ArrayList<Extension>>(){
+			@Override
+			public ArrayList<Extension> call() throws InvalidInputException {
+				ArrayList<Extension> grounded = new ArrayList<Extension>();
+				grounded.add(argumentFramework.getGroundedExtension(usePrevious));
+				return grounded;
+			}
+		});
+	}
+
+	/**
+	 * saves all steps of the current computation
+	 */
+	@FXML
+	public void onSaveTraceClick(){
+		File file = createTraceChooser().showSaveDialog(root.getScene().getWindow());
+
+		if(file == null){
+			return;
+		}
+
+		try {
+			interactor.saveTrace(file);
+		} catch (IOException e) {
+			explanationLog.showMessage(e.getMessage() + "\n The trace could not be saved!", true);
+		}
+	}
+
+	/**
+	 * opens the steps of a saved computation, which are shown like the steps of a new one
+	 */
+	@FXML
+	public void onOpenTraceClick(){
+		File file = createTraceChooser().showOpenDialog(root.getScene().getWindow());
+
+		if(file == null){
+			return;
+		}
+
+		try {
+			interactor.openTrace(file);
+		} catch (IOException e) {
+			explanationLog.showMessage(e.getMessage() + "\n The trace could not be opened!", true);
+			return;
+		}
+
+		trace = null; //a saved trace holds no results
+		resultSet = null;
+		setUI();
+	}
+
+	/**
+	 * @return a file chooser for saved traces
+	 */
+	private FileChooser createTraceChooser() {
+		FileChooser chooser = new FileChooser();
+
+		chooser.setTitle("Trace of a computation");
+		chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Traces", "*.trace"));
+
+		return chooser;
+	}
+
+	/**
+	 * selects the next step of the log containing the searched text
+	 */
+	@FXML
+	public void onSearch(){
+		boolean found = explanationLog.search(searchField.getText());
+
+		searchField.setStyle((found || searchField.getText().isEmpty()) ? "" : "-fx-text-fill: red;");
+	}
+
+	/**
+	 * moves the output of the computation one step forward
+	 */
+	@FXML
+	public void onNextClick(){
+		interactor.executeNextCommand();
+
+		backBtn.setDisable(false);
+
+		if(!interactor.hasNext()){
+			disableForwardButtons();
+			showChoices();
+		}
+		updateTimeline();
+	}
+
+	/**
+	 * starts or pauses showing the steps of the computation one after another
+	 */
+	@FXML
+	public void onPlayClick(){
+		if(playing){
+			stopPlayback();
+			return;
+		}
+
+		if(playback == null){
+			playback = new AnimationTimer(){
+				@Override
+				public void handle(long now){
+					playFrame(now);
+				}
+			};
+		}
+
+		lastFrame = 0;
+		dueSteps = 0;
+		playing = true;
+		playBtn.setText("pause");
+		playback.start();
+	}
+
+	/**
+	 * shows the steps that became due since the last frame, changing the log and graph only once
+	 * @param now the time of the frame in nanoseconds
+	 */
+	private void playFrame(long now){
+		if(lastFrame != 0){
+			dueSteps += (now - lastFrame) * PLAYBACK_RATE / 1e9;
+		}
+		lastFrame = now;
+
+		int steps = (int) dueSteps;
+		if(steps == 0){
+			return;
+		}
+		dueSteps -= steps;
+
+		interactor.executeCommands(steps);
+		backBtn.setDisable(false);
+
+		if(!interactor.hasNext()){
+			stopPlayback();
+			disableForwardButtons();
+			showChoices();
+		}
+		updateTimeline();
+	}
+
+	/**
+	 * stops showing the steps of the computation one after another
+	 */
+	private void stopPlayback(){
+		if(playback != null){
+			playback.stop();
+		}
+
+		playing = false;
+		playBtn.setText("play");
+	}
+
+	/**
+	 * moves the output of the computation one step back
+	 */
+	@FXML
+	public void onBackClick(){
+		stopPlayback();
+		interactor.revertCommand();
+
+		if(interactor.getPosition() == 0){
+			backBtn.setDisable(true);
+		}
+
+		resetChoices();
+		showAllBtn.setDisable(false);
+		nextBtn.setDisable(false);
+		resultsBtn.setDisable(false);
+		playBtn.setDisable(false);
+		updateTimeline();
+	}
+
+	/**
+	 * shows the complete computation process in text
+	 */
+	@FXML
+	public void onShowAllClick(){
+		stopPlayback();
+		interactor.printAllLines();
+
+		backBtn.setDisable(false);
+
+		disableForwardButtons();
+		showChoices();
+		updateTimeline();
+	}
+
+	/**
+	 * shows the step chosen with the slider
+	 * @param step the number of steps to be shown
+	 */
+	private void onTimelineChange(int step){
+		stopPlayback();
+		interactor.seek(step);
+
+		backBtn.setDisable(interactor.getPosition() == 0);
+
+		if(interactor.hasNext()){
+			resetChoices();
+			showAllBtn.setDisable(false);
+			nextBtn.setDisable(false);
+			resultsBtn.setDisable(false);
+			playBtn.setDisable(false);
+		}
+		else{
+			disableForwardButtons();
+			showChoices();
+		}
+	}
+
+	/**
+	 * moves the slider to the shown step, its range being the steps computed so far
+	 */
+	private void updateTimeline(){
+		updatingTimeline = true;
+
+		timelineSlider.setMax(interactor.getRecordedCount());
+		timelineSlider.setValue(interactor.getPosition());
+		timelineSlider.setDisable(interactor.getRecordedCount() == 0);
+
+		updatingTimeline = false;
+	}
+
+	/**
+	 * instantly shows only the results, but prevents further use of forward and back buttons
+	 */
+	@FXML
+	public void onResultsClick(){
+		stopPlayback();
+		interactor.skipToLastCommand();
+		interactor.emptyQueue();
+		
+		backBtn.setDisable(true);
+		disableForwardButtons();
+		showChoices();
+		updateTimeline();
+	}
+
+	/**
+	 * disables the next, play, show all and results buttons
+	 */
+	public void disableForwardButtons(){
+		nextBtn.setDisable(true);
+		showAllBtn.setDisable(true);
+		resultsBtn.setDisable(true);
+		playBtn.setDisable(true);
+	}
+
+	/**
+	 * returns to main input window
+	 */
+	@FXML
+	public void onArrowClick(){
+		stopPlayback();
+		interactor.emptyQueue(); //stops a computation that is no longer shown
+		explanationLog.reset();
+		resetChoices();
+
+		wrapper.loadMain();
+	}
+
+	/**
+	 * activates the choicebox (dropdown menu) that shows the extensions
+	 * of the chosen type
+	 */
+	public void showChoices(){
+		if(resultSet == null && trace == null){ //the steps of a saved computation have no results to choose from
+			return;
+		}
+
+		if(resultSet == null){
+			try {
+				resultSet = trace.getResult();
+			} catch (InvalidInputException e) {
+				interactor.emptyQueue();
+				explanationLog.showMessage(e.getMessage() + " Extension could not be computed!", true);
+				return;
+			}
+		}
+
+		setsChoiceBox.setDisable(false);
+
+		ArrayList<String> formatList = new ArrayList<String>();
+
+		for(Extension e: resultSet){
+			formatList.add(e.format());
+		}
+
+		setsChoiceBox.setItems(FXCollections.observableArrayList(formatList));
+		setsChoiceBox.getSelectionModel().selectedIndexProperty().addListener(new ChoiceListener<Number>());
+		setsChoiceBox.getSelectionModel().selectFirst();
+	}
+	
+	/**
+	 * the ChoiceListener listens for changes on a choicebox, and computes
+	 * an instruction for the graph to show the newly chosen extension
+	 * @author patrick.bellositz
+	 * @param <Number> the index of the chosen element
+	 */
+	@SuppressWarnings("hiding")
+	private class ChoiceListener<Number> implements ChangeListener<Number>{
+		@Override
+		public void changed(ObservableValue<? extends Number> oval, Number sval, Number nval){
+			if((Integer) nval == -1){ //because with a new graph an empty selection (id:-1) is shown
+				return;
+			}
+			
+			GraphInstruction instruction = resultSet.get((Integer) nval).toInstruction(Color.GREEN);
+
+			try {
+				graphPane.executeInstruction(instruction);
+			} catch (InvalidInputException e) {
+				interactor.emptyQueue();
+				explanationLog.showMessage(e.getMessage() + "\n The graph may not be correctly displayed!", true);
+			}
+		}
+	}
+	
+	/**
+	 * removes all elements from the choicebox and deactivates it
+	 */
+	public void resetChoices(){
+		setsChoiceBox.getItems().setAll(FXCollections.observableList(new ArrayList<String>()));
+		setsChoiceBox.setDisable(true);
+	}
+
+	/**
+	 * brings the UI into a state where viewing of the computation process is possible
+	 */
+	public void setUI(){
+		stopPlayback();
+		resetChoices();
+		explanationLog.reset();
+		backBtn.setDisable(true);
+		nextBtn.setDisable(false);
+		showAllBtn.setDisable(false);
+		resultsBtn.setDisable(false);
+		playBtn.setDisable(false);
+		saveTraceBtn.setDisable(false);
+		interactor.executeNextCommand();
+		updateTimeline();
+	}
+
+	/**
+	 * sets the initial UI and data values that can be changed but not unchangable values
+	 */
+	public void setInitialValues() {		
+		interactor = Interactor.getInstance(this);
+		FrameworkReader imported = interactor.getImportedFramework();
+
+		if(imported != null){
+			arguments = imported.getArguments();
+		}
+		else{
+			readArguments(interactor.getRawArguments());
+		}
+
+		if(graphPane != null){
+			graphPane.stopLayout();
+		}
+		root.getChildren().remove(graphPane);
+		if(arguments.size() > CANVAS_THRESHOLD){
+			graphPane = new CanvasGraphPane();
+		}
+		else{
+			graphPane = new NodePane();
+		}
+		root.getChildren().add(graphPane);
+		graphPane.setPrefHeight(470);
+		graphPane.setPrefWidth(445);
+		graphPane.setLayoutX(15); //prevents arcs from going out of visual bounds
+
+		interactor = Interactor.getInstance(this); //gives the interactor the new pane
+
+		if(imported != null){
+			argumentFramework = new Framework(arguments, imported.getAttackers(), imported.getAttacked(), imported.getAttackCount(), interactor);
+			attacks = argumentFramework.getAttacks();
+		}
+		else{
+			argumentFramework = new Framework(arguments, attacks, interactor);
+		}
+
+		if(engineChoiceBox.getSelectionModel().getSelectedIndex() >= 0){ //keep the chosen engine for new frameworks
+			argumentFramework.setEngine(Engine.values()[engineChoiceBox.getSelectionModel().getSelectedIndex()]);
+		}
+
+		graphPane.createGraph(argumentFramework);
+		
+		try {
+			graphPane.drawGraph();
+			explanationLog.reset();
+		} catch (InvalidInputException e) {
+			interactor.emptyQueue();
+			explanationLog.showMessage(e.getMessage() + "\n The graph may not be correctly displayed!", true);
+		}
+
+		backBtn.setDisable(true);
+		nextBtn.setDisable(true);
+		showAllBtn.setDisable(true);
+		resultsBtn.setDisable(true);
+		playBtn.setDisable(true);
+		saveTraceBtn.setDisable(true);
+		timelineSlider.setDisable(true);
+	}
+
+	/**
+	 * sets the wrapper for all windows to apply to this controller's window
+	 * @param wrapperController the wrapper controlling which window is shown
+	 */
+	public static void setWrapper(WrapperController wrapperController){
+		wrapper = wrapperController;
+	}
+
+	/**
+	 * @return the log used for result output
+	 */
+	public LogView getLog(){
+		return explanationLog;
+	}
+
+	/**
+	 * @return the pane containing the graphical representation of the framework
+	 */
+	public GraphPane getGraphPane(){
+		return graphPane;
+	}
+
+	/**
+	 * prints the arguments of all computed extensions (only for testing)
+	 * @param ext the extensions to be printed
+	 */
+	public void printExtensions(ArrayList<Extension> ext){
+		for(Extension e: ext){
+			System.out.println(e.format());
+		}
+	}
+}
@@ -0,0 +1,492 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import exceptions.InvalidInputException;
+import javafx.application.Platform;
+
+/**
+ * Force directed layout of a graph, computed on its own thread while the graph is already shown
+ * @details nodes repel each other and edges pull their ends together (Fruchterman and Reingold); the
+ * 			repulsion of far away nodes is approximated by the centers of mass of a quadtree (Barnes and Hut)
+ * 			and computed for all nodes in parallel. Every so often the current positions are handed to the
+ * 			pane, and the final positions are kept for the next time the same graph is drawn
+ * @author Patrick Bellositz
+ */
+public class ForceLayout implements Runnable {
+
+	/**
+	 * number of steps in which the nodes are moved
+	 */
+	private static final int ITERATIONS = 300;
+
+	/**
+	 * farthest distance a node moves in the first step, the distance shrinks to zero with every step
+	 */
+	private static final double START_TEMPERATURE = 0.1;
+
+	/**
+	 * size of a cell divided by its distance, below which the cell's nodes are treated as one
+	 */
+	private static final double THETA = 1.2;
+
+	/**
+	 * strength of the pull towards the center, keeping unconnected parts of the graph together
+	 */
+	private static final double GRAVITY = 1;
+
+	/**
+	 * depth of the quadtree below which cells are not divided any more
+	 */
+	private static final int MAX_DEPTH = 48;
+
+	/**
+	 * number of nodes whose repulsion is computed by one task
+	 */
+	private static final int TASK_SIZE = 256;
+
+	/**
+	 * milliseconds between two sets of positions being handed to the pane
+	 */
+	private static final long PUBLISH_INTERVAL = 100;
+
+	/**
+	 * number of graphs whose final positions are kept
+	 */
+	private static final int CACHE_SIZE = 8;
+
+	/**
+	 * final positions of the graphs laid out last, by the names of their nodes and edges
+	 */
+	private static final Map<String, double[][]> cache = new LinkedHashMap<String, double[][]>(CACHE_SIZE, 0.75f, true){
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, double[][]> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private GraphPane pane; //pane the positions are handed to
+	private String key; //names of the graph's nodes and edges, under which the final positions are kept
+	private int[] edgeStarts, edgeEnds; //node at which every edge starts and ends
+	private double[] x, y; //current position of every node, the graph lies about within the unit square
+	private double[] dispX, dispY; //movement of every node in the current step
+	private double k; //ideal distance between two nodes
+	private volatile boolean cancelled; //whether the positions are no longer needed
+	private AtomicReference<double[][]> published; //positions handed to the pane but not shown yet
+
+	private int[] order; //nodes, ordered by the cells of the quadtree containing them
+	private int[] positions; //position of every node in order
+	private int cellCount; //number of cells of the quadtree
+	private int[] cellFrom, cellTo; //range of every cell's nodes in order
+	private int[] firstChild; //position of the first of every cell's four children, -1 for a leaf
+	private double[] mass, massX, massY; //number of nodes of every cell and their center of mass
+	private double[] cellSize; //width and height of every cell
+
+	/**
+	 * creates a layout for a graph, whose nodes start out on a circle
+	 * @param pane the pane the positions are handed to
+	 * @param nodeCount the number of nodes
+	 * @param edgeStarts the node at which every edge starts
+	 * @param edgeEnds the node at which every edge ends
+	 * @param key the names of the graph's nodes and edges, under which the final positions are kept
+	 */
+	public ForceLayout(GraphPane pane, int nodeCount, int[] edgeStarts, int[] edgeEnds, String key) {
+		this.pane = pane;
+		this.key = key;
+		this.edgeStarts = edgeStarts;
+		this.edgeEnds = edgeEnds;
+
+		x = new double[nodeCount];
+		y = new double[nodeCount];
+		dispX = new double[nodeCount];
+		dispY = new double[nodeCount];
+		k = Math.sqrt(1.0 / Math.max(1, nodeCount));
+		published = new AtomicReference<double[][]>();
+
+		Random jitter = new Random(nodeCount); //a perfect circle would stay one
+		for(int i = 0; i < nodeCount; i++){
+			double angle = (2 * Math.PI * i) / nodeCount;
+
+			x[i] = 0.5 + Math.cos(angle) * 0.45 + (jitter.nextDouble() - 0.5) * k * 0.1;
+			y[i] = 0.5 + Math.sin(angle) * 0.45 + (jitter.nextDouble() - 0.5) * k * 0.1;
+		}
+	}
+
+	/**
+	 * @return the final positions computed for a graph before, as x and y coordinates within the unit square,
+	 * 			null if the graph was not laid out yet
+	 * @param key the names of the graph's nodes and edges
+	 */
+	public static double[][] getCached(String key) {
+		synchronized(cache){
+			return cache.get(key);
+		}
+	}
+
+	/**
+	 * starts computing the layout on its own thread
+	 */
+	public void start() {
+		Thread worker = new Thread(this, "force layout");
+		worker.setDaemon(true);
+		worker.setPriority(Thread.MIN_PRIORITY); //the window has to stay responsive
+		worker.start();
+	}
+
+	/**
+	 * stops the computation, no more positions are handed to the pane
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * moves the nodes step by step, handing the positions to the pane every so often and once all steps are done
+	 */
+	@Override
+	public void run() {
+		long lastPublished = System.currentTimeMillis();
+
+		for(int step = 0; step < ITERATIONS && !cancelled; step++){
+			move(START_TEMPERATURE * (1 - (double) step / ITERATIONS));
+
+			if(System.currentTimeMillis() - lastPublished >= PUBLISH_INTERVAL){
+				publish(fitToUnitSquare());
+				lastPublished = System.currentTimeMillis();
+			}
+		}
+
+		if(!cancelled){
+			double[][] positions = fitToUnitSquare();
+
+			synchronized(cache){
+				cache.put(key, positions);
+			}
+			publish(positions);
+		}
+	}
+
+	/**
+	 * computes the forces on all nodes and moves them along, but not farther than the temperature
+	 * @param temperature the farthest distance a node may move
+	 */
+	private void move(double temperature) {
+		buildQuadtree();
+
+		ForkJoinPool.commonPool().invoke(new Repulsion(0, x.length));
+
+		for(int e = 0; e < edgeStarts.length; e++){
+			int start = edgeStarts[e];
+			int end = edgeEnds[e];
+
+			if(start == end){
+				continue;
+			}
+
+			double dx = x[start] - x[end];
+			double dy = y[start] - y[end];
+			double distance = Math.sqrt(dx*dx + dy*dy);
+
+			dispX[start] -= dx * distance / k;
+			dispY[start] -= dy * distance / k;
+			dispX[end] += dx * distance / k;
+			dispY[end] += dy * distance / k;
+		}
+
+		for(int i = 0; i < x.length; i++){
+			dispX[i] -= (x[i] - 0.5) * GRAVITY;
+			dispY[i] -= (y[i] - 0.5) * GRAVITY;
+
+			double length = Math.sqrt(dispX[i]*dispX[i] + dispY[i]*dispY[i]);
+
+			if(length > 0){
+				x[i] += dispX[i] / length * Math.min(length, temperature);
+				y[i] += dispY[i] / length * Math.min(length, temperature);
+			}
+		}
+	}
+
+	/**
+	 * divides the square containing all nodes into cells, each containing at most one node or nodes lying
+	 * on top of each other, and sums up the mass of every cell
+	 */
+	private void buildQuadtree() {
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+
+		for(int i = 0; i < x.length; i++){
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+
+		if(order == null){
+			order = new int[x.length];
+			positions = new int[x.length];
+			int capacity = 4 * x.length + 1;
+			cellFrom = new int[capacity];
+			cellTo = new int[capacity];
+			firstChild = new int[capacity];
+			mass = new double[capacity];
+			massX = new double[capacity];
+			massY = new double[capacity];
+			cellSize = new double[capacity];
+		}
+
+		for(int i = 0; i < x.length; i++){
+			order[i] = i;
+		}
+
+		cellCount = 1;
+		divide(0, 0, x.length, minX, minY, Math.max(maxX - minX, maxY - minY), 0);
+
+		for(int p = 0; p < x.length; p++){
+			positions[order[p]] = p;
+		}
+	}
+
+	/**
+	 * sums up the mass of a cell and divides it into four children if it contains more than one node
+	 * @param cell the cell
+	 * @param from the position of the cell's first node in order
+	 * @param to the position after the cell's last node in order
+	 * @param left the left border of the cell
+	 * @param top the upper border of the cell
+	 * @param size the width and height of the cell
+	 * @param depth the depth of the cell in the quadtree
+	 */
+	private void divide(int cell, int from, int to, double left, double top, double size, int depth) {
+		double sumX = 0, sumY = 0;
+
+		for(int p = from; p < to; p++){
+			sumX += x[order[p]];
+			sumY += y[order[p]];
+		}
+
+		cellFrom[cell] = from;
+		cellTo[cell] = to;
+		cellSize[cell] = size;
+		mass[cell] = to - from;
+		massX[cell] = sumX / (to - from);
+		massY[cell] = sumY / (to - from);
+		firstChild[cell] = -1;
+
+		if(to - from <= 1 || depth >= MAX_DEPTH || size <= 0){
+			return;
+		}
+
+		double half = size / 2;
+		int[] counts = new int[5]; //start of every quadrant in order, followed by the end
+
+		for(int p = from; p < to; p++){
+			counts[getQuadrant(order[p], left + half, top + half) + 1]++;
+		}
+		counts[0] = from;
+		for(int q = 1; q < 5; q++){
+			counts[q] += counts[q-1];
+		}
+
+		int[] sorted = new int[to - from];
+		int[] filled = Arrays.copyOf(counts, 4);
+
+		for(int p = from; p < to; p++){
+			sorted[filled[getQuadrant(order[p], left + half, top + half)]++ - from] = order[p];
+		}
+		System.arraycopy(sorted, 0, order, from, sorted.length);
+
+		ensureCells(cellCount + 4);
+		int child = cellCount;
+		firstChild[cell] = child;
+		cellCount += 4;
+
+		for(int q = 0; q < 4; q++){
+			if(counts[q+1] > counts[q]){
+				divide(child + q, counts[q], counts[q+1], left + (q % 2) * half, top + (q / 2) * half, half, depth + 1);
+			}
+			else{
+				mass[child + q] = 0;
+				firstChild[child + q] = -1;
+				cellFrom[child + q] = cellTo[child + q] = counts[q];
+			}
+		}
+	}
+
+	/**
+	 * @return the quadrant of a cell a node lies in, 0 for the upper left, 1 for the upper right,
+	 * 			2 for the lower left and 3 for the lower right one
+	 * @param node the node
+	 * @param middleX the x coordinate of the cell's middle
+	 * @param middleY the y coordinate of the cell's middle
+	 */
+	private int getQuadrant(int node, double middleX, double middleY) {
+		return ((x[node] < middleX) ? 0 : 1) + ((y[node] < middleY) ? 0 : 2);
+	}
+
+	/**
+	 * enlarges the arrays of the quadtree if they cannot hold a number of cells
+	 * @param capacity the number of cells
+	 */
+	private void ensureCells(int capacity) {
+		if(capacity <= cellFrom.length){
+			return;
+		}
+
+		int size = Math.max(capacity, 2 * cellFrom.length);
+		cellFrom = Arrays.copyOf(cellFrom, size);
+		cellTo = Arrays.copyOf(cellTo, size);
+		firstChild = Arrays.copyOf(firstChild, size);
+		mass = Arrays.copyOf(mass, size);
+		massX = Arrays.copyOf(massX, size);
+		massY = Arrays.copyOf(massY, size);
+		cellSize = Arrays.copyOf(cellSize, size);
+	}
+
+	/**
+	 * @return the current positions, moved and scaled so the graph fills the unit square, as x and y coordinates
+	 */
+	private double[][] fitToUnitSquare() {
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+
+		for(int i = 0; i < x.length; i++){
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+
+		double size = Math.max(maxX - minX, maxY - minY);
+		double scale = (size > 0) ? 1 / size : 0;
+		double[][] positions = new double[2][x.length];
+
+		for(int i = 0; i < x.length; i++){
+			positions[0][i] = (size > 0) ? (x[i] - minX) * scale + (1 - (maxX - minX) * scale) / 2 : 0.5;
+			positions[1][i] = (size > 0) ? (y[i] - minY) * scale + (1 - (maxY - minY) * scale) / 2 : 0.5;
+		}
+
+		return positions;
+	}
+
+	/**
+	 * hands positions to the pane on the FX thread, positions not shown yet are replaced by the newer ones
+	 * @param positions the x and y coordinates of all nodes within the unit square
+	 */
+	private void publish(double[][] positions) {
+		if(published.getAndSet(positions) != null){ //the pane has not taken the older positions yet
+			return;
+		}
+
+		Platform.runLater(new Runnable(){
+			@Override
+			public void run(){
+				double[][] latest = published.getAndSet(null);
+
+				if(cancelled || latest == null){
+					return;
+				}
+
+				try {
+					pane.showPositions(latest[0], latest[1]);
+				} catch (InvalidInputException e) {
+					cancel(); //the nodes stay where they are
+				}
+			}
+		});
+	}
+
+	/**
+	 * Fork/join task that computes the repulsion on a range of nodes, splitting the range in halves
+	 * until it is small enough to be computed by one thread
+	 */
+	private class Repulsion extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private int from, to; //range of nodes computed by this task
+
+		private Repulsion(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > TASK_SIZE){
+				int middle = (from + to) >>> 1;
+				invokeAll(new Repulsion(from, middle), new Repulsion(middle, to));
+				return;
+			}
+
+			int[] stack = new int[3 * MAX_DEPTH + 4];
+
+			for(int i = from; i < to; i++){
+				dispX[i] = 0;
+				dispY[i] = 0;
+
+				int top = 0;
+				stack[top++] = 0;
+
+				while(top > 0){
+					int cell = stack[--top];
+
+					if(mass[cell] == 0){
+						continue;
+					}
+
+					double dx = x[i] - massX[cell];
+					double dy = y[i] - massY[cell];
+					double squared = dx*dx + dy*dy;
+
+					boolean outside = positions[i] < cellFrom[cell] || positions[i] >= cellTo[cell]; //a cell containing the node is never treated as one
+
+					if(firstChild[cell] >= 0 && outside && cellSize[cell] * cellSize[cell] < THETA * THETA * squared){
+						dispX[i] += dx * k * k * mass[cell] / squared;
+						dispY[i] += dy * k * k * mass[cell] / squared;
+					}
+					else if(firstChild[cell] >= 0){
+						for(int q = 0; q < 4; q++){
+							stack[top++] = firstChild[cell] + q;
+						}
+					}
+					else{
+						for(int p = cellFrom[cell]; p < cellTo[cell]; p++){
+							repel(i, order[p]);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * adds the repulsion of one node on another, nodes on top of each other are pushed apart by their order
+		 * @param i the node that is pushed
+		 * @param j the node pushing it
+		 */
+		private void repel(int i, int j) {
+			if(i == j){
+				return;
+			}
+
+			double dx = x[i] - x[j];
+			double dy = y[i] - y[j];
+			double squared = dx*dx + dy*dy;
+
+			if(squared < 1e-12){
+				dx = (i < j) ? -k * 0.01 : k * 0.01;
+				squared = dx*dx;
+			}
+
+			dispX[i] += dx * k * k / squared;
+			dispY[i] += dy * k * k / squared;
+		}
+	}
+}
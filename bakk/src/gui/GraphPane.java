@@ -0,0 +1,219 @@
+package gui;
+
+import interactor.GraphInstruction;
+import interactor.SingleInstruction;
+import interactor.SingleInstruction.Type;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import exceptions.InvalidInputException;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.paint.Color;
+import logic.Framework;
+
+/**
+ * A pane drawing the graph of an argument framework, whose nodes and edges are colored by graph instructions
+ * @details the pane keys the nodes and edges drawn by the ids of their arguments, computes which colors an instruction
+ * 			gives them and lays out graphs too large for a circle, how they are drawn is up to the subclasses
+ * @author Patrick Bellositz
+ */
+public abstract class GraphPane extends AnchorPane {
+
+	/**
+	 * number of nodes up to which they are arranged in a circle, larger graphs are laid out by force
+	 */
+	public static final int CIRCLE_LIMIT = 30;
+
+	protected HashMap<Integer, Integer> nodeIds; //position of every node drawn, by the id of its argument
+	protected HashMap<Long, Integer> edgeIds; //position of every edge drawn, by the key of its attack
+	protected Color[] nodeTargets, strokeTargets, arrowTargets; //colors an instruction gives the nodes and edges it touches
+	protected BitSet targetedNodes, targetedEdges; //nodes and edges touched by the instruction being executed
+	protected String layoutKey; //ids of the nodes and edges drawn, in order, identifying the positions of a layout
+	private ForceLayout forceLayout; //layout computing the positions of the nodes, null if there is none
+
+	/**
+	 * creates a new pane to show a graph
+	 */
+	public GraphPane(){
+		super();
+	}
+
+	/**
+	 * saves the Framework given and computes the graph
+	 * @param argumentFramework the framework containing arguments and attacks that are the basis for the graph to be computed
+	 */
+	public abstract void createGraph(Framework argumentFramework);
+
+	/**
+	 * draws the graph computed before into the pane, using its preferred size
+	 * @throws InvalidInputException throws exception if there is a problem with edge creation
+	 */
+	public abstract void drawGraph() throws InvalidInputException;
+
+	/**
+	 * modifies the color of lines and and nodes according to the given instruction,
+	 * all nodes and edges not touched by it are black
+	 * @param instruction specifying the the colors for every edge and node to be changed, null to turn the graph black
+	 * @throws InvalidInputException if there is a faulty Instruction (false InstructionType)
+	 */
+	public abstract void executeInstruction(GraphInstruction instruction) throws InvalidInputException;
+
+	/**
+	 * moves the nodes to positions computed by a layout
+	 * @param x the x coordinate of every node, within the unit square
+	 * @param y the y coordinate of every node, within the unit square
+	 * @throws InvalidInputException throws exception if there is a problem with edge creation
+	 */
+	protected abstract void showPositions(double[] x, double[] y) throws InvalidInputException;
+
+	/**
+	 * @return whether an edge is drawn as a line between two nodes, so it hides the line of the opposite edge when colored
+	 * @param id the position of the edge
+	 */
+	protected abstract boolean hasLine(int id);
+
+	/**
+	 * @return the key of the edge drawn for an attack, unique for every pair of arguments
+	 * @param attacker the id of the attacking argument
+	 * @param attacked the id of the attacked argument
+	 */
+	protected static long edgeKey(int attacker, int attacked) {
+		return ((long) attacker << 32) | (attacked & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * keys the drawn nodes and edges by the ids of their arguments
+	 * @param nodeArguments the id of every node's argument, in the order the nodes are drawn
+	 * @param edgeAttackers the id of the attacking argument of every edge, in the order the edges are drawn
+	 * @param edgeAttacked the id of the attacked argument of every edge, in the order the edges are drawn
+	 */
+	protected void indexElements(int[] nodeArguments, int[] edgeAttackers, int[] edgeAttacked) {
+		nodeIds = new HashMap<Integer, Integer>(2*nodeArguments.length);
+		edgeIds = new HashMap<Long, Integer>(2*edgeAttackers.length);
+		StringBuilder key = new StringBuilder();
+
+		for(int i = 0; i < nodeArguments.length; i++){
+			nodeIds.put(nodeArguments[i], i);
+			key.append(nodeArguments[i]).append(',');
+		}
+		key.append(';');
+		for(int i = 0; i < edgeAttackers.length; i++){
+			edgeIds.put(edgeKey(edgeAttackers[i], edgeAttacked[i]), i);
+			key.append(edgeAttackers[i]).append('-').append(edgeAttacked[i]).append(',');
+		}
+
+		layoutKey = key.toString();
+
+		nodeTargets = new Color[nodeArguments.length];
+		strokeTargets = new Color[edgeAttackers.length];
+		arrowTargets = new Color[edgeAttackers.length];
+		targetedNodes = new BitSet(nodeArguments.length);
+		targetedEdges = new BitSet(edgeAttackers.length);
+	}
+
+	/**
+	 * lays out the nodes by force if there are too many of them for a circle, the nodes are moved to the positions
+	 * computed before for the same graph right away, otherwise they are moved while the positions are computed
+	 * @param edgeStarts the node at which every edge starts
+	 * @param edgeEnds the node at which every edge ends
+	 * @throws InvalidInputException throws exception if there is a problem with edge creation
+	 */
+	protected void arrangeByForce(int[] edgeStarts, int[] edgeEnds) throws InvalidInputException {
+		stopLayout();
+
+		if(nodeIds.size() <= CIRCLE_LIMIT){
+			return;
+		}
+
+		double[][] cached = ForceLayout.getCached(layoutKey);
+
+		if(cached != null){
+			showPositions(cached[0], cached[1]);
+			return;
+		}
+
+		forceLayout = new ForceLayout(this, nodeIds.size(), edgeStarts, edgeEnds, layoutKey);
+		forceLayout.start();
+	}
+
+	/**
+	 * stops the layout of the nodes, if it is still being computed
+	 */
+	public void stopLayout() {
+		if(forceLayout != null){
+			forceLayout.cancel();
+			forceLayout = null;
+		}
+	}
+
+	/**
+	 * marks the nodes and edges touched by an instruction and saves the colors it gives them
+	 * @param instruction the instruction, null if it touches nothing
+	 * @throws InvalidInputException if there is a faulty Instruction (false InstructionType)
+	 */
+	protected void findTargets(GraphInstruction instruction) throws InvalidInputException {
+		targetedNodes.clear();
+		targetedEdges.clear();
+
+		if(instruction == null){
+			return;
+		}
+
+		ArrayList<SingleInstruction> nodeInstructions = instruction.getNodeInstructions();
+		ArrayList<SingleInstruction> edgeInstructions = instruction.getEdgeInstructions();
+
+		if(nodeInstructions != null){
+			for(SingleInstruction i: nodeInstructions){
+				if(i.getType() != Type.NODE){
+					throw new InvalidInputException("Instruction (argument: " + i.getNode() + ") is not a node instruction.");
+				}
+
+				Integer id = nodeIds.get(i.getNode());
+
+				if(id != null){
+					targetedNodes.set(id);
+					nodeTargets[id] = i.getColor();
+				}
+			}
+		}
+
+		if(edgeInstructions != null){
+			for(SingleInstruction i: edgeInstructions){
+				if(i.getType() != Type.EDGE){
+					throw new InvalidInputException("Instruction (argument: " + i.getNode() + ") is not an edge instruction.");
+				}
+
+				Integer id = edgeIds.get(edgeKey(i.getAttacker(), i.getAttacked()));
+
+				if(id != null){
+					targetEdge(id);
+					strokeTargets[id] = i.getColor();
+					arrowTargets[id] = i.getColor();
+
+					if(hasLine(id)){
+						Integer reverse = edgeIds.get(edgeKey(i.getAttacked(), i.getAttacker()));
+
+						if(reverse != null){
+							targetEdge(reverse);
+							strokeTargets[reverse] = Color.TRANSPARENT;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * marks an edge as touched by the instruction being executed, starting out black
+	 * @param id the position of the edge
+	 */
+	private void targetEdge(int id) {
+		if(!targetedEdges.get(id)){
+			targetedEdges.set(id);
+			strokeTargets[id] = Color.BLACK;
+			arrowTargets[id] = Color.BLACK;
+		}
+	}
+}
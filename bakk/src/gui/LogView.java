@@ -0,0 +1,208 @@
+package gui;
+
+import interactor.TraceBuffer;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+/**
+ * A list showing the messages of the executed commands, one row per command
+ * @details the rows are read from the recorded trace only when they become visible, so showing
+ * 			another command only tells the list that a row was added or removed, no matter how
+ * 			long the log already is
+ * @author Patrick Bellositz
+ */
+public class LogView extends ListView<String> {
+
+	private LogItems items; //the rows of the list
+	private boolean error; //whether the rows are shown as an error
+
+	/**
+	 * creates an empty log
+	 */
+	public LogView() {
+		super();
+		items = new LogItems();
+		setItems(items);
+
+		setCellFactory(new Callback<ListView<String>, ListCell<String>>(){
+			@Override
+			public ListCell<String> call(ListView<String> list){
+				ListCell<String> cell = new ListCell<String>(){
+					@Override
+					protected void updateItem(String item, boolean empty){
+						super.updateItem(item, empty);
+						setText(empty ? null : item);
+						setStyle(error ? "-fx-text-fill: red;" : "");
+					}
+				};
+
+				cell.setWrapText(true);
+				cell.prefWidthProperty().bind(list.widthProperty().subtract(20)); //leaves room for the scroll bar
+				return cell;
+			}
+		});
+	}
+
+	/**
+	 * shows the messages of the first commands of a trace
+	 * @param steps the recorded commands
+	 * @param count the number of commands to be shown
+	 */
+	public void showSteps(TraceBuffer steps, int count) {
+		setError(false);
+		items.show(steps, count, null);
+	}
+
+	/**
+	 * shows a single message instead of the log
+	 * @param message the message
+	 * @param error whether the message is an error
+	 */
+	public void showMessage(String message, boolean error) {
+		setError(error);
+		items.show(null, 0, message);
+	}
+
+	/**
+	 * removes all rows
+	 */
+	public void reset() {
+		setError(false);
+		items.show(null, 0, null);
+	}
+
+	/**
+	 * scrolls to the last row
+	 */
+	public void scrollToEnd() {
+		if(!items.isEmpty()){
+			scrollTo(items.size()-1);
+		}
+	}
+
+	/**
+	 * selects the next row containing a text, starting after the selected row and continuing from the top
+	 * @param query the text searched for, ignoring case
+	 * @return whether a row was found
+	 */
+	public boolean search(String query) {
+		int size = items.size();
+
+		if(query.isEmpty() || size == 0){
+			return false;
+		}
+
+		String lowerQuery = query.toLowerCase();
+		int start = getSelectionModel().getSelectedIndex() + 1;
+
+		for(int i = 0; i < size; i++){
+			int row = (start + i) % size;
+
+			if(String.valueOf(items.get(row)).toLowerCase().contains(lowerQuery)){
+				getSelectionModel().clearAndSelect(row);
+				scrollTo(row);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param error whether the rows are shown as an error
+	 */
+	private void setError(boolean error) {
+		if(this.error != error){
+			this.error = error;
+			refresh();
+		}
+	}
+
+	/**
+	 * rows of the log, read from the recorded commands whenever a row is shown
+	 */
+	private static class LogItems extends ObservableListBase<String> {
+		private TraceBuffer steps; //the recorded commands, null if no commands are shown
+		private int count; //number of commands shown
+		private String message; //single message shown instead of the commands, null if there is none
+
+		@Override
+		public String get(int index) {
+			if(message != null){
+				return message;
+			}
+			if(index < 0 || index >= count){
+				throw new IndexOutOfBoundsException("There is no row " + index + " in a log of " + count + " rows!");
+			}
+			return steps.getMessage(index);
+		}
+
+		@Override
+		public int size() {
+			return (message != null) ? 1 : count;
+		}
+
+		/**
+		 * changes the rows, telling the list only about the rows added or removed at the end
+		 * if the commands shown before are still shown
+		 * @param steps the recorded commands, null if no commands are shown
+		 * @param count the number of commands shown
+		 * @param message the single message shown instead of the commands, null if there is none
+		 */
+		private void show(TraceBuffer steps, int count, String message) {
+			int oldSize = size();
+			List<String> old = getRows(this.steps, this.count, this.message, 0);
+			boolean continued = (this.message == null && message == null && this.steps == steps);
+
+			this.steps = steps;
+			this.count = count;
+			this.message = message;
+
+			int newSize = size();
+
+			if(oldSize == 0 && newSize == 0){
+				return;
+			}
+
+			beginChange();
+			if(!continued){
+				nextRemove(0, old);
+				nextAdd(0, newSize);
+			}
+			else if(newSize > oldSize){
+				nextAdd(oldSize, newSize);
+			}
+			else if(newSize < oldSize){
+				nextRemove(newSize, getRows(steps, oldSize, null, newSize));
+			}
+			endChange();
+		}
+
+		/**
+		 * @return a view of rows, which are only read when they are asked for
+		 * @param steps the recorded commands, null if no commands are shown
+		 * @param count the number of commands shown
+		 * @param message the single message shown instead of the commands, null if there is none
+		 * @param from the first row of the view
+		 */
+		private static List<String> getRows(final TraceBuffer steps, final int count, final String message, final int from) {
+			return new AbstractList<String>(){
+				@Override
+				public String get(int index) {
+					return (message != null) ? message : steps.getMessage(from + index);
+				}
+
+				@Override
+				public int size() {
+					return (message != null) ? 1 : ((steps != null) ? count - from : 0);
+				}
+			};
+		}
+	}
+}
@@ -1,223 +1,363 @@
-package interactor;
-
-import gui.DemonstrationWindowController;
-import gui.NodePane;
-
-import java.util.ArrayList;
-import java.util.LinkedList;
-
-import dto.ArgumentDto;
-import exceptions.InvalidInputException;
-import javafx.scene.control.TextArea;
-
-/**
- * Class connecting information transfer between user and program
- * 	as well as between the different UI scenes
- * @author Patrick Bellositz
- */
-public class Interactor {
-	/**
-	 * the only (singleton) instance of the Interactor class
-	 */
-	private static Interactor singleton;
-
-	private TextArea textArea; //the textArea controlled by the Interactor
-	private NodePane graph; //the anchorpane in which the graph is drawn
-	private DemonstrationWindowController controller; //the controller class of the graph and textArea window
-	private LinkedList<Command> storedCommands; //queue storing the commands to be executed (graph/textarea changes)
-	private LinkedList<Command> history; //queue storing previously executed commands
-	private ArrayList<ArgumentDto> rawArguments; //ArgumentDtos stored for further use in an argument Framework
-
-	/**
-	 * creates an interactor, responsible for interaction between logic, input and output
-	 * @param controller the controller containing the textarea and nodepane needed to show
-	 * 		command content (text area messages and graphical changes)
-	 */
-	private Interactor(DemonstrationWindowController controller){
-		this.controller = controller;
-
-		if(controller != null){
-			this.textArea = this.controller.getTextArea();
-			this.graph = this.controller.getGraphPane();
-		}
-
-		storedCommands = new LinkedList<Command>();
-		history = new LinkedList<Command>();
-	}
-
-	/**
-	 * static method responsible for only creating a single Interactor for all objects
-	 * @param controller the controller containing the textarea and nodepane needed to show
-	 * 		command content (text area messages and graphical changes)
-	 * @return the only instance of the Interactor
-	 */
-	public static Interactor getInstance(DemonstrationWindowController controller){
-		if(singleton == null){
-			singleton = new Interactor(controller);
-		}
-		else{ //to be able to get a textarea into the interactor even after it was instantiated
-			singleton.controller = controller;
-			singleton.textArea = controller.getTextArea();
-			singleton.graph = controller.getGraphPane();
-		}
-
-		return singleton;
-	}
-
-	/**
-	 * executes the first stored command effectively overwriting all
-	 * contents of the textArea with a single message
-	 */
-	private void overwrite(){
-		if(!storedCommands.isEmpty()){
-			Command cmd = storedCommands.pollLast();
-			
-			textArea.setText(cmd.getText());
-			manipulateGraph(cmd.getInstruction());
-			scrollDown();
-			
-			history.push(cmd);
-		}
-	}
-
-	/**
-	 * adds the queued message to the textarea's text and 
-	 * changes the graph correspondingly
-	 */
-	public void executeNextCommand(){
-		if(!storedCommands.isEmpty()){
-			if(!textArea.getText().isEmpty()){
-				Command cmd = storedCommands.pollLast();
-				
-				textArea.setText(textArea.getText() + "\n" + cmd.getText());
-				scrollDown();
-				
-				manipulateGraph(cmd.getInstruction());
-				
-				history.push(cmd);
-			}
-			else{
-				overwrite();
-			}
-		}
-	}
-
-	/**
-	 * adds all remaining messages in the queue to the textarea,
-	 * and (effectively) only showing the last instruction in the graph
-	 */
-	public void printAllLines(){
-		while(!storedCommands.isEmpty()){
-			executeNextCommand();
-		}
-		scrollDown();
-	}
-	
-	/**
-	 * executes the last instruction and prints the last line contained in the queue
-	 */
-	public void skipToLastCommand() { //no push to history!
-		if(!storedCommands.isEmpty()){
-			Command cmd = storedCommands.getFirst();
-			
-			textArea.setText(cmd.getText());
-			manipulateGraph(cmd.getInstruction());
-			emptyQueue();
-		}
-		scrollDown();
-	}
-
-	/**
-	 * scrolls the textArea to the bottom
-	 */
-	public void scrollDown(){
-		textArea.setScrollTop(Double.MAX_VALUE);
-		textArea.appendText("");
-	}
-
-	/**
-	 * re-applies the last command before the current command (from history), moves current command on top of queue
-	 */
-	public void revertCommand(){
-		String tmp = textArea.getText();
-
-		if(history.isEmpty()){
-			return;
-		}
-		
-		if(!tmp.isEmpty()){
-			if(tmp.contains("\n")){
-				textArea.setText(tmp.substring(0,tmp.lastIndexOf('\n')));
-				storedCommands.addLast(history.pollFirst());
-				manipulateGraph(history.peekFirst().getInstruction());
-				scrollDown();
-			}
-			else{
-				storedCommands.addLast(history.pollFirst());
-				textArea.setText("");
-			}
-		}
-	}
-
-	/**
-	 * sends the instruction to the NodePane, where it is executed
-	 * @param instruction the instruction to be executed
-	 */
-	public void manipulateGraph(GraphInstruction instruction){
-		try {
-			graph.executeInstruction(instruction);
-		} catch (InvalidInputException e) {
-			emptyQueue();
-			textArea.setText(e.getMessage() + " The graph could not be displayed!");
-		}
-	}
-
-	/**
-	 * adds a command to the end of the queue
-	 * @param command the command added to the end of the queue
-	 */
-	public void addToCommands(Command command){
-		storedCommands.push(command);
-	}
-
-	/**
-	 * deletes all the contents from the queue (and the history)
-	 */
-	public void emptyQueue(){
-		storedCommands = new LinkedList<Command>();
-		history = new LinkedList<Command>();
-	}
-
-	/**
-	 * checks if the queue holds elements
-	 * @return whether there are still elements in the queue
-	 */
-	public boolean hasNext(){
-		return (storedCommands.size()>0);
-	}
-
-	/**
-	 * stores the ArgumentDtos
-	 * @param arguments the ArgumentDtos to be stored
-	 */
-	public void setRawArguments(ArrayList<ArgumentDto> arguments) {
-		rawArguments = new ArrayList<ArgumentDto>();
-		rawArguments.addAll(arguments);
-	}
-
-	/**
-	 * @return the ArgumentDtos stored for further use
-	 */
-	public ArrayList<ArgumentDto> getRawArguments() {
-		return rawArguments;
-	}
-
-	/**
-	 * resets the demonstrationValues and loads the current interactor values
-	 */
-	public void setDemonstrationValues() {
-		if(controller != null){
-			controller.setInitialValues();
-		}
-	}
-}
+package interactor;
+
+import gui.DemonstrationWindowController;
+import gui.LogView;
+import gui.GraphPane;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import dto.ArgumentDto;
+import exceptions.InvalidInputException;
+import javafx.animation.AnimationTimer;
+import logic.FrameworkReader;
+
+/**
+ * Class connecting information transfer between user and program
+ * 	as well as between the different UI scenes
+ * @author Patrick Bellositz
+ */
+public class Interactor {
+	/**
+	 * the only (singleton) instance of the Interactor class
+	 */
+	private static Interactor singleton;
+
+	private LogView log; //the log controlled by the Interactor
+	private GraphPane graph; //the anchorpane in which the graph is drawn
+	private DemonstrationWindowController controller; //the controller class of the graph and log window
+	private TraceBuffer recording; //compact recording of the commands (graph/log changes) taken so far
+	private Set<String> argumentNames; //labels of the arguments of the framework being explained, null if there is none
+	private long frameworkFingerprint; //fingerprint of the framework being explained, 0 if there is none
+	private int position; //number of recorded commands that are currently executed
+	private Trace<?> trace; //trace of the computation being shown, producing its commands on demand
+	private AnimationTimer graphUpdater; //executes the latest instruction once per frame, null until the graph is first changed
+	private GraphInstruction pendingInstruction; //instruction to be executed at the next frame
+	private boolean graphPending; //whether an instruction is waiting for the next frame
+	private ArrayList<ArgumentDto> rawArguments; //ArgumentDtos stored for further use in an argument Framework
+	private FrameworkReader importedFramework; //reader holding the framework read from a file, null if the framework was entered
+
+	/**
+	 * creates an interactor, responsible for interaction between logic, input and output
+	 * @param controller the controller containing the textarea and nodepane needed to show
+	 * 		command content (text area messages and graphical changes)
+	 */
+	private Interactor(DemonstrationWindowController controller){
+		this.controller = controller;
+
+		if(controller != null){
+			this.log = this.controller.getLog();
+			this.graph = this.controller.getGraphPane();
+		}
+
+		recording = new TraceBuffer();
+	}
+
+	/**
+	 * static method responsible for only creating a single Interactor for all objects
+	 * @param controller the controller containing the textarea and nodepane needed to show
+	 * 		command content (text area messages and graphical changes)
+	 * @return the only instance of the Interactor
+	 */
+	public static Interactor getInstance(DemonstrationWindowController controller){
+		if(singleton == null){
+			singleton = new Interactor(controller);
+		}
+		else{ //to be able to get a textarea into the interactor even after it was instantiated
+			singleton.controller = controller;
+			singleton.log = controller.getLog();
+			singleton.graph = controller.getGraphPane();
+		}
+
+		return singleton;
+	}
+
+	/**
+	 * starts a computation whose commands are produced only when they are shown
+	 * @param computation the computation, writing its commands to the interactor
+	 * @return the trace of the computation, holding its result once all commands are shown
+	 */
+	public <T> Trace<T> startTrace(Callable<T> computation){
+		Trace<?> previous = trace;
+
+		emptyQueue();
+
+		Trace<T> started = new Trace<T>(computation);
+		trace = started;
+		started.start(previous); //the new producer waits for the previous one, which may not have noticed its cancellation yet
+
+		return started;
+	}
+
+	/**
+	 * adds the queued message to the log and 
+	 * changes the graph correspondingly
+	 */
+	public void executeNextCommand(){
+		executeCommands(1);
+	}
+
+	/**
+	 * adds all remaining messages in the queue to the log,
+	 * only showing the last instruction in the graph
+	 */
+	public void printAllLines(){
+		executeCommands(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * executes the next commands, taking the ones not recorded yet from the trace,
+	 * but changes the log and the graph only once for all of them
+	 * @param count the number of commands to be executed
+	 * @return the number of commands executed, less than count if the queue ran empty
+	 */
+	public int executeCommands(int count){
+		int target = position;
+
+		while(target - position < count){
+			if(target == recording.size()){
+				if(trace == null || !trace.hasNext()){
+					break;
+				}
+				recording.append(trace.next());
+			}
+			target++;
+		}
+
+		int executed = target - position;
+
+		if(executed > 0){
+			seek(target);
+		}
+		return executed;
+	}
+	
+	/**
+	 * executes the last instruction and prints the last line of the computation
+	 * @details the commands in between are dropped as soon as they are produced
+	 */
+	public void skipToLastCommand() { //the skipped commands are not recorded!
+		Command cmd = (trace != null) ? trace.skipToLast() : null;
+
+		if(cmd == null && position < recording.size()){
+			cmd = recording.get(recording.size()-1);
+		}
+
+		if(cmd != null){
+			log.showMessage(cmd.getText(), false);
+			manipulateGraph(cmd.getInstruction());
+			emptyQueue();
+		}
+		scrollDown();
+	}
+
+	/**
+	 * scrolls the log to the bottom
+	 */
+	public void scrollDown(){
+		log.scrollToEnd();
+	}
+
+	/**
+	 * re-applies the last command before the current command (from the recording), so the current command is the next one again
+	 */
+	public void revertCommand(){
+		if(position > 0){
+			seek(position-1);
+		}
+	}
+
+	/**
+	 * shows the log and graph as they were after a number of recorded commands
+	 * @details the log's rows are the recorded messages, so it only has to be told its new length,
+	 * 			and since every instruction colors the whole graph anew, the graph only needs the
+	 * 			instruction of the last command shown
+	 * @param count the number of commands, between 0 and the number of recorded commands
+	 */
+	public void seek(int count){
+		count = Math.max(0, Math.min(count, recording.size()));
+
+		position = count;
+		log.showSteps(recording, count);
+		manipulateGraph((count > 0) ? recording.get(count-1).getInstruction() : null);
+		scrollDown();
+	}
+
+	/**
+	 * @return the number of recorded commands that are currently executed
+	 */
+	public int getPosition(){
+		return position;
+	}
+
+	/**
+	 * @return the number of commands recorded so far
+	 */
+	public int getRecordedCount(){
+		return recording.size();
+	}
+
+	/**
+	 * sends the instruction to the GraphPane, where it is executed at the next frame
+	 * @details every instruction colors the whole graph anew, so of all instructions sent
+	 * 			during a frame only the last one is executed, once
+	 * @param instruction the instruction to be executed
+	 */
+	public void manipulateGraph(GraphInstruction instruction){
+		pendingInstruction = instruction;
+
+		if(graphPending){
+			return;
+		}
+
+		if(graphUpdater == null){
+			graphUpdater = new AnimationTimer(){
+				@Override
+				public void handle(long now){
+					stop();
+					graphPending = false;
+
+					try {
+						graph.executeInstruction(pendingInstruction);
+					} catch (InvalidInputException e) {
+						emptyQueue();
+						log.showMessage(e.getMessage() + " The graph could not be displayed!", false);
+					}
+				}
+			};
+		}
+
+		graphPending = true;
+		graphUpdater.start();
+	}
+
+	/**
+	 * adds a command to the end of the queue
+	 * @details commands written by the producer of a trace are handed to the trace instead,
+	 * 			which waits until the user has seen enough of the previous ones
+	 * @param command the command added to the end of the queue
+	 */
+	public void addToCommands(Command command){
+		Trace<?> producing = Trace.getProducing();
+
+		if(producing != null){
+			producing.put(command);
+		}
+		else{
+			recording.append(command);
+		}
+	}
+
+	/**
+	 * deletes all the contents from the queue (and the recording) and stops the computation of a running trace
+	 */
+	public void emptyQueue(){
+		if(trace != null){
+			trace.cancel();
+		}
+
+		recording = new TraceBuffer();
+		recording.setNames(argumentNames);
+		recording.setFingerprint(frameworkFingerprint);
+		position = 0;
+	}
+
+	/**
+	 * checks if the queue holds elements
+	 * @return whether there are still elements in the queue
+	 */
+	public boolean hasNext(){
+		return (position < recording.size()) || (trace != null && trace.hasNext());
+	}
+
+	/**
+	 * saves the complete trace of the computation being shown, computing the steps that were not shown yet
+	 * @param file the file the trace is saved to
+	 * @throws IOException if the file could not be written
+	 */
+	public void saveTrace(File file) throws IOException {
+		while(trace != null && trace.hasNext()){
+			recording.append(trace.next());
+		}
+
+		recording.save(file);
+	}
+
+	/**
+	 * opens a saved trace, which is then shown like the trace of a computation
+	 * @param file the file the trace was saved to
+	 * @throws IOException if the file could not be read, is no saved trace or was recorded for another framework
+	 */
+	public void openTrace(File file) throws IOException {
+		TraceBuffer saved = TraceBuffer.open(file);
+
+		if(saved.getFingerprint() != frameworkFingerprint){
+			throw new IOException(file.getName() + " was recorded for a different framework!");
+		}
+
+		if(trace != null){
+			trace.cancel();
+			trace = null;
+		}
+
+		recording = saved;
+		position = 0;
+	}
+
+	/**
+	 * stores the labels of the arguments of the framework being explained, which the recording leaves out of its templates,
+	 * and the fingerprint of the framework, which is saved with the recording and has to match when a trace is opened
+	 * @param names the labels of the arguments
+	 * @param fingerprint the fingerprint of the framework
+	 */
+	public void setFramework(Set<String> names, long fingerprint) {
+		argumentNames = names;
+		frameworkFingerprint = fingerprint;
+		recording.setNames(names);
+		recording.setFingerprint(fingerprint);
+	}
+
+	/**
+	 * stores the ArgumentDtos
+	 * @param arguments the ArgumentDtos to be stored
+	 */
+	public void setRawArguments(ArrayList<ArgumentDto> arguments) {
+		rawArguments = new ArrayList<ArgumentDto>();
+		rawArguments.addAll(arguments);
+		importedFramework = null;
+	}
+
+	/**
+	 * stores a framework read from a file, which is used instead of the ArgumentDtos until they are set again
+	 * @param reader the reader that has read the framework
+	 */
+	public void setImportedFramework(FrameworkReader reader) {
+		importedFramework = reader;
+	}
+
+	/**
+	 * @return the reader holding the framework read from a file, null if the framework was entered
+	 */
+	public FrameworkReader getImportedFramework() {
+		return importedFramework;
+	}
+
+	/**
+	 * @return the ArgumentDtos stored for further use
+	 */
+	public ArrayList<ArgumentDto> getRawArguments() {
+		return rawArguments;
+	}
+
+	/**
+	 * resets the demonstrationValues and loads the current interactor values
+	 */
+	public void setDemonstrationValues() {
+		if(controller != null){
+			controller.setInitialValues();
+		}
+	}
+}
@@ -1,61 +1,73 @@
-package interactor;
-
-import javafx.scene.paint.Color;
-
-/**
- * A single instruction for coloring a single edge or node
- * @author Patrick Bellositz
- */
-public class SingleInstruction {
-
-	private String name; //the name of the edge or node
-	private Color color; //the color to be applied to the object
-	public enum Type {EDGE, NODE, INVALID};
-	private Type type;
-	
-	/**
-	 * Creates a SingleInstruction object, containing name and color of a graph's element
-	 * @param name the name of the element
-	 * @param color the future color of the element in the graph
-	 */
-	public SingleInstruction(String name, Color color){
-		this.name = name;
-		this.color = color;
-		
-		switch(this.name.length()){
-			case 1:
-				type = Type.NODE;
-				break;
-			case 2:
-				type = Type.EDGE;
-				break;
-			default:
-				type = Type.INVALID;
-				break;
-		}
-	}
-	
-	public SingleInstruction(char name, Color color){
-		this.name = String.valueOf(name);
-		this.color = color;
-		type = Type.NODE;
-	}
-	
-	/**
-	 * @return the name of the element
-	 */
-	public String getName(){
-		return name;
-	}
-	
-	/**
-	 * @return the color to be applied to the element
-	 */
-	public Color getColor(){
-		return color;
-	}
-	
-	public Type getType(){
-		return type;
-	}
-}
+package interactor;
+
+import javafx.scene.paint.Color;
+
+/**
+ * A single instruction for coloring a single edge or node
+ * @author Patrick Bellositz
+ */
+public class SingleInstruction {
+
+	private int node; //the id of the node's argument, or of the argument the edge starts at
+	private int target; //the id of the argument the edge ends at, -1 for a node
+	private Color color; //the color to be applied to the object
+	public enum Type {EDGE, NODE};
+	private Type type;
+
+	/**
+	 * Creates a SingleInstruction object for a node, containing its argument and color
+	 * @param node the id of the argument drawn as the node
+	 * @param color the future color of the node in the graph
+	 */
+	public SingleInstruction(int node, Color color){
+		this.node = node;
+		this.target = -1;
+		this.color = color;
+		type = Type.NODE;
+	}
+
+	/**
+	 * Creates a SingleInstruction object for an edge, containing the attack it is drawn for and its color
+	 * @param attacker the id of the attacking argument, where the edge starts
+	 * @param attacked the id of the attacked argument, where the edge ends
+	 * @param color the future color of the edge in the graph
+	 */
+	public SingleInstruction(int attacker, int attacked, Color color){
+		this.node = attacker;
+		this.target = attacked;
+		this.color = color;
+		type = Type.EDGE;
+	}
+
+	/**
+	 * @return the id of the node's argument
+	 */
+	public int getNode(){
+		return node;
+	}
+
+	/**
+	 * @return the id of the argument the edge starts at
+	 */
+	public int getAttacker(){
+		return node;
+	}
+
+	/**
+	 * @return the id of the argument the edge ends at, -1 for a node
+	 */
+	public int getAttacked(){
+		return target;
+	}
+
+	/**
+	 * @return the color to be applied to the element
+	 */
+	public Color getColor(){
+		return color;
+	}
+
+	public Type getType(){
+		return type;
+	}
+}
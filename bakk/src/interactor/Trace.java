@@ -0,0 +1,287 @@
+package interactor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+import exceptions.InvalidInputException;
+
+/**
+ * The explanation of a single computation, produced step by step while it is shown
+ * @details the computation runs on its own producer thread; every command it writes is put into
+ * 			a bounded channel and the producer waits while the channel is full, so the computation
+ * 			only runs as far ahead of the user as the channel allows and never more commands than
+ * 			that are held in memory
+ * @param <T> the type of the computation's result
+ * @author Patrick Bellositz
+ */
+public class Trace<T> implements Runnable {
+
+	/**
+	 * number of commands the producer may compute ahead of the user
+	 */
+	public static final int CAPACITY = 256;
+
+	/**
+	 * marks the end of the trace in the channel
+	 */
+	private static final Command END = new Command(null, null);
+
+	/**
+	 * the trace produced by the current thread, null if the thread is no producer
+	 */
+	private static final ThreadLocal<Trace<?>> producing = new ThreadLocal<Trace<?>>();
+
+	private Callable<T> computation; //the computation explained by the trace
+	private BlockingQueue<Command> channel; //commands produced but not yet taken
+	private Thread producer; //thread running the computation
+	private Trace<?> previous; //trace whose producer has to end before the computation starts, null if there is none
+	private volatile boolean cancelled; //whether the trace is no longer needed
+	private volatile boolean skipping; //whether only the last command is still of interest
+	private volatile Command lastSkipped; //last command produced while skipping
+	private Command lookahead; //command taken from the channel but not yet returned
+	private boolean finished; //whether the end of the trace was taken from the channel
+	private T result; //result of the computation
+	private Throwable failure; //exception or error thrown by the computation, null if there was none
+
+	/**
+	 * creates a trace, which is not produced until it is started
+	 * @param computation the computation to be explained, writing its commands to the interactor
+	 */
+	public Trace(Callable<T> computation) {
+		this.computation = computation;
+		channel = new ArrayBlockingQueue<Command>(CAPACITY);
+	}
+
+	/**
+	 * starts the producer thread
+	 */
+	public void start() {
+		start(null);
+	}
+
+	/**
+	 * starts the producer thread, which waits for the producer of a cancelled trace before the computation starts
+	 * @details the waiting is done by the new producer, so the thread starting the trace is never blocked
+	 * 			by a computation that only notices its cancellation later
+	 * @param previous the trace whose computation may still be changing the same framework, null if there is none
+	 */
+	public void start(Trace<?> previous) {
+		this.previous = previous;
+		producer = new Thread(this, "trace producer");
+		producer.setDaemon(true);
+		producer.start();
+	}
+
+	/**
+	 * runs the computation on the producer thread and marks the end of the trace
+	 */
+	@Override
+	public void run() {
+		producing.set(this);
+
+		try{
+			if(previous != null){ //the framework may only be changed by one computation at a time
+				previous.join();
+				previous = null;
+			}
+
+			checkCancelled(this);
+			result = computation.call();
+		} catch (CancellationException e){
+			//nobody is waiting for the result any more
+		} catch (Throwable e){ //errors as well, the end of the trace is marked anyway
+			failure = e;
+		} finally{
+			producing.remove();
+
+			if(!cancelled){
+				try {
+					channel.put(END);
+				} catch (InterruptedException e) {
+					//only interrupted when cancelled
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the trace produced by the current thread, null if the thread is no producer
+	 */
+	public static Trace<?> getProducing() {
+		return producing.get();
+	}
+
+	/**
+	 * ends a computation whose trace was cancelled, so computations that go a long time
+	 * without writing a command do not run on unnoticed
+	 * @param trace the trace explaining the computation, null if it is not traced
+	 * @throws CancellationException if the trace was cancelled
+	 */
+	public static void checkCancelled(Trace<?> trace) {
+		if(trace != null && trace.cancelled){
+			throw new CancellationException();
+		}
+	}
+
+	/**
+	 * hands a command of the computation to the user, waiting while the channel is full
+	 * @param command the command written by the computation
+	 * @throws CancellationException if the trace was cancelled, which ends the computation
+	 */
+	public void put(Command command) {
+		if(cancelled){
+			throw new CancellationException();
+		}
+
+		if(skipping){
+			lastSkipped = command;
+			return;
+		}
+
+		try {
+			channel.put(command);
+		} catch (InterruptedException e) {
+			throw new CancellationException();
+		}
+	}
+
+	/**
+	 * checks if the trace holds further commands, waiting until the next one is produced
+	 * @return whether there are still commands in the trace
+	 */
+	public boolean hasNext() {
+		if(lookahead == null && !finished){
+			lookahead = take();
+		}
+
+		return lookahead != null;
+	}
+
+	/**
+	 * @return the next command of the trace, null if the trace is finished
+	 */
+	public Command next() {
+		Command next = hasNext() ? lookahead : null;
+
+		lookahead = null;
+		return next;
+	}
+
+	/**
+	 * skips all remaining commands, without holding more than one of them at a time
+	 * @return the last command of the trace, null if no command remains
+	 */
+	public Command skipToLast() {
+		Command last = lookahead;
+
+		lookahead = null;
+		skipping = true;
+
+		for(Command c = take(); c != null; c = take()){
+			last = c;
+		}
+
+		return (lastSkipped != null) ? lastSkipped : last;
+	}
+
+	/**
+	 * stops the computation the next time it writes a command or checks whether it was cancelled
+	 * and drops all commands not taken yet, a finished trace keeps its result
+	 */
+	public void cancel() {
+		if(isFinished()){
+			return;
+		}
+
+		cancelled = true;
+		finished = true;
+		lookahead = null;
+		channel.clear();
+
+		if(producer != null){
+			producer.interrupt();
+		}
+	}
+
+	/**
+	 * waits until the producer thread has ended, so that no two computations change a framework at once
+	 */
+	public void join() {
+		join(0);
+	}
+
+	/**
+	 * waits until the producer thread has ended, but no longer than the given time
+	 * @param millis the longest time waited in milliseconds, 0 to wait until the producer has ended
+	 * @return whether the producer thread has ended
+	 */
+	public boolean join(long millis) {
+		if(producer == null){
+			return true;
+		}
+
+		try {
+			producer.join(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		return !producer.isAlive();
+	}
+
+	/**
+	 * @return whether the end of the trace was reached
+	 */
+	public boolean isFinished() {
+		return finished && lookahead == null;
+	}
+
+	/**
+	 * @return the result of the computation, waiting until all of its commands are taken; never null
+	 * @throws InvalidInputException if the computation was cancelled, failed or returned no result,
+	 * 			an exception or error thrown by the computation is kept as the cause
+	 */
+	public T getResult() throws InvalidInputException {
+		skipToLast();
+
+		if(cancelled){
+			throw new InvalidInputException("The computation was cancelled.");
+		}
+		if(failure instanceof InvalidInputException){
+			throw (InvalidInputException) failure;
+		}
+		if(failure != null){
+			throw new InvalidInputException("The computation failed with " + failure.getClass().getSimpleName() + ".", failure);
+		}
+		if(result == null){
+			throw new InvalidInputException("The computation returned no result.");
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the next command from the channel, null at the end of the trace
+	 */
+	private Command take() {
+		if(finished){
+			return null;
+		}
+
+		try {
+			Command c = channel.take();
+
+			if(c == END){
+				finished = true;
+				return null;
+			}
+			return c;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			finished = true;
+			return null;
+		}
+	}
+}
@@ -0,0 +1,561 @@
+package interactor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Compact recording of the commands of a computation, which can be read back at any step
+ * @details every message is stored as the id of a template, in which every set of arguments
+ * 			("{a, b}") and every other argument name standing as a word (as in "a, b and c") is left out,
+ * 			followed by the ids of the names left out; every node
+ * 			instruction is stored as the id of its argument, every edge instruction as the ids of its
+ * 			two arguments, each followed by the index of its color in a palette.
+ * 			Templates and names share one table of strings, and all ids are written as variable
+ * 			length integers, so a step usually takes a few bytes. The steps are kept outside the
+ * 			heap in a buffer that doubles its size when it is full; a saved trace is mapped into
+ * 			memory when it is opened, so it can be read without loading it first
+ * @author Patrick Bellositz
+ */
+public class TraceBuffer {
+
+	/**
+	 * first bytes of a saved trace ("AFTR")
+	 */
+	private static final int MAGIC = 0x41465452;
+
+	/**
+	 * version of the saved format
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * stands for a set of arguments in a template
+	 */
+	private static final char SET = '\u0000';
+
+	/**
+	 * stands for a single argument name in a template
+	 */
+	private static final char NAME = '\u0001';
+
+	/**
+	 * characters ending a word that may be an argument name
+	 */
+	private static final String DELIMITERS = " ,.;:!?()\n";
+
+	private ArrayList<String> strings; //templates and names, by their ids
+	private HashMap<String, Integer> stringIds; //ids of all strings in the table
+	private ArrayList<Color> palette; //colors, by their indices
+	private HashMap<Color, Integer> paletteIndices; //indices of all colors in the palette
+	private Set<String> names; //labels of the arguments, left out of templates wherever they stand as a word; null if unknown
+	private long fingerprint; //fingerprint of the framework the steps were recorded for, 0 if unknown
+	private ByteBuffer data; //encoded steps, one after another
+	private int[] offsets; //for every step the position of its encoding in data, followed by the end of the last step
+	private IntBuffer savedOffsets; //offsets of a mapped trace, null if the trace is in the heap
+	private int size; //number of steps
+
+	/**
+	 * creates an empty trace
+	 */
+	public TraceBuffer() {
+		strings = new ArrayList<String>();
+		stringIds = new HashMap<String, Integer>();
+		palette = new ArrayList<Color>();
+		paletteIndices = new HashMap<Color, Integer>();
+		data = ByteBuffer.allocateDirect(4096);
+		offsets = new int[64];
+	}
+
+	/**
+	 * sets the labels of the arguments, which are left out of the templates of the messages recorded from now on,
+	 * so messages listing different arguments without braces share their templates as well
+	 * @param names the labels of the framework's arguments, null if they are unknown
+	 */
+	public void setNames(Set<String> names) {
+		this.names = names;
+	}
+
+	/**
+	 * @param fingerprint the fingerprint of the framework the steps are recorded for, saved with the trace
+	 */
+	public void setFingerprint(long fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * @return the fingerprint of the framework the steps were recorded for, 0 if it is unknown
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return the number of recorded steps
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of bytes used by the encoded steps
+	 */
+	public int getByteCount() {
+		return getOffset(size);
+	}
+
+	/**
+	 * records a command as the next step
+	 * @param command the command to be recorded
+	 */
+	public void append(Command command) {
+		if(savedOffsets != null){ //a mapped trace is copied before it is extended
+			loadIntoHeap();
+		}
+
+		writeMessage(command.getText());
+
+		GraphInstruction instruction = command.getInstruction();
+		if(instruction == null){
+			writeNumber(0);
+		}
+		else{
+			writeNumber(1);
+			writeInstructions(instruction.getNodeInstructions());
+			writeInstructions(instruction.getEdgeInstructions());
+		}
+
+		if(size+1 == offsets.length){
+			offsets = Arrays.copyOf(offsets, 2*offsets.length);
+		}
+		offsets[++size] = data.position();
+	}
+
+	/**
+	 * @param step the number of a step, starting with 0
+	 * @return a command equal to the one recorded for the step
+	 */
+	public Command get(int step) {
+		if(step < 0 || step >= size){
+			throw new IndexOutOfBoundsException("There is no step " + step + " in a trace of " + size + " steps!");
+		}
+
+		ByteBuffer reader = data.duplicate();
+		reader.position(getOffset(step));
+
+		String message = readMessage(reader);
+		GraphInstruction instruction = null;
+
+		if(readNumber(reader) == 1){
+			ArrayList<SingleInstruction> nodeInstructions = readInstructions(reader);
+			ArrayList<SingleInstruction> edgeInstructions = readInstructions(reader);
+			instruction = new GraphInstruction(nodeInstructions, edgeInstructions);
+		}
+
+		return new Command(message, instruction);
+	}
+
+	/**
+	 * @param step the number of a step, starting with 0
+	 * @return the message recorded for the step, without reading its instruction
+	 */
+	public String getMessage(int step) {
+		if(step < 0 || step >= size){
+			throw new IndexOutOfBoundsException("There is no step " + step + " in a trace of " + size + " steps!");
+		}
+
+		ByteBuffer reader = data.duplicate();
+		reader.position(getOffset(step));
+
+		return readMessage(reader);
+	}
+
+	/**
+	 * writes the trace to a file
+	 * @param file the file the trace is written to
+	 * @throws IOException if the file could not be written
+	 */
+	public void save(File file) throws IOException {
+		byte[][] encoded = new byte[strings.size()][];
+		int headerLength = 5*4 + 8 + 4*8*palette.size() + 4*(size+1);
+
+		for(int i = 0; i < strings.size(); i++){
+			encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+			headerLength += 4 + encoded[i].length;
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(headerLength);
+		header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint);
+
+		header.putInt(strings.size());
+		for(byte[] s: encoded){
+			header.putInt(s.length).put(s);
+		}
+
+		header.putInt(palette.size());
+		for(Color c: palette){
+			header.putDouble(c.getRed()).putDouble(c.getGreen()).putDouble(c.getBlue()).putDouble(c.getOpacity());
+		}
+
+		header.putInt(size);
+		for(int i = 0; i <= size; i++){
+			header.putInt(getOffset(i));
+		}
+		header.flip();
+
+		ByteBuffer steps = data.duplicate();
+		steps.position(0).limit(getOffset(size));
+
+		try(RandomAccessFile out = new RandomAccessFile(file, "rw"); FileChannel channel = out.getChannel()){
+			channel.truncate(0);
+			while(header.hasRemaining()){
+				channel.write(header);
+			}
+			while(steps.hasRemaining()){
+				channel.write(steps);
+			}
+		}
+	}
+
+	/**
+	 * opens a saved trace by mapping it into memory, so its steps are only read when they are needed
+	 * @param file the file the trace was saved to
+	 * @return the saved trace
+	 * @throws IOException if the file could not be read or is no saved trace
+	 */
+	public static TraceBuffer open(File file) throws IOException {
+		TraceBuffer trace = new TraceBuffer();
+		ByteBuffer mapped;
+
+		try(RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel()){
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try{
+			if(mapped.getInt() != MAGIC){
+				throw new IOException(file.getName() + " is not a saved trace!");
+			}
+
+			if(mapped.getInt() != VERSION){
+				throw new IOException(file.getName() + " was saved in a format that is not supported!");
+			}
+
+			trace.fingerprint = mapped.getLong();
+
+			int stringCount = mapped.getInt();
+			for(int i = 0; i < stringCount; i++){
+				byte[] s = new byte[mapped.getInt()];
+				mapped.get(s);
+				trace.addString(new String(s, StandardCharsets.UTF_8));
+			}
+
+			int colorCount = mapped.getInt();
+			for(int i = 0; i < colorCount; i++){
+				trace.addColor(new Color(mapped.getDouble(), mapped.getDouble(), mapped.getDouble(), mapped.getDouble()));
+			}
+
+			trace.size = mapped.getInt();
+			trace.savedOffsets = mapped.slice().asIntBuffer();
+			trace.savedOffsets.limit(trace.size+1);
+			mapped.position(mapped.position() + 4*(trace.size+1));
+			trace.data = mapped.slice();
+		} catch (RuntimeException e){ //a truncated file runs out of bytes or holds impossible counts
+			throw new IOException(file.getName() + " is not a complete saved trace!", e);
+		}
+
+		return trace;
+	}
+
+	/**
+	 * @param step the number of a step, or the number of steps for the end of the last one
+	 * @return the position of the step's encoding
+	 */
+	private int getOffset(int step) {
+		return (savedOffsets != null) ? savedOffsets.get(step) : offsets[step];
+	}
+
+	/**
+	 * copies a mapped trace into a buffer that can be extended
+	 */
+	private void loadIntoHeap() {
+		int length = getOffset(size);
+		ByteBuffer copy = ByteBuffer.allocateDirect(Math.max(4096, 2*length));
+		ByteBuffer steps = data.duplicate();
+
+		steps.position(0).limit(length);
+		copy.put(steps);
+
+		offsets = new int[Math.max(64, 2*(size+1))];
+		savedOffsets.get(offsets, 0, size+1);
+
+		savedOffsets = null;
+		data = copy;
+	}
+
+	/**
+	 * writes a message as its template and the names left out of it
+	 * @param message the message, may be null
+	 */
+	private void writeMessage(String message) {
+		if(message == null){
+			writeNumber(0);
+			return;
+		}
+
+		StringBuilder template = new StringBuilder();
+		ArrayList<Integer> numbers = new ArrayList<Integer>(); //for every set its size and the ids of its names, for every name its id
+		int from = 0;
+
+		for(int open = message.indexOf('{'); open >= 0; open = message.indexOf('{', from)){
+			int close = message.indexOf('}', open);
+			if(close < 0){
+				break;
+			}
+
+			String literal = message.substring(open, close+1);
+			String[] names = (close == open+1) ? new String[0] : message.substring(open+1, close).split(", ", -1);
+
+			if(!formatSet(names).equals(literal)){ //only sets that are written back exactly the same are left out
+				appendWords(template, message, from, open+1, numbers);
+				from = open+1;
+				continue;
+			}
+
+			appendWords(template, message, from, open, numbers);
+			template.append(SET);
+			numbers.add(names.length);
+			for(String name: names){
+				numbers.add(getStringId(name));
+			}
+			from = close+1;
+		}
+		appendWords(template, message, from, message.length(), numbers);
+
+		writeNumber(getStringId(template.toString()) + 1);
+		for(int number: numbers){
+			writeNumber(number);
+		}
+	}
+
+	/**
+	 * appends a part of a message outside of sets to its template, leaving out the words that are argument names
+	 * @param template the template written so far
+	 * @param message the message
+	 * @param from the position of the part's first character
+	 * @param to the position after the part's last character
+	 * @param numbers the list the ids of the names left out are added to
+	 */
+	private void appendWords(StringBuilder template, String message, int from, int to, ArrayList<Integer> numbers) {
+		if(names == null){
+			template.append(message, from, to);
+			return;
+		}
+
+		int start = from;
+
+		for(int i = from; i <= to; i++){
+			if(i < to && DELIMITERS.indexOf(message.charAt(i)) < 0){
+				continue;
+			}
+
+			String word = message.substring(start, i);
+
+			if(!word.isEmpty() && names.contains(word)){
+				template.append(NAME);
+				numbers.add(getStringId(word));
+			}
+			else{
+				template.append(word);
+			}
+			if(i < to){
+				template.append(message.charAt(i));
+			}
+			start = i+1;
+		}
+	}
+
+	/**
+	 * @param reader a reader positioned at the start of a message
+	 * @return the message, null if the recorded message was null
+	 */
+	private String readMessage(ByteBuffer reader) {
+		int id = readNumber(reader);
+		if(id == 0){
+			return null;
+		}
+
+		String template = strings.get(id-1);
+		StringBuilder message = new StringBuilder(template.length() + 16);
+
+		for(int i = 0; i < template.length(); i++){
+			char c = template.charAt(i);
+
+			if(c == NAME){
+				message.append(strings.get(readNumber(reader)));
+				continue;
+			}
+			if(c != SET){
+				message.append(c);
+				continue;
+			}
+
+			String[] names = new String[readNumber(reader)];
+			for(int n = 0; n < names.length; n++){
+				names[n] = strings.get(readNumber(reader));
+			}
+			message.append(formatSet(names));
+		}
+
+		return message.toString();
+	}
+
+	/**
+	 * @param names the names of a set
+	 * @return the set written like a formatted extension
+	 */
+	private static String formatSet(String[] names) {
+		StringBuilder formatted = new StringBuilder("{");
+
+		for(int i = 0; i < names.length; i++){
+			if(names[i].isEmpty() || names[i].indexOf(SET) >= 0){ //could not be told apart when read
+				return "";
+			}
+			formatted.append((i > 0) ? ", " : "").append(names[i]);
+		}
+
+		return formatted.append('}').toString();
+	}
+
+	/**
+	 * writes the arguments and color indices of a list of instructions
+	 * @param instructions the instructions, may be null
+	 */
+	private void writeInstructions(ArrayList<SingleInstruction> instructions) {
+		if(instructions == null){
+			writeNumber(0);
+			return;
+		}
+
+		writeNumber(instructions.size() + 1);
+		for(SingleInstruction i: instructions){
+			if(i.getType() == SingleInstruction.Type.EDGE){ //the lowest bit tells edges from nodes
+				writeNumber(2*i.getAttacker() + 1);
+				writeNumber(i.getAttacked());
+			}
+			else{
+				writeNumber(2*i.getNode());
+			}
+			writeNumber(getPaletteIndex(i.getColor()));
+		}
+	}
+
+	/**
+	 * @param reader a reader positioned at the start of a list of instructions
+	 * @return the instructions, null if the recorded list was null
+	 */
+	private ArrayList<SingleInstruction> readInstructions(ByteBuffer reader) {
+		int count = readNumber(reader) - 1;
+		if(count < 0){
+			return null;
+		}
+
+		ArrayList<SingleInstruction> instructions = new ArrayList<SingleInstruction>(count);
+		for(int i = 0; i < count; i++){
+			int first = readNumber(reader);
+
+			if((first & 1) == 1){
+				int attacked = readNumber(reader);
+				instructions.add(new SingleInstruction(first >>> 1, attacked, palette.get(readNumber(reader))));
+			}
+			else{
+				instructions.add(new SingleInstruction(first >>> 1, palette.get(readNumber(reader))));
+			}
+		}
+
+		return instructions;
+	}
+
+	/**
+	 * @param s a template or name
+	 * @return the id of the string, which is added to the table if it is new
+	 */
+	private int getStringId(String s) {
+		Integer id = stringIds.get(s);
+		return (id != null) ? id : addString(s);
+	}
+
+	/**
+	 * @param s a string not in the table yet
+	 * @return the id of the added string
+	 */
+	private int addString(String s) {
+		stringIds.put(s, strings.size());
+		strings.add(s);
+		return strings.size()-1;
+	}
+
+	/**
+	 * @param color a color
+	 * @return the index of the color, which is added to the palette if it is new
+	 */
+	private int getPaletteIndex(Color color) {
+		Integer index = paletteIndices.get(color);
+		return (index != null) ? index : addColor(color);
+	}
+
+	/**
+	 * @param color a color not in the palette yet
+	 * @return the index of the added color
+	 */
+	private int addColor(Color color) {
+		paletteIndices.put(color, palette.size());
+		palette.add(color);
+		return palette.size()-1;
+	}
+
+	/**
+	 * writes a non-negative number in 7 bit groups, the highest bit of a byte telling whether another one follows
+	 * @param n the number
+	 */
+	private void writeNumber(int n) {
+		if(data.remaining() < 5){
+			ByteBuffer grown = ByteBuffer.allocateDirect(2*data.capacity());
+			data.flip();
+			grown.put(data);
+			data = grown;
+		}
+
+		while((n & ~0x7F) != 0){
+			data.put((byte) ((n & 0x7F) | 0x80));
+			n >>>= 7;
+		}
+		data.put((byte) n);
+	}
+
+	/**
+	 * @param reader a reader positioned at the start of a number
+	 * @return the number
+	 */
+	private static int readNumber(ByteBuffer reader) {
+		int n = 0;
+
+		for(int shift = 0; ; shift += 7){
+			byte b = reader.get();
+			n |= (b & 0x7F) << shift;
+
+			if(b >= 0){
+				return n;
+			}
+		}
+	}
+}
@@ -1,39 +1,54 @@
-package logic;
-
-public class Argument {
-	private String statement; //statement describing the argument
-	private char name; //arguments the argument attacks
-	
-	public Argument (char name, String statement){
-		this.setName(name);
-		this.setStatement(statement);
-	}
-	
-	/**
-	 * @return statement describing the argument
-	 */
-	public String getStatement() {
-		return statement;
-	}
-
-	/**
-	 * @param statement statement describing the argument
-	 */
-	public void setStatement(String statement) {
-		this.statement = statement;
-	}
-
-	/**
-	 * @return name of the argument
-	 */
-	public char getName() {
-		return name;
-	}
-
-	/**
-	 * @param name name of the argument
-	 */
-	public void setName(char name) {
-		this.name = name;
-	}
-}
+package logic;
+
+public class Argument {
+	private String statement; //statement describing the argument
+	private String label; //name of the argument shown to the user
+	private int id; //dense number of the argument within its framework
+	
+	public Argument (String label, String statement){
+		this.setLabel(label);
+		this.setStatement(statement);
+	}
+	
+	/**
+	 * @return statement describing the argument
+	 */
+	public String getStatement() {
+		return statement;
+	}
+
+	/**
+	 * @param statement statement describing the argument
+	 */
+	public void setStatement(String statement) {
+		this.statement = statement;
+	}
+
+	/**
+	 * @return name of the argument shown to the user
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * @param label name of the argument shown to the user
+	 */
+	public void setLabel(String label) {
+		this.label = label;
+	}
+
+	/**
+	 * @return dense number of the argument within its framework
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * @param id dense number of the argument within its framework
+	 */
+	public void setId(int id) {
+		this.id = id;
+	}
+}
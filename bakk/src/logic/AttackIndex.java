@@ -0,0 +1,157 @@
+package logic;
+
+/**
+ * Immutable compressed sparse row index of the attacks of a framework,
+ * answering "who attacks x" and "whom does x attack" in O(degree)
+ * @details the attackers of the argument with id i are stored in
+ * 			attackers[attackerOffsets[i]] to attackers[attackerOffsets[i+1]-1],
+ * 			incomingAttacks holds the position of the corresponding attack
+ * 			in the framework's attack list (outgoing attacks likewise)
+ * @author Patrick Bellositz
+ */
+public class AttackIndex {
+
+	private int size; //number of arguments
+	private int[] attackerOffsets; //start of every argument's attackers, size+1 entries
+	private int[] attackers; //ids of the attacking arguments, grouped by attacked argument
+	private int[] incomingAttacks; //positions of the attacks in the attack list, parallel to attackers
+	private int[] attackedOffsets; //start of every argument's attacked arguments, size+1 entries
+	private int[] attacked; //ids of the attacked arguments, grouped by attacking argument
+	private int[] outgoingAttacks; //positions of the attacks in the attack list, parallel to attacked
+
+	/**
+	 * creates the index from the attack list of a framework given as id pairs
+	 * @param size the number of arguments (ids range from 0 to size-1)
+	 * @param from the ids of the attacking arguments, one entry per attack
+	 * @param to the ids of the attacked arguments, one entry per attack
+	 * @param count the number of attacks stored in from and to
+	 */
+	public AttackIndex(int size, int[] from, int[] to, int count) {
+		this.size = size;
+
+		attackerOffsets = new int[size+1];
+		attackedOffsets = new int[size+1];
+
+		for(int i = 0; i < count; i++){ //count the degrees
+			attackerOffsets[to[i]+1]++;
+			attackedOffsets[from[i]+1]++;
+		}
+
+		for(int i = 0; i < size; i++){ //prefix sums turn degrees into offsets
+			attackerOffsets[i+1] += attackerOffsets[i];
+			attackedOffsets[i+1] += attackedOffsets[i];
+		}
+
+		attackers = new int[count];
+		incomingAttacks = new int[count];
+		attacked = new int[count];
+		outgoingAttacks = new int[count];
+
+		int[] attackerFill = new int[size];
+		int[] attackedFill = new int[size];
+
+		for(int i = 0; i < count; i++){ //stable, so every row keeps the order of the attack list
+			int in = attackerOffsets[to[i]] + attackerFill[to[i]]++;
+			attackers[in] = from[i];
+			incomingAttacks[in] = i;
+
+			int out = attackedOffsets[from[i]] + attackedFill[from[i]]++;
+			attacked[out] = to[i];
+			outgoingAttacks[out] = i;
+		}
+	}
+
+	/**
+	 * @return the number of arguments
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of attacks
+	 */
+	public int getAttackCount() {
+		return attackers.length;
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the first position of the argument's attackers
+	 */
+	public int getAttackerStart(int id) {
+		return attackerOffsets[id];
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the position after the argument's last attacker
+	 */
+	public int getAttackerEnd(int id) {
+		return attackerOffsets[id+1];
+	}
+
+	/**
+	 * @param position a position between getAttackerStart and getAttackerEnd of an argument
+	 * @return the id of the attacker stored at that position
+	 */
+	public int getAttacker(int position) {
+		return attackers[position];
+	}
+
+	/**
+	 * @param position a position between getAttackerStart and getAttackerEnd of an argument
+	 * @return the position of the corresponding attack in the attack list
+	 */
+	public int getIncomingAttack(int position) {
+		return incomingAttacks[position];
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the first position of the arguments attacked by the argument
+	 */
+	public int getAttackedStart(int id) {
+		return attackedOffsets[id];
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the position after the last argument attacked by the argument
+	 */
+	public int getAttackedEnd(int id) {
+		return attackedOffsets[id+1];
+	}
+
+	/**
+	 * @param position a position between getAttackedStart and getAttackedEnd of an argument
+	 * @return the id of the attacked argument stored at that position
+	 */
+	public int getAttacked(int position) {
+		return attacked[position];
+	}
+
+	/**
+	 * @param position a position between getAttackedStart and getAttackedEnd of an argument
+	 * @return the position of the corresponding attack in the attack list
+	 */
+	public int getOutgoingAttack(int position) {
+		return outgoingAttacks[position];
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the number of attacks on the argument
+	 */
+	public int getAttackerCount(int id) {
+		return attackerOffsets[id+1] - attackerOffsets[id];
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the number of attacks the argument carries out
+	 */
+	public int getAttackedCount(int id) {
+		return attackedOffsets[id+1] - attackedOffsets[id];
+	}
+}
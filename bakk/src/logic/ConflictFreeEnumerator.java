@@ -0,0 +1,222 @@
+package logic;
+
+import interactor.Command;
+import interactor.Trace;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Depth-first search for the conflict-free sets of a framework, which extends a set
+ * one argument at a time and abandons a branch as soon as the set contains an attack
+ * @details arguments are decided from the highest id to the lowest, leaving an argument
+ * 			out before taking it in, so the sets are found in the same order in which all
+ * 			subsets used to be listed; the work done grows with the number of conflict-free sets;
+ * 			with a parallelism above one, the upper levels of the search tree are split into
+ * 			fork/join tasks whose sets and commands are joined in the sequential order
+ * @author Patrick Bellositz
+ */
+public class ConflictFreeEnumerator {
+
+	/**
+	 * number of arguments below a subtree that is no longer split into tasks
+	 */
+	private static final int MINIMUM_TASK_DEPTH = 8;
+
+	private Framework framework; //framework whose conflict-free sets are searched
+	private BitSet[] neighbours; //for every argument the other arguments it attacks or is attacked by
+	private boolean[] selfAttacking; //for every argument whether it attacks itself
+	private boolean write; //whether the search is explained to the interactor
+	private Trace<?> trace; //trace explaining the search, null if it is not traced
+
+	/**
+	 * prepares the search by computing the conflicting arguments of every argument
+	 * @param framework the framework whose conflict-free sets are searched
+	 * @param write whether the found sets and abandoned branches are explained to the interactor
+	 */
+	public ConflictFreeEnumerator(Framework framework, boolean write) {
+		this.framework = framework;
+		this.write = write;
+		this.trace = Trace.getProducing();
+
+		AttackIndex index = framework.getIndex();
+		int size = index.size();
+
+		neighbours = new BitSet[size];
+		selfAttacking = new boolean[size];
+
+		for(int i = 0; i < size; i++){
+			neighbours[i] = new BitSet(size);
+
+			for(int j = index.getAttackedStart(i); j < index.getAttackedEnd(i); j++){
+				neighbours[i].set(index.getAttacked(j));
+			}
+			for(int j = index.getAttackerStart(i); j < index.getAttackerEnd(i); j++){
+				neighbours[i].set(index.getAttacker(j));
+			}
+
+			selfAttacking[i] = neighbours[i].get(i);
+			neighbours[i].clear(i);
+		}
+	}
+
+	/**
+	 * searches all conflict-free sets
+	 * @return the conflict-free sets, ordered like binary numbers of their argument bits
+	 */
+	public ArrayList<Extension> enumerate() {
+		if(write){
+			framework.addToInteractor(new Command("Sets are built by adding one argument at a time. As soon as a set is not conflict-free, "
+					+ "none of the sets containing it are considered any more.", null));
+		}
+
+		int parallelism = framework.getParallelism();
+
+		if(parallelism <= 1){
+			ArrayList<Extension> found = new ArrayList<Extension>();
+			search(neighbours.length-1, new BitSet(neighbours.length), found);
+			return found;
+		}
+
+		int splitDepth = 3; //some tasks per thread, to balance the load
+		while((1 << (splitDepth-3)) < parallelism){
+			splitDepth++;
+		}
+
+		SubtreeTask root = new SubtreeTask(neighbours.length-1, new BitSet(neighbours.length), splitDepth);
+		Framework.getPool(parallelism).invoke(root);
+
+		for(Command c: root.commands){
+			framework.addToInteractor(c);
+		}
+
+		return root.found;
+	}
+
+	/**
+	 * decides the arguments from an id down, leaving every argument out before taking it in
+	 * @details the search is iterative, so its depth is not limited by the stack of the thread: the
+	 * 			set itself is the stack of decided ids, an argument up to top is taken iff its bit is set.
+	 * 			After a set is found, the search backtracks to the lowest argument that was left out,
+	 * 			dropping the taken ones below it, and takes it in, which leaves all arguments below it out.
+	 * 			Sets and commands come in the same order as in a recursive search
+	 * @param top the id of the highest argument to be decided
+	 * @param set the arguments taken so far, none of them below or at top (restored before returning)
+	 * @param found the list the conflict-free sets are added to
+	 */
+	private void search(int top, BitSet set, ArrayList<Extension> found) {
+		while(true){
+			Trace.checkCancelled(trace); //tasks collect their commands, so they are not ended by writing them
+
+			Extension extension = new Extension(set, framework);
+			extension.isConflictFree(write);
+			found.add(extension);
+
+			int id = 0;
+
+			while(true){ //backtrack to the lowest argument that was left out and take it in
+				if(id > top){
+					return;
+				}
+
+				if(set.get(id)){ //both branches are done
+					set.clear(id);
+					id++;
+					continue;
+				}
+
+				set.set(id);
+
+				if(isConflictFreeWith(id, set)){
+					break;
+				}
+
+				if(write){
+					new Extension(set, framework).isConflictFree(true); //explains why this branch is abandoned
+				}
+				set.clear(id);
+				id++;
+			}
+		}
+	}
+
+	/**
+	 * @param id the id of an argument that has just been taken into the set
+	 * @param set the arguments taken so far, including the argument
+	 * @return whether the argument does not conflict with itself or the set
+	 */
+	private boolean isConflictFreeWith(int id, BitSet set) {
+		return !selfAttacking[id] && !neighbours[id].intersects(set);
+	}
+
+	/**
+	 * Fork/join task searching the conflict-free sets below one node of the search tree
+	 * @details the two branches of the node are searched by two new tasks until the split depth
+	 * 			is used up, then the subtree is searched sequentially; the sets and commands of the
+	 * 			left-out branch are placed before the ones of the taken branch
+	 */
+	private class SubtreeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private int id; //the id of the argument to be decided
+		private BitSet set; //the arguments taken so far (owned by this task)
+		private int splitDepth; //number of levels that are still split into tasks
+		private ArrayList<Extension> found; //conflict-free sets found below the node, in order
+		private ArrayList<Command> commands; //commands written below the node, in order
+
+		private SubtreeTask(int id, BitSet set, int splitDepth) {
+			this.id = id;
+			this.set = set;
+			this.splitDepth = splitDepth;
+		}
+
+		@Override
+		protected void compute() {
+			found = new ArrayList<Extension>();
+			commands = new ArrayList<Command>();
+
+			ArrayList<Command> previous = framework.setCommandBuffer(commands);
+
+			try{
+				if(splitDepth == 0 || id < MINIMUM_TASK_DEPTH){
+					search(id, set, found);
+					return;
+				}
+
+				BitSet taken = (BitSet) set.clone();
+				taken.set(id);
+
+				SubtreeTask left = new SubtreeTask(id-1, set, splitDepth-1);
+
+				if(!isConflictFreeWith(id, taken)){
+					left.invoke();
+					append(left);
+
+					if(write){
+						new Extension(taken, framework).isConflictFree(true); //explains why this branch is abandoned
+					}
+					return;
+				}
+
+				SubtreeTask right = new SubtreeTask(id-1, taken, splitDepth-1);
+
+				invokeAll(left, right);
+				append(left);
+				append(right);
+			}
+			finally{
+				framework.setCommandBuffer(previous);
+			}
+		}
+
+		/**
+		 * @param child a finished task whose sets and commands follow the ones collected so far
+		 */
+		private void append(SubtreeTask child) {
+			found.addAll(child.found);
+			commands.addAll(child.commands);
+		}
+	}
+}
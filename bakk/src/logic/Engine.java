@@ -0,0 +1,27 @@
+package logic;
+
+/**
+ * The ways in which a Framework can compute its extensions
+ * @author Patrick Bellositz
+ */
+public enum Engine {
+	/**
+	 * filtering conflict-free sets and admissible extensions step by step
+	 */
+	ENUMERATION,
+
+	/**
+	 * searching complete, preferred and stable labellings directly
+	 */
+	LABELLING,
+
+	/**
+	 * solving clauses that encode complete labellings and stable extensions
+	 */
+	SAT,
+
+	/**
+	 * labelling one strongly connected component after another, given the labels of the components attacking it
+	 */
+	SCC
+}
@@ -1,313 +1,455 @@
-package logic;
-
-import interactor.Command;
-import interactor.GraphInstruction;
-import interactor.SingleInstruction;
-
-import java.util.ArrayList;
-
-import javafx.scene.paint.Color;
-
-public class Extension {
-
-	private ArrayList<Argument> arguments; //arguments of extension
-	private Framework framework; //framework from which the extension is derived
-	private ArrayList<Attack> outgoingAttacks;
-	private ArrayList<Argument> extensionAttacks;
-	private ArrayList<Attack> incomingAttacks;
-	private boolean cf, adm;
-
-	public Extension(ArrayList<Argument> arguments, Framework framework) {
-		this.arguments = new ArrayList<Argument>();
-		this.framework = framework;
-		this.arguments.addAll(arguments);
-
-		outgoingAttacks = new ArrayList<Attack>();
-		extensionAttacks = new ArrayList<Argument>();
-		incomingAttacks = new ArrayList<Attack>();
-		readAttacks(framework.getAttacks());
-	}
-
-	private void readAttacks(ArrayList<Attack> attacks) {
-		for(Attack a: attacks){
-			Argument attacker = a.getAttacker();
-			Argument attacked = a.getAttacked();
-
-			if(arguments.contains(a.getAttacked())){
-				incomingAttacks.add(a);
-			}
-			if(arguments.contains(attacker)){
-				outgoingAttacks.add(a);
-				if(!extensionAttacks.contains(attacker)){
-					extensionAttacks.add(attacked);
-				}
-			}
-		}
-	}
-
-	public boolean isConflictFree(boolean write) {
-		ArrayList<Attack> violatingAttacks = new ArrayList<Attack>();
-
-		for(Attack a: framework.getAttacks()){
-			if(arguments.contains(a.getAttacker()) && arguments.contains(a.getAttacked())){
-				violatingAttacks.add(a);
-			}
-		}
-
-		if(!violatingAttacks.isEmpty()){
-			if(write){
-				String tmp = "";
-				GraphInstruction instruction = toInstruction(Color.GREEN);
-				ArrayList<SingleInstruction> edgeInstructions = new ArrayList<SingleInstruction>();
-
-				for(Attack a: violatingAttacks){
-					String attacked = "" + a.getAttacked().getName();
-					if(!tmp.contains(attacked)){ //multiple arguments could attack the same one
-						tmp += attacked;
-					}
-					edgeInstructions.add(new SingleInstruction((a.getAttacker().getName()+attacked),Color.RED));
-				}
-
-				tmp = framework.formatNameList(tmp);
-				instruction.setEdgeInstructions(edgeInstructions);
-
-				framework.addToInteractor(new Command(this.format() + " attacks the arguments " + tmp + "; thus it is not a conflict-free set!", instruction));
-			}
-			return false;
-		}
-
-		if(write){
-			framework.addToInteractor(new Command(this.format() + " is a conflict-free set, because it does not attack its own arguments", toInstruction(Color.GREEN)));
-		}
-		cf = true;
-		return true;
-	}
-
-	public boolean isAdmissible(boolean write) {
-		ArrayList<Attack> defeated = new ArrayList<Attack>();
-		ArrayList<Attack> undefeated = new ArrayList<Attack>();
-		GraphInstruction highlight = toInstruction(Color.GREEN);
-		//ArrayList<SingleInstruction> defenceInstructions = new ArrayList<SingleInstruction>();
-		ArrayList<SingleInstruction> attackerInstructions = new ArrayList<SingleInstruction>();
-		ArrayList<SingleInstruction> undefeatedInstructions = new ArrayList<SingleInstruction>();
-
-		if(!cf){
-			framework.addToInteractor(new Command(format() + "is not conflict-free, so it can't be admissible.",null));
-			return false;
-		}
-
-		for(Attack inc: incomingAttacks){			
-			if(extensionAttacks.contains(inc.getAttacker())){
-				defeated.add(inc);
-				/*for(Attack out: outgoingAttacks){
-					if(inc.equals(out.getAttacked())){
-						defenceInstructions.add(new SingleInstruction(""+out.getAttacker().getName()+
-								out.getAttacked().getName(),Color.GREEN));
-					}
-				}*/
-			}
-			else{
-				undefeated.add(inc);
-				attackerInstructions.add(new SingleInstruction(inc.getAttacker().getName(),Color.RED));
-				undefeatedInstructions.add(new SingleInstruction("" + inc.getAttacker().getName() +
-						inc.getAttacked().getName(),Color.RED));
-			}
-		}
-
-		highlight.setEdgeInstructions(undefeatedInstructions);
-		highlight.getNodeInstructions().addAll(attackerInstructions);
-
-		if(undefeated.isEmpty()){
-			if(write){
-				framework.addToInteractor(new Command(format() + " defends all its arguments, so it is an admissible extension.", highlight));
-			}
-			adm = true;
-			return true;
-		}
-		else{
-			if(write){
-				framework.addToInteractor(new Command(format() + " does not defend against " + framework.formatAttackList(undefeated,1) + ", so it is not an admissible extension.", highlight));
-			}
-			return false;
-		}
-	}
-
-	public boolean isPreferred(ArrayList<Extension> admissible) {
-		if(!adm){
-			framework.addToInteractor(new Command(format() + "is not admissible, so it can't be preferred.",null));
-			return false;
-		}
-
-		for(Extension e: admissible){
-			if(e.equals(this)){
-				continue;
-			}
-			else if(isSubsetOf(e)){
-				String format = format();
-				GraphInstruction instruction = e.toInstruction(Color.GREEN);
-
-				for(Argument a: e.getArguments()){
-					if(!getArguments().contains(a)){
-						instruction.getNodeInstructions().add(new SingleInstruction(""+a.getName(),Color.BLUE));
-					}
-				}
-
-				framework.addToInteractor(new Command("Since " + format + " is a subset of " + e.format() + ", " + format + " is not preferred.", instruction));
-				return false;
-			}
-		}
-
-		framework.addToInteractor(new Command(format() + " is not the subset of another admissible extension, so it is a preferred extension.", toInstruction(Color.GREEN)));
-		return true;
-	}
-
-	private boolean isSubsetOf(Extension e) {
-		ArrayList<Argument> extArg = e.getArguments();
-
-		for(Argument a: arguments){
-			if(!extArg.contains(a)){
-				return false;
-			}
-		}
-
-		return true;
-	}
-
-	public boolean isStable(){
-		ArrayList<Argument> outside = new ArrayList<Argument>();
-		ArrayList<Argument> unattacked = new ArrayList<Argument>();
-		GraphInstruction highlight = toInstruction(Color.GREEN);
-
-		if(!cf){
-			framework.addToInteractor(new Command(format() + "is not conflict-free, so it can't be stable.",null));
-			return false;
-		}
-
-		outside.addAll(framework.getArguments());
-		outside.removeAll(arguments);
-
-		for(Argument a: outside){
-			if(!extensionAttacks.contains(a)){
-				unattacked.add(a);
-				highlight.getNodeInstructions().add(new SingleInstruction(""+a.getName(),Color.RED));
-			}
-		}
-
-		if(unattacked.isEmpty()){
-			framework.addToInteractor(new Command(format() + " attacks every argument outside itself, so it is a stable extension.", highlight));
-			return true;
-		}
-		else{
-			framework.addToInteractor(new Command(format() + " is not a stable extension because it doesn't attack " + framework.formatArgumentList(unattacked) + ".", highlight));
-			return false;
-		}
-	}
-
-	public boolean isComplete(boolean write){
-		ArrayList<Argument> outside = new ArrayList<Argument>();
-		ArrayList<Argument> uselessDefences = new ArrayList<Argument>();
-		GraphInstruction highlight = toInstruction(Color.GREEN);
-		ArrayList<SingleInstruction> nodeIns = new ArrayList<SingleInstruction>();
-		ArrayList<SingleInstruction> edgeIns = new ArrayList<SingleInstruction>();
-
-		if(!adm){
-			framework.addToInteractor(new Command(format() + "is not admissible, so it can't be complete.",null));
-			return false;
-		}
-
-		outside.addAll(framework.getArguments());
-		outside.removeAll(arguments);
-
-		for(Argument a: outside){
-			ArrayList<SingleInstruction> tmpNodeIns = new ArrayList<SingleInstruction>();
-			ArrayList<SingleInstruction> tmpEdgeIns = new ArrayList<SingleInstruction>();
-
-			if(!extensionAttacks.contains(a)){ //if extension doesn't attack it it needs to be checked if its defended
-				ArrayList<Argument> argAttackers = new ArrayList<Argument>();
-
-				for(Attack att: framework.getAttacks()){ //get arguments attacking the outside argument
-					if(att.getAttacked().equals(a)){
-						argAttackers.add(att.getAttacker());
-					}
-				}
-
-				int defenses = 0;
-				for(Argument att: argAttackers){
-					if(extensionAttacks.contains(att)){
-						defenses++;
-						tmpNodeIns.add(new SingleInstruction(""+att.getName(),Color.RED));
-						tmpEdgeIns.add(new SingleInstruction(""+att.getName()+a.getName(),Color.RED));
-						for(Attack o: outgoingAttacks){ //highlights all attacks on the attacker the argument was defended from
-							if(o.getAttacked().equals(att)){
-								tmpEdgeIns.add(new SingleInstruction(""+o.getAttacker().getName()+att.getName(),Color.GREEN));
-							}
-						}
-					}
-				}
-
-				if(defenses == argAttackers.size()){
-					uselessDefences.add(a);
-					highlight.getNodeInstructions().add(new SingleInstruction(""+a.getName(),Color.BLUE));
-					nodeIns.addAll(tmpNodeIns);
-					edgeIns.addAll(tmpEdgeIns);
-				}
-			}
-		}
-
-		if(uselessDefences.isEmpty()){
-			if(write){
-				framework.addToInteractor(new Command(format() + " contains all the arguments it defends and therefore is a complete extension.", highlight));
-			}
-
-			return true;
-		}
-		else{
-			if(write){
-				highlight.getNodeInstructions().addAll(nodeIns);
-
-				if(highlight.getEdgeInstructions() != null){
-					highlight.getEdgeInstructions().addAll(edgeIns);
-				}
-				else{
-					highlight.setEdgeInstructions(edgeIns);
-				}
-
-				framework.addToInteractor(new Command(format() + " defends the argument(s) " + framework.formatArgumentList(uselessDefences) + ", which it does not contain. " + format() + " is not a complete extension.", highlight));
-			}
-
-			return false;
-		}
-	}
-
-	public GraphInstruction toInstruction(Color color) {
-		ArrayList<SingleInstruction> nodeInstructions = new ArrayList<SingleInstruction>();
-
-		for(Argument a: arguments){
-			String argName = String.valueOf(a.getName());
-			nodeInstructions.add(new SingleInstruction(argName, color));
-		}
-
-		return new GraphInstruction(nodeInstructions, null);
-	}
-
-	public String format() {
-		String formatted = "{";
-
-		for(Argument a: arguments){
-			formatted += a.getName() + ", ";
-		}
-
-		if(formatted.length() > 1){
-			formatted = formatted.substring(0,formatted.length()-2);
-		}
-
-		formatted += "}";
-
-		return formatted;
-	}
-
-	public ArrayList<Argument> getArguments() {
-		return arguments;
-	}
-
-}
+package logic;
+
+import interactor.Command;
+import interactor.GraphInstruction;
+import interactor.SingleInstruction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import javafx.scene.paint.Color;
+
+public class Extension {
+
+	private ArrayList<Argument> arguments; //arguments of extension, listed on demand for extensions created from a bitset
+	private Framework framework; //framework from which the extension is derived
+	private ArrayList<Attack> outgoingAttacks; //attacks carried out by the extension, read on demand
+	private ArrayList<Attack> incomingAttacks; //attacks on the extension, read on demand
+	private BitSet members; //the extension's arguments, one bit per argument id
+	private BitSet range; //arguments attacked by the extension
+	private BitSet attackers; //arguments attacking the extension
+	private boolean cf, adm;
+
+	public Extension(ArrayList<Argument> arguments, Framework framework) {
+		this.arguments = new ArrayList<Argument>();
+		this.framework = framework;
+		this.arguments.addAll(arguments);
+
+		members = new BitSet(framework.getArguments().size());
+		for(Argument a: arguments){
+			members.set(a.getId());
+		}
+
+		readAttacks(framework.getIndex());
+	}
+
+	/**
+	 * creates an extension from a bitset of argument ids
+	 * @param members the ids of the extension's arguments (copied)
+	 * @param framework the framework from which the extension is derived
+	 */
+	public Extension(BitSet members, Framework framework) {
+		this.framework = framework;
+		this.members = (BitSet) members.clone();
+
+		readAttacks(framework.getIndex());
+	}
+
+	/**
+	 * computes range and attackers of the extension from the rows of its arguments in the attack index
+	 * @param index the adjacency index of the framework
+	 */
+	private void readAttacks(AttackIndex index) {
+		range = new BitSet(members.size());
+		attackers = new BitSet(members.size());
+
+		for(int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i+1)){
+			for(int j = index.getAttackedStart(i); j < index.getAttackedEnd(i); j++){
+				range.set(index.getAttacked(j));
+			}
+			for(int j = index.getAttackerStart(i); j < index.getAttackerEnd(i); j++){
+				attackers.set(index.getAttacker(j));
+			}
+		}
+	}
+
+	/**
+	 * @return the attacks carried out by arguments of the extension, in the order of the framework's attack list
+	 */
+	private ArrayList<Attack> getOutgoingAttacks() {
+		if(outgoingAttacks == null){
+			outgoingAttacks = collectAttacks(true);
+		}
+		return outgoingAttacks;
+	}
+
+	/**
+	 * @return the attacks on arguments of the extension, in the order of the framework's attack list
+	 */
+	private ArrayList<Attack> getIncomingAttacks() {
+		if(incomingAttacks == null){
+			incomingAttacks = collectAttacks(false);
+		}
+		return incomingAttacks;
+	}
+
+	/**
+	 * gathers the attacks leaving or entering the extension from the attack index
+	 * @param outgoing whether to gather the attacks carried out by the extension (else the ones on it)
+	 * @return the attacks, in the order of the framework's attack list
+	 */
+	private ArrayList<Attack> collectAttacks(boolean outgoing) {
+		AttackIndex index = framework.getIndex();
+		int count = 0;
+
+		for(int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i+1)){
+			count += outgoing ? index.getAttackedCount(i) : index.getAttackerCount(i);
+		}
+
+		int[] positions = new int[count];
+		count = 0;
+
+		for(int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i+1)){
+			if(outgoing){
+				for(int j = index.getAttackedStart(i); j < index.getAttackedEnd(i); j++){
+					positions[count++] = index.getOutgoingAttack(j);
+				}
+			}
+			else{
+				for(int j = index.getAttackerStart(i); j < index.getAttackerEnd(i); j++){
+					positions[count++] = index.getIncomingAttack(j);
+				}
+			}
+		}
+
+		Arrays.sort(positions);
+
+		ArrayList<Attack> attacks = framework.getAttacks();
+		ArrayList<Attack> collected = new ArrayList<Attack>(count);
+		for(int p: positions){
+			collected.add(attacks.get(p));
+		}
+
+		return collected;
+	}
+
+	public boolean isConflictFree(boolean write) {
+		if(members.intersects(range)){
+			if(write){
+				ArrayList<Attack> violatingAttacks = new ArrayList<Attack>();
+
+				for(Attack a: getOutgoingAttacks()){
+					if(members.get(a.getAttacked().getId())){
+						violatingAttacks.add(a);
+					}
+				}
+
+				ArrayList<Argument> attacked = new ArrayList<Argument>();
+				GraphInstruction instruction = toInstruction(Color.GREEN);
+				ArrayList<SingleInstruction> edgeInstructions = new ArrayList<SingleInstruction>();
+
+				for(Attack a: violatingAttacks){
+					if(!attacked.contains(a.getAttacked())){ //multiple arguments could attack the same one
+						attacked.add(a.getAttacked());
+					}
+					edgeInstructions.add(new SingleInstruction(a.getAttacker().getId(),a.getAttacked().getId(),Color.RED));
+				}
+
+				instruction.setEdgeInstructions(edgeInstructions);
+
+				framework.addToInteractor(new Command(this.format() + " attacks the arguments " + framework.formatArgumentList(attacked) + "; thus it is not a conflict-free set!", instruction));
+			}
+			return false;
+		}
+
+		if(write){
+			framework.addToInteractor(new Command(this.format() + " is a conflict-free set, because it does not attack its own arguments", toInstruction(Color.GREEN)));
+		}
+		cf = true;
+		return true;
+	}
+
+	public boolean isAdmissible(boolean write) {
+		if(!write){ //attacked by every attacker of the extension, tested without building explanations
+			adm = cf && isSubsetOf(attackers, range);
+			return adm;
+		}
+
+		ArrayList<Attack> defeated = new ArrayList<Attack>();
+		ArrayList<Attack> undefeated = new ArrayList<Attack>();
+		GraphInstruction highlight = toInstruction(Color.GREEN);
+		//ArrayList<SingleInstruction> defenceInstructions = new ArrayList<SingleInstruction>();
+		ArrayList<SingleInstruction> attackerInstructions = new ArrayList<SingleInstruction>();
+		ArrayList<SingleInstruction> undefeatedInstructions = new ArrayList<SingleInstruction>();
+
+		if(!cf){
+			framework.addToInteractor(new Command(format() + "is not conflict-free, so it can't be admissible.",null));
+			return false;
+		}
+
+		for(Attack inc: getIncomingAttacks()){			
+			if(range.get(inc.getAttacker().getId())){
+				defeated.add(inc);
+				/*for(Attack out: outgoingAttacks){
+					if(inc.equals(out.getAttacked())){
+						defenceInstructions.add(new SingleInstruction(out.getAttacker().getId(),
+								out.getAttacked().getId(),Color.GREEN));
+					}
+				}*/
+			}
+			else{
+				undefeated.add(inc);
+				attackerInstructions.add(new SingleInstruction(inc.getAttacker().getId(),Color.RED));
+				undefeatedInstructions.add(new SingleInstruction(inc.getAttacker().getId(),
+						inc.getAttacked().getId(),Color.RED));
+			}
+		}
+
+		highlight.setEdgeInstructions(undefeatedInstructions);
+		highlight.getNodeInstructions().addAll(attackerInstructions);
+
+		if(undefeated.isEmpty()){
+			if(write){
+				framework.addToInteractor(new Command(format() + " defends all its arguments, so it is an admissible extension.", highlight));
+			}
+			adm = true;
+			return true;
+		}
+		else{
+			if(write){
+				framework.addToInteractor(new Command(format() + " does not defend against " + framework.formatAttackList(undefeated,1) + ", so it is not an admissible extension.", highlight));
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * explains whether the extension is preferred, given an admissible extension containing it
+	 * @param superset an admissible extension strictly containing this one, null if there is none
+	 * @param write whether the result is explained to the interactor
+	 * @return whether the extension is preferred
+	 */
+	public boolean isPreferred(Extension superset, boolean write) {
+		if(!write){
+			return adm && superset == null;
+		}
+
+		if(!adm){
+			framework.addToInteractor(new Command(format() + "is not admissible, so it can't be preferred.",null));
+			return false;
+		}
+
+		if(superset != null){
+			String format = format();
+			GraphInstruction instruction = superset.toInstruction(Color.GREEN);
+
+			for(Argument a: superset.getArguments()){
+				if(!getArguments().contains(a)){
+					instruction.getNodeInstructions().add(new SingleInstruction(a.getId(),Color.BLUE));
+				}
+			}
+
+			framework.addToInteractor(new Command("Since " + format + " is a subset of " + superset.format() + ", " + format + " is not preferred.", instruction));
+			return false;
+		}
+
+		framework.addToInteractor(new Command(format() + " is not the subset of another admissible extension, so it is a preferred extension.", toInstruction(Color.GREEN)));
+		return true;
+	}
+
+	public boolean isStable(boolean write){
+		if(!write){ //every argument is in the extension or attacked by it
+			if(!cf){
+				return false;
+			}
+
+			for(int i = 0; i < framework.getArguments().size(); i++){
+				if(!members.get(i) && !range.get(i)){
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		ArrayList<Argument> unattacked = new ArrayList<Argument>();
+		GraphInstruction highlight = toInstruction(Color.GREEN);
+
+		if(!cf){
+			framework.addToInteractor(new Command(format() + "is not conflict-free, so it can't be stable.",null));
+			return false;
+		}
+
+		for(Argument a: framework.getArguments()){
+			int i = a.getId();
+			if(!members.get(i) && !range.get(i)){ //outside the extension and not attacked by it
+				unattacked.add(a);
+				highlight.getNodeInstructions().add(new SingleInstruction(a.getId(),Color.RED));
+			}
+		}
+
+		if(unattacked.isEmpty()){
+			framework.addToInteractor(new Command(format() + " attacks every argument outside itself, so it is a stable extension.", highlight));
+			return true;
+		}
+		else{
+			framework.addToInteractor(new Command(format() + " is not a stable extension because it doesn't attack " + framework.formatArgumentList(unattacked) + ".", highlight));
+			return false;
+		}
+	}
+
+	public boolean isComplete(boolean write){
+		if(!write){ //no argument outside the extension and its range is defended by it
+			if(!adm){
+				return false;
+			}
+
+			for(int i = 0; i < framework.getArguments().size(); i++){
+				if(!members.get(i) && !range.get(i) && isDefended(i)){
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		ArrayList<Argument> outside = new ArrayList<Argument>();
+		ArrayList<Argument> uselessDefences = new ArrayList<Argument>();
+		GraphInstruction highlight = toInstruction(Color.GREEN);
+		ArrayList<SingleInstruction> nodeIns = new ArrayList<SingleInstruction>();
+		ArrayList<SingleInstruction> edgeIns = new ArrayList<SingleInstruction>();
+
+		if(!adm){
+			framework.addToInteractor(new Command(format() + "is not admissible, so it can't be complete.",null));
+			return false;
+		}
+
+		for(Argument a: framework.getArguments()){
+			int i = a.getId();
+			if(!members.get(i) && !range.get(i)){ //if extension doesn't attack it it needs to be checked if its defended
+				outside.add(a);
+			}
+		}
+
+		AttackIndex index = framework.getIndex();
+
+		for(Argument a: outside){
+			if(isDefended(a.getId())){
+				uselessDefences.add(a);
+				highlight.getNodeInstructions().add(new SingleInstruction(a.getId(),Color.BLUE));
+
+				for(int j = index.getAttackerStart(a.getId()); j < index.getAttackerEnd(a.getId()); j++){
+					int att = index.getAttacker(j);
+					nodeIns.add(new SingleInstruction(att,Color.RED));
+					edgeIns.add(new SingleInstruction(att,a.getId(),Color.RED));
+					for(int k = index.getAttackerStart(att); k < index.getAttackerEnd(att); k++){ //highlights all attacks on the attacker the argument was defended from
+						int o = index.getAttacker(k);
+						if(members.get(o)){
+							edgeIns.add(new SingleInstruction(o,att,Color.GREEN));
+						}
+					}
+				}
+			}
+		}
+
+		if(uselessDefences.isEmpty()){
+			if(write){
+				framework.addToInteractor(new Command(format() + " contains all the arguments it defends and therefore is a complete extension.", highlight));
+			}
+
+			return true;
+		}
+		else{
+			if(write){
+				highlight.getNodeInstructions().addAll(nodeIns);
+
+				if(highlight.getEdgeInstructions() != null){
+					highlight.getEdgeInstructions().addAll(edgeIns);
+				}
+				else{
+					highlight.setEdgeInstructions(edgeIns);
+				}
+
+				framework.addToInteractor(new Command(format() + " defends the argument(s) " + framework.formatArgumentList(uselessDefences) + ", which it does not contain. " + format() + " is not a complete extension.", highlight));
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * @param a a set of ids
+	 * @param b another set of ids
+	 * @return whether a is a subset of b
+	 */
+	private static boolean isSubsetOf(BitSet a, BitSet b) {
+		for(int i = a.nextSetBit(0); i >= 0; i = a.nextSetBit(i+1)){
+			if(!b.get(i)){
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * checks if the extension attacks every attacker of an argument
+	 * @param id the id of the argument
+	 * @return whether the extension defends the argument
+	 */
+	private boolean isDefended(int id) {
+		AttackIndex index = framework.getIndex();
+
+		for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+			if(!range.get(index.getAttacker(i))){
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public GraphInstruction toInstruction(Color color) {
+		ArrayList<SingleInstruction> nodeInstructions = new ArrayList<SingleInstruction>();
+
+		for(int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i+1)){
+			nodeInstructions.add(new SingleInstruction(i, color));
+		}
+
+		return new GraphInstruction(nodeInstructions, null);
+	}
+
+	public String format() {
+		String formatted = "{";
+
+		for(Argument a: getArguments()){
+			formatted += a.getLabel() + ", ";
+		}
+
+		if(formatted.length() > 1){
+			formatted = formatted.substring(0,formatted.length()-2);
+		}
+
+		formatted += "}";
+
+		return formatted;
+	}
+
+	public synchronized ArrayList<Argument> getArguments() {
+		if(arguments == null){
+			arguments = new ArrayList<Argument>(members.cardinality());
+
+			for(int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i+1)){
+				arguments.add(framework.getArgument(i));
+			}
+		}
+
+		return arguments;
+	}
+
+	/**
+	 * @return the ids of the extension's arguments (must not be modified)
+	 */
+	public BitSet getMembers() {
+		return members;
+	}
+
+	/**
+	 * @return the ids of the arguments attacked by the extension (must not be modified)
+	 */
+	public BitSet getRange() {
+		return range;
+	}
+
+}
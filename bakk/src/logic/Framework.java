@@ -1,484 +1,1049 @@
-package logic;
-
-import interactor.Command;
-import interactor.GraphInstruction;
-import interactor.Interactor;
-import interactor.SingleInstruction;
-
-import java.util.ArrayList;
-
-import exceptions.InvalidInputException;
-import javafx.scene.paint.Color;
-
-public class Framework {
-
-	private ArrayList<Argument> arguments;
-	private ArrayList<Attack> attacks;
-	private Interactor interactor;
-	private ArrayList<Extension> previousConflictFreeSets; //a stored, previously computed set of conflict-free sets
-	private ArrayList<Extension> previousAdmissibleExtensions; //a stored, previously computed set of admissible extensions
-	private ArrayList<Extension> previousCompleteExtensions; //a stored, previously computed set of complete extensions
-	private String notification;
-	
-	public Framework(ArrayList<Argument> arguments, ArrayList<Attack> attacks, Interactor interactor) {
-		this.arguments = arguments;
-		this.attacks = attacks;
-		this.interactor = interactor;
-	}
-
-	public ArrayList<Extension> getConflictFreeSets() {
-		ArrayList<Extension> conflictFreeSets = new ArrayList<Extension>();
-		ArrayList<ArrayList<Argument>> powerset;
-
-		if(arguments == null){
-			//should not be possible
-			interactor.addToCommands(new Command("No arguments found, error!", null));
-			return null;
-		}
-
-		interactor.addToCommands(new Command("Computing conflict-free sets!", null));
-
-		powerset = getAllSubsets(arguments);
-
-		for(ArrayList<Argument> set: powerset){
-			Extension tmp = new Extension(set, this);
-			if(tmp.isConflictFree(true)){
-				conflictFreeSets.add(tmp);
-			}
-		}
-
-		interactor.addToCommands(new Command("The conflict-free sets are: " + formatExtensions(conflictFreeSets), null));
-
-		previousConflictFreeSets = new ArrayList<Extension>();
-		previousConflictFreeSets.addAll(conflictFreeSets);
-
-		return conflictFreeSets;
-	}
-	
-	private ArrayList<ArrayList<Argument>> getAllSubsets(ArrayList<Argument> set){
-		ArrayList<ArrayList<Argument>> powerSet = new ArrayList<ArrayList<Argument>>();
-		int elements = set.size();
-
-		for(int i = 0; i < Math.pow(2, elements); i++){ //there are 2^n subsets
-			ArrayList<Argument> subset = new ArrayList<Argument>();
-			for(int j = 0; j < elements; j++){
-				if(((i>>j) & 1) == 1){ //checking every bit (at point of checking least significant bit of shifting result)
-					subset.add(set.get(j));
-				}
-			}
-			powerSet.add(subset);
-		}
-
-		return powerSet;
-	}
-	
-	private String formatExtensions(ArrayList<Extension> extensions) {
-		String formatted = "";
-
-		for(Extension e: extensions){
-			formatted += e.format() + ", ";
-		}
-
-		if(formatted.length() > 1){
-			formatted = formatted.substring(0,formatted.length()-2);
-		}
-
-		return formatted;
-	}
-
-	public ArrayList<Extension> getAdmissibleExtensions(boolean usePrevious) {
-		ArrayList<Extension> cf;
-		ArrayList<Extension> admissible = new ArrayList<Extension>();
-
-		if(!usePrevious || (previousConflictFreeSets == null)){
-			interactor.addToCommands(new Command("Computing conflict-free sets to compute admissible extensions!", null));
-			cf = getConflictFreeSets();
-		}
-		else{
-			cf = previousConflictFreeSets;
-			notification = "Using previously computed conflict-free sets to compute admissible extensions: ";
-
-			if(cf.size() == 0){
-				notification += "There are no conflict-free sets!";
-			}
-			else{
-				notification += formatExtensions(cf);
-			}
-
-			interactor.addToCommands(new Command(notification, null));
-		}
-
-		if(invalidityCheck(cf, "conflict-free sets", "admissible extensions")){
-			return null;
-		}
-
-		for(Extension e: cf){
-			if(e.isAdmissible(true)){
-				admissible.add(e);
-			}
-		}
-
-		if(admissible.size() > 0){
-			notification = "The admissible extensions are: ";
-			notification += formatExtensions(admissible);
-		}
-		else{
-			notification = "There are no admissible extensions!";
-		}
-		interactor.addToCommands(new Command(notification, null));
-
-		previousAdmissibleExtensions = new ArrayList<Extension>();
-		previousAdmissibleExtensions.addAll(admissible);
-
-		return admissible;
-	}
-	
-	/**
-	 * checks if the list can be used for further computation
-	 * @details the set is checked if it is empty or even null
-	 * 			making it unfit to be used in further computations
-	 * @param list the list to be checked
-	 * @param cause cause of the possible problem
-	 * @param effect what is not computable because of a problem
-	 * @return if there is a problem with the set for further computation
-	 */
-	public boolean invalidityCheck(ArrayList<Extension> list, String cause, String effect){
-		if(list == null || list.isEmpty()){ //shouldn't be possible
-			String are = ", there are no ";
-
-			if(effect.contains("grounded")){
-				are = are.replace("are", "is");
-			}
-
-			interactor.addToCommands(new Command("Since there are no " + cause + are + effect + "!", null));
-			return true;
-		}
-		return false;
-	}
-	
-	public ArrayList<Extension> getCompleteExtensions(boolean usePrevious) throws InvalidInputException {
-		ArrayList<Extension> adm;
-		ArrayList<Extension> complete = new ArrayList<Extension>();
-
-		if(!usePrevious || (previousAdmissibleExtensions == null)){
-			interactor.addToCommands(new Command("Computing admissible extensions to compute complete extensions!", null));
-			adm = getAdmissibleExtensions(usePrevious);
-		}
-		else{
-			adm = previousAdmissibleExtensions;
-			notification = "Using previously computed admissible extensions to compute complete extensions: ";
-
-			if(adm.size() == 0){
-				notification += "There are no admissible sets!";
-			}
-			else{
-				notification += formatExtensions(adm);
-			}
-
-			interactor.addToCommands(new Command(notification, null));
-		}
-
-		if(invalidityCheck(adm, "admissible extensions", "complete extensions")){
-			return null;
-		}
-
-		for(Extension e: adm){
-			if(e.isComplete(true)){
-				complete.add(e);
-			}
-		}
-
-		if(complete.size() > 0){
-			notification = "The complete extensions are: ";
-			notification += formatExtensions(complete);
-		}
-		else{
-			notification = "There are no complete extensions!";
-		}
-		
-		interactor.addToCommands(new Command(notification, null));
-
-		previousCompleteExtensions = new ArrayList<Extension>();
-		previousCompleteExtensions.addAll(complete);
-
-		return complete;
-	}
-	
-	public ArrayList<Extension> getPreferredExtensions(boolean usePrevious) {
-		ArrayList<Extension> adm;
-		ArrayList<Extension> preferred = new ArrayList<Extension>();
-
-		if(!usePrevious || (previousAdmissibleExtensions == null)){
-			interactor.addToCommands(new Command("Computing admissible extensions to compute preferred extensions!", null));
-			adm = getAdmissibleExtensions(usePrevious);
-		}
-		else{
-			adm = previousAdmissibleExtensions;
-
-			notification = "Using previously computed admissible extensions to compute preferred extensions: ";
-
-			if(adm.size() == 0){
-				notification += "There are no admissible extensions!";
-			}
-			else{
-				notification += formatExtensions(adm);
-			}
-
-			interactor.addToCommands(new Command(notification, null));
-		}
-
-		if(invalidityCheck(adm, "admissible extensions", "preferred extensions")){
-			return null;
-		}
-
-		for(Extension e: adm){
-			if(e.isPreferred(adm)){
-				preferred.add(e);
-			}
-		}
-
-		interactor.addToCommands(new Command("The preferred extensions are: " + formatExtensions(preferred), null));
-
-		return preferred;
-	}
-
-	public ArrayList<Extension> getStableExtensions(boolean usePrevious) {
-		ArrayList<Extension> cf;
-		ArrayList<Extension> stable = new ArrayList<Extension>();
-
-		if(!usePrevious || (previousConflictFreeSets == null)){
-			interactor.addToCommands(new Command("Computing conflict-free sets to compute stable extensions!", null));
-			cf = getConflictFreeSets();
-		}
-		else{
-			cf = previousConflictFreeSets;
-
-			notification = "Using previously computed conflict-free sets to compute stable extensions: ";
-
-			if(cf.size() == 0){
-				notification += "There are no conflict-free sets!";
-			}
-			else{
-				notification += formatExtensions(cf);
-			}
-
-			interactor.addToCommands(new Command(notification, null));
-		}
-
-		if(invalidityCheck(cf, "conflict-free sets", "stable extensions")){
-			return null;
-		}
-
-		for(Extension e: cf){
-			if(e.isStable()){
-				stable.add(e);
-			}
-		}
-
-		interactor.addToCommands(new Command("The stable extensions are: " + formatExtensions(stable), null));
-
-		return stable;
-	}
-
-	public Extension getGroundedExtension(boolean usePrevious) throws InvalidInputException{
-		ArrayList<Extension> co;
-		ArrayList<Argument> grounded = new ArrayList<Argument>();
-
-		if(!usePrevious || (previousCompleteExtensions == null)){
-			interactor.addToCommands(new Command("Computing complete extensions to compute the grounded extension!", null));
-			co = getCompleteExtensions(usePrevious);
-		}
-		else{
-			co = previousCompleteExtensions;
-
-			notification = "Using previously computed complete extensions to compute the grounded extension: ";
-
-			if(co.size() == 0){
-				notification += "There are no complete extensions!";
-			}
-			else{
-				notification += formatExtensions(co);
-			}
-
-			interactor.addToCommands(new Command(notification, null));
-		}
-
-		if(invalidityCheck(co, "complete extensions", "grounded extension")){
-			return null;
-		}
-		
-		if(co.size() == 1){
-			interactor.addToCommands(new Command("The only complete extension " + co.get(0).format() + " is the grounded extension.", co.get(0).toInstruction(Color.GREEN)));
-			return co.get(0);
-		}
-
-		for(Extension e: co){
-			if(e.getArguments().size() == 0){
-				interactor.addToCommands(new Command("Since there is a complete extension {}, the grounded extension is {}", null));
-				return new Extension(grounded, this);
-			}
-		}
-
-		for(Extension e: co){
-			String eFormat = e.format();
-
-			if(grounded.isEmpty()){ //if no elements in grounded, e is first extension
-				grounded.addAll(e.getArguments());
-				interactor.addToCommands(new Command("The extension " + eFormat + " is the first candidate for grounded extension.", e.toInstruction(Color.GREEN)));
-			}
-			else{ //else check for common elements in extension
-				ArrayList<Argument> missing = new ArrayList<Argument>();
-				String missingString = "";
-
-				GraphInstruction highlight = new GraphInstruction(new ArrayList<SingleInstruction>(), new ArrayList<SingleInstruction>());
-
-				for(Argument a: grounded){
-					String aName = String.valueOf(a.getName());
-					if(!e.getArguments().contains(a)){
-						missingString += aName;
-						missing.add(a);
-						highlight.getNodeInstructions().add(new SingleInstruction(aName,Color.BLUE));
-					}
-				}
-
-				grounded.retainAll(e.getArguments());
-
-				Extension tmp = new Extension(grounded, this);
-				highlight.getNodeInstructions().addAll(tmp.toInstruction(Color.GREEN).getNodeInstructions());
-
-				if(missing.size() > 0){
-					interactor.addToCommands(new Command(eFormat + " doesn't contain the argument(s) " + formatNameList(missingString) + 
-							". Therefore our new candidate is " + tmp.format(), highlight));
-				}
-				else{
-					interactor.addToCommands(new Command("Since " + eFormat + " contains all the arguments of " + tmp.format() + ", our candidate doesn't change.", highlight));
-				}
-
-				if(grounded.isEmpty()){
-					break;
-				}
-			}
-		}
-
-		Extension groundedExtension = new Extension(grounded,this);
-
-		interactor.addToCommands(new Command("The grounded extension is: " + groundedExtension.format(), groundedExtension.toInstruction(Color.GREEN)));
-
-		return groundedExtension;
-	}
-	
-	public GraphInstruction getInstructionFromString(String item) {
-		GraphInstruction instruction = new GraphInstruction(new ArrayList<SingleInstruction>(), null);		
-		item = item.replace("{", "");
-		item = item.replace("}", "");
-
-		for(int i = 0; i < item.length(); i++){
-			instruction.getNodeInstructions().add(new SingleInstruction(String.valueOf(item.charAt(i)), Color.GREEN));
-		}
-
-		return instruction;
-	}
-
-	public Argument getArgument(char name) {
-		if(arguments != null){
-			for(Argument a: arguments){
-				if(a.getName() == name){
-					return a;
-				}
-			}
-		}
-		
-		return null;
-	}
-
-	public ArrayList<Argument> getArguments() {
-		return arguments;
-	}
-
-	public ArrayList<Attack> getAttacks(){
-		return attacks;
-	}
-	
-	public ArrayList<Attack> getAttacks(char attacker) {
-		ArrayList<Attack> argumentAttacks = new ArrayList<Attack>();
-		
-		for(Attack a: attacks){
-			if(a.getAttacker().getName() == attacker){
-				argumentAttacks.add(a);
-			}
-		}
-		
-		return argumentAttacks;
-	}
-	
-	public ArrayList<Argument> getAttackedBy(char attacker) {
-		ArrayList<Argument> attacked = new ArrayList<Argument>();
-		
-		for(Attack att: getAttacks(attacker)){
-			attacked.add(att.getAttacked());
-		}
-		
-		return attacked;
-	}
-
-	/**
-	 * formats a string of argument names to be a readable list in a sentence
-	 * @param input the string to be formatted
-	 * @return the formatted string (now a list, separated by ',' and an 'and' between the last two elements)
-	 */
-	public String formatNameList(String input) {
-		String output = "";
-
-		if(input.length() < 2){
-			return input;
-		}
-
-		for(int i = 0; i < input.length(); i++){
-			output += input.charAt(i) + ", ";
-		}
-
-		output = output.substring(0,output.length()-2);
-		String last = "" + output.charAt(output.length()-1);
-		output = output.replace(", " + last, " and " + last);
-
-		return output;
-	}
-
-	public String formatArgumentList(ArrayList<Argument> input) {
-		String argNames = "";
-		
-		for(Argument a: input){
-			argNames += a.getName();
-		}
-		
-		return formatNameList(argNames);
-	}
-	
-	public String formatAttackList(ArrayList<Attack> input,int pos) {
-		String argNames = "";
-
-		for(Attack a: input){
-			if(pos == 1){
-				argNames += a.getAttacker().getName();
-			}
-			else if(pos == 2){
-				argNames += a.getAttacked().getName();
-			}
-			else{
-				continue;
-			}
-		}
-		
-		return formatNameList(argNames);
-	}
-	
-	/**
-	 * stores a message at the end of the queue of the Interactor
-	 * @param message message to be stored by Interactor
-	 */
-	public void addToInteractor(Command command){
-		interactor.addToCommands(command);
-	}
-
-
-}
+package logic;
+
+import interactor.Command;
+import interactor.GraphInstruction;
+import interactor.Interactor;
+import interactor.SingleInstruction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import exceptions.InvalidInputException;
+import javafx.scene.paint.Color;
+
+public class Framework {
+
+	private static HashMap<Integer, ForkJoinPool> pools = new HashMap<Integer, ForkJoinPool>(); //thread pools shared by all frameworks computing in parallel, one for every parallelism
+
+	private ArrayList<Argument> arguments;
+	private ArrayList<Attack> attacks;
+	private Interactor interactor;
+	private ArrayList<Extension> previousConflictFreeSets; //a stored, previously computed set of conflict-free sets
+	private ArrayList<Extension> previousAdmissibleExtensions; //a stored, previously computed set of admissible extensions
+	private ArrayList<Extension> previousCompleteExtensions; //a stored, previously computed set of complete extensions
+	private String notification;
+	private AttackIndex index; //adjacency index of the attacks, built once
+	private HashMap<String, Argument> labels; //arguments by their labels
+	private Engine engine; //the way complete, preferred and stable extensions are computed
+	private int parallelism; //number of threads enumerating and testing sets
+	private ThreadLocal<ArrayList<Command>> commandBuffers; //commands of parallel tasks, kept until they can be written in order
+	
+	public Framework(ArrayList<Argument> arguments, ArrayList<Attack> attacks, Interactor interactor) {
+		this.arguments = arguments;
+		this.attacks = attacks;
+		this.interactor = interactor;
+		this.engine = Engine.ENUMERATION;
+		this.parallelism = 1;
+		this.commandBuffers = new ThreadLocal<ArrayList<Command>>();
+
+		buildIndex();
+
+		if(interactor != null){
+			interactor.setFramework(getLabels(), getFingerprint());
+		}
+	}
+
+	/**
+	 * creates a framework whose attacks are given as id pairs, e.g. read from a file,
+	 * its attack list is only built once it is asked for
+	 * @param arguments the arguments, numbered by their positions
+	 * @param attackers the id of the attacking argument of every attack
+	 * @param attacked the id of the attacked argument of every attack
+	 * @param count the number of attacks stored in attackers and attacked
+	 * @param interactor the interactor the computations are explained to, null if they are never explained
+	 */
+	public Framework(ArrayList<Argument> arguments, int[] attackers, int[] attacked, int count, Interactor interactor) {
+		this.arguments = arguments;
+		this.interactor = interactor;
+		this.engine = Engine.ENUMERATION;
+		this.parallelism = 1;
+		this.commandBuffers = new ThreadLocal<ArrayList<Command>>();
+
+		nameArguments();
+		index = new AttackIndex(arguments.size(), attackers, attacked, count);
+
+		if(interactor != null){
+			interactor.setFramework(getLabels(), getFingerprint());
+		}
+	}
+
+	/**
+	 * gives every argument its dense id and builds the adjacency index of the attacks
+	 */
+	private void buildIndex() {
+		int size = (arguments == null) ? 0 : arguments.size();
+		int count = (attacks == null) ? 0 : attacks.size();
+		int[] from = new int[count];
+		int[] to = new int[count];
+
+		nameArguments();
+
+		for(int i = 0; i < count; i++){
+			from[i] = attacks.get(i).getAttacker().getId();
+			to[i] = attacks.get(i).getAttacked().getId();
+		}
+
+		index = new AttackIndex(size, from, to, count);
+	}
+
+	/**
+	 * gives every argument its dense id and keys the arguments by their labels
+	 */
+	private void nameArguments() {
+		int size = (arguments == null) ? 0 : arguments.size();
+
+		labels = new HashMap<String, Argument>(2*size);
+
+		for(int i = 0; i < size; i++){
+			Argument a = arguments.get(i);
+			a.setId(i);
+			if(!labels.containsKey(a.getLabel())){
+				labels.put(a.getLabel(), a);
+			}
+		}
+	}
+
+	public ArrayList<Extension> getConflictFreeSets() {
+		return getConflictFreeSets(true);
+	}
+
+	/**
+	 * computes the conflict-free sets
+	 * @param write whether the computation is explained to the interactor; without explanations
+	 * 			no commands, instructions or messages are built at all
+	 * @return the conflict-free sets
+	 */
+	public ArrayList<Extension> getConflictFreeSets(boolean write) {
+		ArrayList<Extension> conflictFreeSets;
+
+		if(arguments == null){
+			//should not be possible
+			if(write){
+				interactor.addToCommands(new Command("No arguments found, error!", null));
+			}
+			return null;
+		}
+
+		if(write){
+			interactor.addToCommands(new Command("Computing conflict-free sets!", null));
+		}
+
+		conflictFreeSets = new ConflictFreeEnumerator(this, write).enumerate();
+
+		if(write){
+			interactor.addToCommands(new Command("The conflict-free sets are: " + formatExtensions(conflictFreeSets), null));
+		}
+
+		previousConflictFreeSets = new ArrayList<Extension>();
+		previousConflictFreeSets.addAll(conflictFreeSets);
+
+		return conflictFreeSets;
+	}
+	
+	/**
+	 * sorts extensions as if their bitsets were binary numbers (the last argument being the most significant bit),
+	 * which is the order in which subsets have always been listed
+	 * @param extensions the extensions to be sorted
+	 */
+	public static void sortExtensions(ArrayList<Extension> extensions) {
+		Collections.sort(extensions, new Comparator<Extension>(){
+			@Override
+			public int compare(Extension e1, Extension e2) {
+				BitSet a = e1.getMembers();
+				BitSet b = e2.getMembers();
+				int i = a.length()-1;
+				int j = b.length()-1;
+
+				while(i == j && i >= 0){ //skip the common most significant bits
+					i = a.previousSetBit(i-1);
+					j = b.previousSetBit(j-1);
+				}
+
+				return Integer.compare(i, j);
+			}
+		});
+	}
+	
+	private String formatExtensions(ArrayList<Extension> extensions) {
+		String formatted = "";
+
+		for(Extension e: extensions){
+			formatted += e.format() + ", ";
+		}
+
+		if(formatted.length() > 1){
+			formatted = formatted.substring(0,formatted.length()-2);
+		}
+
+		return formatted;
+	}
+
+	public ArrayList<Extension> getAdmissibleExtensions(boolean usePrevious) {
+		return getAdmissibleExtensions(usePrevious, true);
+	}
+
+	/**
+	 * computes the admissible extensions
+	 * @param usePrevious whether results computed before may be used
+	 * @param write whether the computation is explained to the interactor; without explanations
+	 * 			no commands, instructions or messages are built at all
+	 * @return the admissible extensions
+	 */
+	public ArrayList<Extension> getAdmissibleExtensions(boolean usePrevious, final boolean write) {
+		ArrayList<Extension> cf;
+		ArrayList<Extension> admissible;
+
+		if(!usePrevious || (previousConflictFreeSets == null)){
+			if(write){
+				interactor.addToCommands(new Command("Computing conflict-free sets to compute admissible extensions!", null));
+			}
+			cf = getConflictFreeSets(write);
+		}
+		else{
+			cf = previousConflictFreeSets;
+			if(write){
+				notification = "Using previously computed conflict-free sets to compute admissible extensions: ";
+
+				if(cf.size() == 0){
+					notification += "There are no conflict-free sets!";
+				}
+				else{
+					notification += formatExtensions(cf);
+				}
+
+				interactor.addToCommands(new Command(notification, null));
+			}
+		}
+
+		if(invalidityCheck(cf, "conflict-free sets", "admissible extensions", write)){
+			return null;
+		}
+
+		admissible = ParallelFilter.filter(this, cf, new Predicate<Extension>(){
+			@Override
+			public boolean test(Extension e) {
+				return e.isAdmissible(write);
+			}
+		});
+
+		if(write){
+			if(admissible.size() > 0){
+				notification = "The admissible extensions are: ";
+				notification += formatExtensions(admissible);
+			}
+			else{
+				notification = "There are no admissible extensions!";
+			}
+			interactor.addToCommands(new Command(notification, null));
+		}
+
+		previousAdmissibleExtensions = new ArrayList<Extension>();
+		previousAdmissibleExtensions.addAll(admissible);
+
+		return admissible;
+	}
+	
+	/**
+	 * checks if the list can be used for further computation
+	 * @details the set is checked if it is empty or even null
+	 * 			making it unfit to be used in further computations
+	 * @param list the list to be checked
+	 * @param cause cause of the possible problem
+	 * @param effect what is not computable because of a problem
+	 * @return if there is a problem with the set for further computation
+	 */
+	public boolean invalidityCheck(ArrayList<Extension> list, String cause, String effect){
+		return invalidityCheck(list, cause, effect, true);
+	}
+
+	/**
+	 * checks if the list can be used for further computation
+	 * @param list the list to be checked
+	 * @param cause cause of the possible problem
+	 * @param effect what is not computable because of a problem
+	 * @param write whether the problem is explained to the interactor
+	 * @return if there is a problem with the set for further computation
+	 */
+	public boolean invalidityCheck(ArrayList<Extension> list, String cause, String effect, boolean write){
+		if(list == null || list.isEmpty()){ //shouldn't be possible
+			String are = ", there are no ";
+
+			if(effect.contains("grounded")){
+				are = are.replace("are", "is");
+			}
+
+			if(write){
+				interactor.addToCommands(new Command("Since there are no " + cause + are + effect + "!", null));
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	public ArrayList<Extension> getCompleteExtensions(boolean usePrevious) throws InvalidInputException {
+		return getCompleteExtensions(usePrevious, true);
+	}
+
+	/**
+	 * computes the complete extensions
+	 * @param usePrevious whether results computed before may be used
+	 * @param write whether the computation is explained to the interactor; without explanations
+	 * 			no commands, instructions or messages are built at all
+	 * @return the complete extensions
+	 */
+	public ArrayList<Extension> getCompleteExtensions(boolean usePrevious, final boolean write) throws InvalidInputException {
+		ArrayList<Extension> adm;
+		ArrayList<Extension> complete;
+
+		if(engine == Engine.LABELLING){
+			return getCompleteExtensionsByLabelling(write);
+		}
+		if(engine == Engine.SAT){
+			return getCompleteExtensionsBySat(write);
+		}
+		if(engine == Engine.SCC){
+			return getCompleteExtensionsByComponents(write);
+		}
+
+		if(!usePrevious || (previousAdmissibleExtensions == null)){
+			if(write){
+				interactor.addToCommands(new Command("Computing admissible extensions to compute complete extensions!", null));
+			}
+			adm = getAdmissibleExtensions(usePrevious, write);
+		}
+		else{
+			adm = previousAdmissibleExtensions;
+			if(write){
+				notification = "Using previously computed admissible extensions to compute complete extensions: ";
+
+				if(adm.size() == 0){
+					notification += "There are no admissible sets!";
+				}
+				else{
+					notification += formatExtensions(adm);
+				}
+
+				interactor.addToCommands(new Command(notification, null));
+			}
+		}
+
+		if(invalidityCheck(adm, "admissible extensions", "complete extensions", write)){
+			return null;
+		}
+
+		complete = ParallelFilter.filter(this, adm, new Predicate<Extension>(){
+			@Override
+			public boolean test(Extension e) {
+				return e.isComplete(write);
+			}
+		});
+
+		if(write){
+			if(complete.size() > 0){
+				notification = "The complete extensions are: ";
+				notification += formatExtensions(complete);
+			}
+			else{
+				notification = "There are no complete extensions!";
+			}
+		
+			interactor.addToCommands(new Command(notification, null));
+		}
+
+		previousCompleteExtensions = new ArrayList<Extension>();
+		previousCompleteExtensions.addAll(complete);
+
+		return complete;
+	}
+	
+	public ArrayList<Extension> getPreferredExtensions(boolean usePrevious) {
+		return getPreferredExtensions(usePrevious, true);
+	}
+
+	/**
+	 * computes the preferred extensions
+	 * @param usePrevious whether results computed before may be used
+	 * @param write whether the computation is explained to the interactor; without explanations
+	 * 			no commands, instructions or messages are built at all
+	 * @return the preferred extensions
+	 */
+	public ArrayList<Extension> getPreferredExtensions(boolean usePrevious, final boolean write) {
+		ArrayList<Extension> adm;
+		ArrayList<Extension> preferred;
+
+		if(engine == Engine.LABELLING){
+			return getPreferredExtensionsByLabelling(write);
+		}
+		if(engine == Engine.SAT){
+			return getPreferredExtensionsBySat(write);
+		}
+		if(engine == Engine.SCC){
+			return getPreferredExtensionsByComponents(write);
+		}
+
+		if(!usePrevious || (previousAdmissibleExtensions == null)){
+			if(write){
+				interactor.addToCommands(new Command("Computing admissible extensions to compute preferred extensions!", null));
+			}
+			adm = getAdmissibleExtensions(usePrevious, write);
+		}
+		else{
+			adm = previousAdmissibleExtensions;
+
+			if(write){
+				notification = "Using previously computed admissible extensions to compute preferred extensions: ";
+
+				if(adm.size() == 0){
+					notification += "There are no admissible extensions!";
+				}
+				else{
+					notification += formatExtensions(adm);
+				}
+
+				interactor.addToCommands(new Command(notification, null));
+			}
+		}
+
+		if(invalidityCheck(adm, "admissible extensions", "preferred extensions", write)){
+			return null;
+		}
+
+		final IdentityHashMap<Extension, Extension> supersets = findSupersets(adm);
+		preferred = ParallelFilter.filter(this, adm, new Predicate<Extension>(){
+			@Override
+			public boolean test(Extension e) {
+				return e.isPreferred(supersets.get(e), write);
+			}
+		});
+
+		if(write){
+			interactor.addToCommands(new Command("The preferred extensions are: " + formatExtensions(preferred), null));
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * finds for every extension a bigger one containing it, using one superset query per extension
+	 * @details the extensions are visited from the biggest to the smallest, and the ones that are not
+	 * 			contained in a bigger one are kept in a set-trie; an extension contained in another one
+	 * 			is also contained in one of the kept, maximal extensions
+	 * @param extensions the extensions, all different
+	 * @return for every extension contained in another one a maximal extension containing it
+	 */
+	private IdentityHashMap<Extension, Extension> findSupersets(ArrayList<Extension> extensions) {
+		ArrayList<Extension> bySize = new ArrayList<Extension>(extensions);
+		IdentityHashMap<Extension, Extension> supersets = new IdentityHashMap<Extension, Extension>();
+		SetTrie<Extension> maximal = new SetTrie<Extension>();
+
+		Collections.sort(bySize, new Comparator<Extension>(){
+			@Override
+			public int compare(Extension e1, Extension e2) {
+				return Integer.compare(e2.getMembers().cardinality(), e1.getMembers().cardinality());
+			}
+		});
+
+		for(Extension e: bySize){
+			Extension superset = maximal.getSuperset(e.getMembers());
+
+			if(superset == null){
+				maximal.add(e.getMembers(), e);
+			}
+			else{
+				supersets.put(e, superset);
+			}
+		}
+
+		return supersets;
+	}
+
+	/**
+	 * computes the complete extensions by searching complete labellings, without computing admissible extensions
+	 * @return the complete extensions
+	 */
+	private ArrayList<Extension> getCompleteExtensionsByLabelling(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings to compute complete extensions!", null));
+		}
+
+		ArrayList<Extension> complete = new LabellingSolver(this, write).getCompleteExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The complete extensions are: " + formatExtensions(complete), null));
+		}
+
+		previousCompleteExtensions = new ArrayList<Extension>();
+		previousCompleteExtensions.addAll(complete);
+
+		return complete;
+	}
+
+	/**
+	 * computes the preferred extensions by searching complete labellings with a maximal in-set,
+	 * without computing admissible extensions
+	 * @return the preferred extensions
+	 */
+	private ArrayList<Extension> getPreferredExtensionsByLabelling(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings with maximal in-sets to compute preferred extensions!", null));
+		}
+
+		ArrayList<Extension> preferred = new LabellingSolver(this, write).getPreferredExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The preferred extensions are: " + formatExtensions(preferred), null));
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * computes the stable extensions by searching complete labellings without undec arguments,
+	 * without computing conflict-free sets
+	 * @return the stable extensions
+	 */
+	private ArrayList<Extension> getStableExtensionsByLabelling(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings without undec arguments to compute stable extensions!", null));
+		}
+
+		ArrayList<Extension> stable = new LabellingSolver(this, write).getStableExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The stable extensions are: " + formatExtensions(stable), null));
+		}
+
+		return stable;
+	}
+
+	/**
+	 * computes the complete extensions by enumerating the models of their clauses, without computing admissible extensions
+	 * @return the complete extensions
+	 */
+	private ArrayList<Extension> getCompleteExtensionsBySat(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Solving the clauses of complete labellings to compute complete extensions!", null));
+		}
+
+		ArrayList<Extension> complete = new SatEncoder(this, write).getCompleteExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The complete extensions are: " + formatExtensions(complete), null));
+		}
+
+		previousCompleteExtensions = new ArrayList<Extension>();
+		previousCompleteExtensions.addAll(complete);
+
+		return complete;
+	}
+
+	/**
+	 * computes the preferred extensions by growing models of the complete clauses until they are maximal,
+	 * without computing admissible extensions
+	 * @return the preferred extensions
+	 */
+	private ArrayList<Extension> getPreferredExtensionsBySat(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Solving the clauses of complete labellings for maximal in-sets to compute preferred extensions!", null));
+		}
+
+		ArrayList<Extension> preferred = new SatEncoder(this, write).getPreferredExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The preferred extensions are: " + formatExtensions(preferred), null));
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * computes the stable extensions by enumerating the models of their clauses, without computing conflict-free sets
+	 * @return the stable extensions
+	 */
+	private ArrayList<Extension> getStableExtensionsBySat(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Solving the clauses of stable extensions to compute stable extensions!", null));
+		}
+
+		ArrayList<Extension> stable = new SatEncoder(this, write).getStableExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The stable extensions are: " + formatExtensions(stable), null));
+		}
+
+		return stable;
+	}
+
+	/**
+	 * computes the complete extensions by labelling one strongly connected component after another
+	 * @return the complete extensions
+	 */
+	private ArrayList<Extension> getCompleteExtensionsByComponents(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings component by component to compute complete extensions!", null));
+		}
+
+		ArrayList<Extension> complete = new SccSolver(this, write).getCompleteExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The complete extensions are: " + formatExtensions(complete), null));
+		}
+
+		previousCompleteExtensions = new ArrayList<Extension>();
+		previousCompleteExtensions.addAll(complete);
+
+		return complete;
+	}
+
+	/**
+	 * computes the preferred extensions by labelling one strongly connected component after another,
+	 * accepting as many arguments of each component as possible
+	 * @return the preferred extensions
+	 */
+	private ArrayList<Extension> getPreferredExtensionsByComponents(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings with maximal in-sets component by component to compute preferred extensions!", null));
+		}
+
+		ArrayList<Extension> preferred = new SccSolver(this, write).getPreferredExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The preferred extensions are: " + formatExtensions(preferred), null));
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * computes the stable extensions by labelling one strongly connected component after another without undec arguments
+	 * @return the stable extensions
+	 */
+	private ArrayList<Extension> getStableExtensionsByComponents(boolean write) {
+		if(write){
+			interactor.addToCommands(new Command("Computing complete labellings without undec arguments component by component to compute stable extensions!", null));
+		}
+
+		ArrayList<Extension> stable = new SccSolver(this, write).getStableExtensions();
+
+		if(write){
+			interactor.addToCommands(new Command("The stable extensions are: " + formatExtensions(stable), null));
+		}
+
+		return stable;
+	}
+
+	public ArrayList<Extension> getStableExtensions(boolean usePrevious) {
+		return getStableExtensions(usePrevious, true);
+	}
+
+	/**
+	 * computes the stable extensions
+	 * @param usePrevious whether results computed before may be used
+	 * @param write whether the computation is explained to the interactor; without explanations
+	 * 			no commands, instructions or messages are built at all
+	 * @return the stable extensions
+	 */
+	public ArrayList<Extension> getStableExtensions(boolean usePrevious, final boolean write) {
+		ArrayList<Extension> cf;
+		ArrayList<Extension> stable;
+
+		if(engine == Engine.LABELLING){
+			return getStableExtensionsByLabelling(write);
+		}
+		if(engine == Engine.SAT){
+			return getStableExtensionsBySat(write);
+		}
+		if(engine == Engine.SCC){
+			return getStableExtensionsByComponents(write);
+		}
+
+		if(!usePrevious || (previousConflictFreeSets == null)){
+			if(write){
+				interactor.addToCommands(new Command("Computing conflict-free sets to compute stable extensions!", null));
+			}
+			cf = getConflictFreeSets(write);
+		}
+		else{
+			cf = previousConflictFreeSets;
+
+			if(write){
+				notification = "Using previously computed conflict-free sets to compute stable extensions: ";
+
+				if(cf.size() == 0){
+					notification += "There are no conflict-free sets!";
+				}
+				else{
+					notification += formatExtensions(cf);
+				}
+
+				interactor.addToCommands(new Command(notification, null));
+			}
+		}
+
+		if(invalidityCheck(cf, "conflict-free sets", "stable extensions", write)){
+			return null;
+		}
+
+		stable = ParallelFilter.filter(this, cf, new Predicate<Extension>(){
+			@Override
+			public boolean test(Extension e) {
+				return e.isStable(write);
+			}
+		});
+
+		if(write){
+			interactor.addToCommands(new Command("The stable extensions are: " + formatExtensions(stable), null));
+		}
+
+		return stable;
+	}
+
+	public Extension getGroundedExtension(boolean usePrevious) throws InvalidInputException{
+		return getGroundedExtension(usePrevious, true);
+	}
+
+	/**
+	 * computes the grounded extension
+	 * @param usePrevious whether complete extensions computed before may be used
+	 * @param write whether the computation is explained to the interactor; without explanations the
+	 * 			grounded extension is always computed as fixpoint, building no commands at all
+	 * @return the grounded extension
+	 */
+	public Extension getGroundedExtension(boolean usePrevious, boolean write) throws InvalidInputException{
+		ArrayList<Extension> co;
+		ArrayList<Argument> grounded = new ArrayList<Argument>();
+
+		if(!write || !usePrevious || (previousCompleteExtensions == null)){ //no need to compute complete extensions just for the grounded one
+			if(write){
+				interactor.addToCommands(new Command("Computing the grounded extension by repeatedly adding every argument whose attackers are all defeated!", null));
+			}
+
+			Extension groundedExtension = new Extension(new GroundedSolver(this, write).solve(), this);
+			if(write){
+				interactor.addToCommands(new Command("The grounded extension is: " + groundedExtension.format(), groundedExtension.toInstruction(Color.GREEN)));
+			}
+
+			return groundedExtension;
+		}
+		else{
+			co = previousCompleteExtensions;
+
+			if(write){
+				notification = "Using previously computed complete extensions to compute the grounded extension: ";
+
+				if(co.size() == 0){
+					notification += "There are no complete extensions!";
+				}
+				else{
+					notification += formatExtensions(co);
+				}
+
+				interactor.addToCommands(new Command(notification, null));
+			}
+		}
+
+		if(invalidityCheck(co, "complete extensions", "grounded extension", write)){
+			return null;
+		}
+		
+		if(co.size() == 1){
+			if(write){
+				interactor.addToCommands(new Command("The only complete extension " + co.get(0).format() + " is the grounded extension.", co.get(0).toInstruction(Color.GREEN)));
+			}
+			return co.get(0);
+		}
+
+		for(Extension e: co){
+			if(e.getArguments().size() == 0){
+				if(write){
+					interactor.addToCommands(new Command("Since there is a complete extension {}, the grounded extension is {}", null));
+				}
+				return new Extension(grounded, this);
+			}
+		}
+
+		for(Extension e: co){
+			String eFormat = e.format();
+
+			if(grounded.isEmpty()){ //if no elements in grounded, e is first extension
+				grounded.addAll(e.getArguments());
+				if(write){
+					interactor.addToCommands(new Command("The extension " + eFormat + " is the first candidate for grounded extension.", e.toInstruction(Color.GREEN)));
+				}
+			}
+			else{ //else check for common elements in extension
+				ArrayList<Argument> missing = new ArrayList<Argument>();
+
+				GraphInstruction highlight = new GraphInstruction(new ArrayList<SingleInstruction>(), new ArrayList<SingleInstruction>());
+
+				for(Argument a: grounded){
+					if(!e.getArguments().contains(a)){
+						missing.add(a);
+						highlight.getNodeInstructions().add(new SingleInstruction(a.getId(),Color.BLUE));
+					}
+				}
+
+				grounded.retainAll(e.getArguments());
+
+				Extension tmp = new Extension(grounded, this);
+				highlight.getNodeInstructions().addAll(tmp.toInstruction(Color.GREEN).getNodeInstructions());
+
+				if(missing.size() > 0){
+					if(write){
+						interactor.addToCommands(new Command(eFormat + " doesn't contain the argument(s) " + formatArgumentList(missing) + 
+								". Therefore our new candidate is " + tmp.format(), highlight));
+					}
+				}
+				else{
+					if(write){
+						interactor.addToCommands(new Command("Since " + eFormat + " contains all the arguments of " + tmp.format() + ", our candidate doesn't change.", highlight));
+					}
+				}
+
+				if(grounded.isEmpty()){
+					break;
+				}
+			}
+		}
+
+		Extension groundedExtension = new Extension(grounded,this);
+
+		if(write){
+			interactor.addToCommands(new Command("The grounded extension is: " + groundedExtension.format(), groundedExtension.toInstruction(Color.GREEN)));
+		}
+
+		return groundedExtension;
+	}
+	
+	/**
+	 * @param label the label of an argument
+	 * @return the first argument with that label, null if there is none
+	 */
+	public Argument getArgument(String label) {
+		return labels.get(label);
+	}
+
+	/**
+	 * @param id the dense id of an argument
+	 * @return the argument with that id
+	 */
+	public Argument getArgument(int id) {
+		return arguments.get(id);
+	}
+
+	public ArrayList<Argument> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * @return the labels of the arguments
+	 */
+	public Set<String> getLabels() {
+		return labels.keySet();
+	}
+
+	/**
+	 * @return a hash of the labels of the arguments in the order of their ids and of the attacks between them,
+	 * 		which tells apart the frameworks a recorded trace can be shown for
+	 */
+	public long getFingerprint() {
+		long fingerprint = index.size();
+		long attackHash = 0; //sum of the mixed attacks, so their order does not matter
+
+		for(int i = 0; i < index.size(); i++){
+			fingerprint = 31*fingerprint + arguments.get(i).getLabel().hashCode();
+		}
+
+		for(int i = 0; i < index.size(); i++){
+			for(int j = index.getAttackedStart(i); j < index.getAttackedEnd(i); j++){
+				long attack = ((long) i << 32 | index.getAttacked(j)) * 0x9E3779B97F4A7C15L;
+				attackHash += attack ^ (attack >>> 29);
+			}
+		}
+
+		return 31*fingerprint + attackHash;
+	}
+
+	/**
+	 * @return the way complete, preferred and stable extensions are computed
+	 */
+	public Engine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * @param engine the way complete, preferred and stable extensions are to be computed
+	 */
+	public void setEngine(Engine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * @return the number of threads enumerating and testing sets
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * sets the number of threads used to enumerate conflict-free sets and to test sets for
+	 * the semantics; the results and explanations are the same for every parallelism
+	 * @param parallelism the number of threads, 1 for computing on the calling thread only
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism < 1){
+			throw new IllegalArgumentException("The parallelism has to be at least 1!");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param parallelism the number of threads needed
+	 * @return a thread pool of that size, kept for all later computations with the same parallelism;
+	 * 		pools are never shut down, since frameworks with other parallelisms may be using theirs at the same time
+	 */
+	static synchronized ForkJoinPool getPool(int parallelism) {
+		ForkJoinPool pool = pools.get(parallelism);
+
+		if(pool == null){
+			pool = new ForkJoinPool(parallelism); //its threads are daemons and end when they have been idle for a while
+			pools.put(parallelism, pool);
+		}
+		return pool;
+	}
+
+	/**
+	 * redirects the commands the current thread writes into a buffer
+	 * @param buffer the list collecting the commands, null to write them to the interactor again
+	 * @return the buffer used before
+	 */
+	ArrayList<Command> setCommandBuffer(ArrayList<Command> buffer) {
+		ArrayList<Command> previous = commandBuffers.get();
+		commandBuffers.set(buffer);
+		return previous;
+	}
+
+	/**
+	 * @return the adjacency index of the framework's attacks
+	 */
+	public AttackIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the attacks, built from the attack index the first time if the framework was given id pairs
+	 */
+	public synchronized ArrayList<Attack> getAttacks(){
+		if(attacks == null){
+			Attack[] built = new Attack[index.getAttackCount()];
+
+			for(int i = 0; i < index.size(); i++){
+				for(int j = index.getAttackerStart(i); j < index.getAttackerEnd(i); j++){
+					built[index.getIncomingAttack(j)] = new Attack(arguments.get(index.getAttacker(j)), arguments.get(i));
+				}
+			}
+
+			attacks = new ArrayList<Attack>(Arrays.asList(built));
+		}
+		return attacks;
+	}
+	
+	/**
+	 * @param attacker the id of an argument
+	 * @return the attacks the argument carries out
+	 */
+	public ArrayList<Attack> getAttacks(int attacker) {
+		ArrayList<Attack> argumentAttacks = new ArrayList<Attack>();
+		
+		for(int i = index.getAttackedStart(attacker); i < index.getAttackedEnd(attacker); i++){
+			argumentAttacks.add(getAttacks().get(index.getOutgoingAttack(i)));
+		}
+		
+		return argumentAttacks;
+	}
+	
+	/**
+	 * @param attacker the id of an argument
+	 * @return the arguments it attacks
+	 */
+	public ArrayList<Argument> getAttackedBy(int attacker) {
+		ArrayList<Argument> attacked = new ArrayList<Argument>();
+		
+		for(int i = index.getAttackedStart(attacker); i < index.getAttackedEnd(attacker); i++){
+			attacked.add(arguments.get(index.getAttacked(i)));
+		}
+		
+		return attacked;
+	}
+
+	/**
+	 * formats argument labels to be a readable list in a sentence
+	 * @param input the labels to be formatted
+	 * @return the formatted string (now a list, separated by ',' and an 'and' between the last two elements)
+	 */
+	public String formatNameList(ArrayList<String> input) {
+		StringBuilder output = new StringBuilder();
+
+		for(int i = 0; i < input.size(); i++){
+			if(i > 0){
+				output.append((i == input.size()-1) ? " and " : ", ");
+			}
+			output.append(input.get(i));
+		}
+
+		return output.toString();
+	}
+
+	public String formatArgumentList(ArrayList<Argument> input) {
+		ArrayList<String> argNames = new ArrayList<String>();
+		
+		for(Argument a: input){
+			argNames.add(a.getLabel());
+		}
+		
+		return formatNameList(argNames);
+	}
+	
+	public String formatAttackList(ArrayList<Attack> input,int pos) {
+		ArrayList<String> argNames = new ArrayList<String>();
+
+		for(Attack a: input){
+			if(pos == 1){
+				argNames.add(a.getAttacker().getLabel());
+			}
+			else if(pos == 2){
+				argNames.add(a.getAttacked().getLabel());
+			}
+			else{
+				continue;
+			}
+		}
+		
+		return formatNameList(argNames);
+	}
+	
+	/**
+	 * stores a message at the end of the queue of the Interactor
+	 * @param message message to be stored by Interactor
+	 */
+	public void addToInteractor(Command command){
+		ArrayList<Command> buffer = commandBuffers.get();
+
+		if(buffer != null){
+			buffer.add(command);
+		}
+		else{
+			interactor.addToCommands(command);
+		}
+	}
+
+
+}
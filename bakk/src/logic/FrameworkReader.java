@@ -0,0 +1,568 @@
+package logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import exceptions.InvalidInputException;
+
+/**
+ * Reads argument frameworks from files in the formats of the ICCMA competitions
+ * @details the file is mapped into memory and read in a single pass, the names of the arguments are looked up
+ * 			in the file itself and the attacks are kept as pairs of ids, so only a string per argument is created
+ * 			besides the arguments;
+ * 			every argument keeps its name from the file as its label and its statement
+ * @author Patrick Bellositz
+ */
+public class FrameworkReader {
+
+	/**
+	 * The formats frameworks can be read from
+	 * @author Patrick Bellositz
+	 */
+	public enum Format {
+		APX, //"arg(a)." and "att(a,b)." as in ASPARTIX, % starting comments
+		TGF, //trivial graph format, a line per argument, a line "#" and a line "a b" per attack
+		I23; //ICCMA 2023, a line "p af n" for the arguments 1 to n and a line "a b" per attack, # starting comments
+
+		/**
+		 * @return the format of a file, given by its extension
+		 * @param file the file
+		 * @throws InvalidInputException if the extension is none of apx, tgf, i23 and af
+		 */
+		public static Format of(File file) throws InvalidInputException {
+			String name = file.getName().toLowerCase();
+			String extension = name.substring(name.lastIndexOf('.')+1);
+
+			if(extension.equals("apx")){
+				return APX;
+			}
+			if(extension.equals("tgf")){
+				return TGF;
+			}
+			if(extension.equals("i23") || extension.equals("af")){
+				return I23;
+			}
+			throw new InvalidInputException(file.getName() + ": the format of the file is not known by its extension.");
+		}
+	}
+
+	/**
+	 * offset and prime of the FNV-1a hash of the names
+	 */
+	private static final int FNV_BASIS = 0x811C9DC5, FNV_PRIME = 0x01000193;
+
+	private File file; //the file read
+	private Format format; //the format of the file
+	private ByteBuffer buffer; //the contents of the file, mapped into memory while it is read
+	private int position; //position of the next byte to be read
+	private int line; //number of the line being read, for error messages
+	private int tokenStart, tokenEnd, tokenHash; //position and hash of the last name read
+	private ArrayList<Argument> arguments; //the arguments read
+	private int[] attackers, attacked; //ids of the attacking and the attacked argument of every attack read
+	private int attackCount; //number of attacks read
+	private int[] labelStarts, labelEnds; //position of every argument's name in the file
+	private int[] table; //hash table of the arguments by their names in the file, id+1 or 0 where empty
+
+	/**
+	 * creates a reader for a file, whose format is given by its extension
+	 * @param file the file
+	 * @throws InvalidInputException if the extension is no known format
+	 */
+	public FrameworkReader(File file) throws InvalidInputException {
+		this(file, Format.of(file));
+	}
+
+	/**
+	 * creates a reader for a file
+	 * @param file the file
+	 * @param format the format of the file
+	 */
+	public FrameworkReader(File file, Format format) {
+		this.file = file;
+		this.format = format;
+	}
+
+	/**
+	 * reads a framework from a file, without an interactor, so it can only be solved without explanations
+	 * @param file the file, its format given by its extension
+	 * @return the framework
+	 * @throws IOException if the file could not be read
+	 * @throws InvalidInputException if the format is not known or the file is no valid framework
+	 */
+	public static Framework read(File file) throws IOException, InvalidInputException {
+		FrameworkReader reader = new FrameworkReader(file);
+
+		reader.read();
+		return new Framework(reader.getArguments(), reader.getAttackers(), reader.getAttacked(), reader.getAttackCount(), null);
+	}
+
+	/**
+	 * reads the arguments and attacks of the file
+	 * @throws IOException if the file could not be read
+	 * @throws InvalidInputException if the file is no valid framework
+	 */
+	public void read() throws IOException, InvalidInputException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+		try{
+			if(channel.size() > Integer.MAX_VALUE){
+				throw new InvalidInputException(file.getName() + ": files larger than 2 GB are not supported.");
+			}
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		} finally{
+			channel.close();
+		}
+
+		arguments = new ArrayList<Argument>();
+		attackers = new int[buffer.limit()/16 + 16]; //an attack takes at least 4 bytes in every format, grown if needed
+		attacked = new int[attackers.length];
+		attackCount = 0;
+		labelStarts = new int[16];
+		labelEnds = new int[16];
+		table = new int[32];
+		position = 0;
+		line = 1;
+
+		try{
+			if(format == Format.APX){
+				readApx();
+			}
+			else if(format == Format.TGF){
+				readTgf();
+			}
+			else{
+				readI23();
+			}
+		} finally{
+			buffer = null; //the mapping is released once it is collected
+			labelStarts = null;
+			labelEnds = null;
+			table = null;
+		}
+	}
+
+	/**
+	 * @return the arguments read, null before the file is read
+	 */
+	public ArrayList<Argument> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * @return the id of the attacking argument of every attack read, null before the file is read
+	 */
+	public int[] getAttackers() {
+		return attackers;
+	}
+
+	/**
+	 * @return the id of the attacked argument of every attack read, null before the file is read
+	 */
+	public int[] getAttacked() {
+		return attacked;
+	}
+
+	/**
+	 * @return the number of attacks read, the arrays of attackers and attacked arguments may be longer
+	 */
+	public int getAttackCount() {
+		return attackCount;
+	}
+
+	/**
+	 * reads "arg(a)." and "att(a,b)." statements, separated by any white space
+	 * @throws InvalidInputException if a statement is faulty or an attack refers to an argument not declared before
+	 */
+	private void readApx() throws InvalidInputException {
+		while(skipSpace()){
+			if(accept("arg")){
+				expect('(');
+				readName(true);
+				expect(')');
+				expect('.');
+				declare();
+			}
+			else if(accept("att")){
+				expect('(');
+				readName(true);
+				int attacker = findDeclared();
+				expect(',');
+				readName(true);
+				int target = findDeclared();
+				expect(')');
+				expect('.');
+				addAttack(attacker, target);
+			}
+			else{
+				throw error("neither an argument nor an attack starts here.");
+			}
+		}
+	}
+
+	/**
+	 * reads a line per argument, whose first word is its name, up to a line "#", then a line per attack
+	 * @throws InvalidInputException if an attack refers to an argument not declared before
+	 */
+	private void readTgf() throws InvalidInputException {
+		boolean readingAttacks = false;
+
+		while(position < buffer.limit()){
+			skipBlanks();
+
+			if(atLineEnd()){
+				nextLine();
+				continue;
+			}
+
+			if(buffer.get(position) == '#' && !readingAttacks){
+				readingAttacks = true;
+				nextLine();
+				continue;
+			}
+
+			readName(false);
+
+			if(!readingAttacks){
+				declare();
+			}
+			else{
+				int attacker = findDeclared();
+				readName(false);
+				addAttack(attacker, findDeclared());
+			}
+			nextLine(); //the rest of the line is a label
+		}
+	}
+
+	/**
+	 * reads the line "p af n", then a line "a b" per attack of argument a on argument b
+	 * @throws InvalidInputException if the first line is missing or faulty, or an attack refers to an argument out of range
+	 */
+	private void readI23() throws InvalidInputException {
+		int count = -1;
+
+		while(position < buffer.limit()){
+			skipBlanks();
+
+			if(atLineEnd() || buffer.get(position) == '#'){
+				nextLine();
+				continue;
+			}
+
+			if(count < 0){
+				if(!accept("p") || !skipBlanks() || !accept("af")){
+					throw error("the first line has to be \"p af n\".");
+				}
+
+				count = readNumber();
+
+				arguments.ensureCapacity(count);
+				for(int i = 0; i < count; i++){
+					String label = String.valueOf(i+1);
+					arguments.add(new Argument(label, label));
+				}
+			}
+			else{
+				int attacker = readNumber();
+				int target = readNumber();
+
+				if(attacker < 1 || attacker > count || target < 1 || target > count){
+					throw error("the attack refers to an argument that is not between 1 and " + count + ".");
+				}
+
+				addAttack(attacker-1, target-1);
+			}
+
+			skipBlanks();
+			if(!atLineEnd()){
+				throw error("a line holds two numbers at most.");
+			}
+			nextLine();
+		}
+
+		if(count < 0){
+			throw error("the line \"p af n\" is missing.");
+		}
+	}
+
+	/**
+	 * adds an attack
+	 * @param attacker the id of the attacking argument
+	 * @param target the id of the attacked argument
+	 */
+	private void addAttack(int attacker, int target) {
+		if(attackCount == attackers.length){
+			attackers = Arrays.copyOf(attackers, 2*attackCount);
+			attacked = Arrays.copyOf(attacked, 2*attackCount);
+		}
+		attackers[attackCount] = attacker;
+		attacked[attackCount] = target;
+		attackCount++;
+	}
+
+	/**
+	 * skips spaces and tabs
+	 * @return whether the end of the file is not reached yet
+	 */
+	private boolean skipBlanks() {
+		while(position < buffer.limit()){
+			byte b = buffer.get(position);
+
+			if(b != ' ' && b != '\t'){
+				return true;
+			}
+			position++;
+		}
+		return false;
+	}
+
+	/**
+	 * skips white space, line breaks and comments up to the end of their line
+	 * @return whether the end of the file is not reached yet
+	 */
+	private boolean skipSpace() {
+		while(skipBlanks()){
+			byte b = buffer.get(position);
+
+			if(b == '%'){
+				nextLine();
+			}
+			else if(b == '\n' || b == '\r'){
+				nextLine();
+			}
+			else{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the position is at the end of a line or the file
+	 */
+	private boolean atLineEnd() {
+		return position >= buffer.limit() || buffer.get(position) == '\n' || buffer.get(position) == '\r';
+	}
+
+	/**
+	 * moves to the start of the next line
+	 */
+	private void nextLine() {
+		while(position < buffer.limit() && buffer.get(position) != '\n'){
+			position++;
+		}
+		position++;
+		line++;
+	}
+
+	/**
+	 * reads a word if it is next
+	 * @param word the word, in ASCII
+	 * @return whether the word was read
+	 */
+	private boolean accept(String word) {
+		if(position + word.length() > buffer.limit()){
+			return false;
+		}
+		for(int i = 0; i < word.length(); i++){
+			if(buffer.get(position+i) != word.charAt(i)){
+				return false;
+			}
+		}
+		position += word.length();
+		return true;
+	}
+
+	/**
+	 * reads a character that has to be next, after white space
+	 * @param c the character
+	 * @throws InvalidInputException if the character is not next
+	 */
+	private void expect(char c) throws InvalidInputException {
+		if(!skipSpace() || buffer.get(position) != c){
+			throw error("'" + c + "' is missing.");
+		}
+		position++;
+	}
+
+	/**
+	 * reads the name of an argument, after white space
+	 * @param delimited whether the name ends at ',' and ')' too, not just at white space
+	 * @throws InvalidInputException if there is no name
+	 */
+	private void readName(boolean delimited) throws InvalidInputException {
+		if(delimited){
+			skipSpace();
+		}
+		else{
+			skipBlanks();
+		}
+
+		int h = FNV_BASIS;
+
+		tokenStart = position;
+
+		while(position < buffer.limit()){
+			byte b = buffer.get(position);
+
+			if(b == ' ' || b == '\t' || b == '\n' || b == '\r' || (delimited && (b == ',' || b == ')'))){
+				break;
+			}
+			h = (h ^ b) * FNV_PRIME;
+			position++;
+		}
+
+		tokenEnd = position;
+		tokenHash = h ^ (h >>> 16);
+
+		if(tokenStart == tokenEnd){
+			throw error("the name of an argument is missing.");
+		}
+	}
+
+	/**
+	 * reads a number, after spaces and tabs
+	 * @return the number
+	 * @throws InvalidInputException if there is no number
+	 */
+	private int readNumber() throws InvalidInputException {
+		long number = 0;
+		int start;
+
+		skipBlanks();
+		start = position;
+
+		while(position < buffer.limit() && buffer.get(position) >= '0' && buffer.get(position) <= '9' && number <= Integer.MAX_VALUE){
+			number = number*10 + buffer.get(position) - '0';
+			position++;
+		}
+
+		if(position == start || number > Integer.MAX_VALUE){
+			throw error("a number is missing.");
+		}
+		return (int) number;
+	}
+
+	/**
+	 * adds an argument named by the last name read, unless there is one of that name already
+	 */
+	private void declare() {
+		int slot = findSlot();
+
+		if(table[slot] != 0){
+			return;
+		}
+
+		int id = arguments.size();
+		byte[] label = new byte[tokenEnd-tokenStart];
+
+		for(int i = 0; i < label.length; i++){
+			label[i] = buffer.get(tokenStart+i);
+		}
+		String name = new String(label, StandardCharsets.UTF_8);
+		arguments.add(new Argument(name, name));
+
+		if(id == labelStarts.length){
+			labelStarts = Arrays.copyOf(labelStarts, 2*id);
+			labelEnds = Arrays.copyOf(labelEnds, 2*id);
+		}
+		labelStarts[id] = tokenStart;
+		labelEnds[id] = tokenEnd;
+		table[slot] = id+1;
+
+		if(2*(id+1) > table.length){
+			rehash();
+		}
+	}
+
+	/**
+	 * @return the id of the argument named by the last name read
+	 * @throws InvalidInputException if there is no argument of that name
+	 */
+	private int findDeclared() throws InvalidInputException {
+		int id = table[findSlot()] - 1;
+
+		if(id < 0){
+			throw error("the attack refers to an argument that was not declared before.");
+		}
+		return id;
+	}
+
+	/**
+	 * @return the slot of the hash table holding the argument named by the last name read,
+	 * 			or the empty slot it would be put in
+	 */
+	private int findSlot() {
+		int mask = table.length-1;
+		int slot = tokenHash & mask;
+
+		while(table[slot] != 0 && !sameName(table[slot]-1)){
+			slot = (slot+1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * @return whether an argument is named by the last name read
+	 * @param id the id of the argument
+	 */
+	private boolean sameName(int id) {
+		int start = labelStarts[id];
+
+		if(labelEnds[id]-start != tokenEnd-tokenStart){
+			return false;
+		}
+		for(int i = tokenStart; i < tokenEnd; i++, start++){
+			if(buffer.get(i) != buffer.get(start)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the hash of a name in the file, as computed while it is read
+	 * @param start position of the name
+	 * @param end position after the name
+	 */
+	private int hash(int start, int end) {
+		int h = FNV_BASIS;
+
+		for(int i = start; i < end; i++){
+			h = (h ^ buffer.get(i)) * FNV_PRIME;
+		}
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * doubles the size of the hash table
+	 */
+	private void rehash() {
+		table = new int[2*table.length];
+		int mask = table.length-1;
+
+		for(int id = 0; id < arguments.size(); id++){
+			int slot = hash(labelStarts[id], labelEnds[id]) & mask;
+
+			while(table[slot] != 0){
+				slot = (slot+1) & mask;
+			}
+			table[slot] = id+1;
+		}
+	}
+
+	/**
+	 * @return an exception telling where in the file it is faulty
+	 * @param message what is faulty
+	 */
+	private InvalidInputException error(String message) {
+		return new InvalidInputException(file.getName() + ", line " + line + ": " + message);
+	}
+}
@@ -0,0 +1,144 @@
+package logic;
+
+import interactor.Command;
+import interactor.GraphInstruction;
+import interactor.SingleInstruction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Computes the grounded extension as least fixpoint of the characteristic function
+ * in O(|arguments| + |attacks|)
+ * @details every argument counts its attackers that are not defeated yet; arguments
+ * 			whose count drops to zero are defended and join the extension through a work queue,
+ * 			and the arguments they attack are defeated, lowering the counts of their targets
+ * @author Patrick Bellositz
+ */
+public class GroundedSolver {
+
+	private Framework framework; //framework whose grounded extension is computed
+	private AttackIndex index; //adjacency index of the framework
+	private boolean write; //whether the computation is explained to the interactor
+	private BitSet in; //arguments of the grounded extension found so far
+	private BitSet out; //arguments attacked by the grounded extension found so far
+
+	/**
+	 * creates a solver for the grounded extension
+	 * @param framework the framework whose grounded extension is computed
+	 * @param write whether every step is explained to the interactor
+	 */
+	public GroundedSolver(Framework framework, boolean write) {
+		this.framework = framework;
+		this.index = framework.getIndex();
+		this.write = write;
+	}
+
+	/**
+	 * computes the grounded extension
+	 * @return the ids of the grounded extension's arguments
+	 */
+	public BitSet solve() {
+		int size = index.size();
+		int[] undefeated = new int[size]; //attacks on every argument whose attacker is not defeated yet
+		int[] queue = new int[size]; //accepted arguments whose attacks still have to be applied
+		int head = 0, tail = 0;
+
+		in = new BitSet(size);
+		out = new BitSet(size);
+
+		for(int i = 0; i < size; i++){
+			undefeated[i] = index.getAttackerCount(i);
+			if(undefeated[i] == 0){
+				in.set(i);
+				queue[tail++] = i;
+			}
+		}
+
+		if(write){
+			if(tail == 0){
+				framework.addToInteractor(new Command("Every argument is attacked, so no argument is defended by the empty set.", toInstruction()));
+			}
+			else{
+				framework.addToInteractor(new Command("The argument(s) " + framework.formatArgumentList(toArguments(in)) +
+						" are not attacked by any argument, so they belong to the grounded extension.", toInstruction()));
+			}
+		}
+
+		ArrayList<Argument> defeated = new ArrayList<Argument>(); //arguments the accepted argument defeats, only collected if write
+		ArrayList<Argument> defended = new ArrayList<Argument>(); //arguments defended by defeating them, only collected if write
+
+		while(head < tail){
+			int accepted = queue[head++];
+			defeated.clear();
+			defended.clear();
+
+			for(int i = index.getAttackedStart(accepted); i < index.getAttackedEnd(accepted); i++){
+				int attacked = index.getAttacked(i);
+
+				if(out.get(attacked)){
+					continue;
+				}
+
+				out.set(attacked);
+				if(write){
+					defeated.add(framework.getArgument(attacked));
+				}
+
+				for(int j = index.getAttackedStart(attacked); j < index.getAttackedEnd(attacked); j++){
+					int target = index.getAttacked(j);
+
+					if(--undefeated[target] == 0 && !in.get(target) && !out.get(target)){ //all its attackers are defeated
+						in.set(target);
+						queue[tail++] = target;
+						if(write){
+							defended.add(framework.getArgument(target));
+						}
+					}
+				}
+			}
+
+			if(write && !defeated.isEmpty()){
+				String acceptedName = framework.getArgument(accepted).getLabel();
+
+				framework.addToInteractor(new Command(acceptedName + " belongs to the grounded extension and attacks " + framework.formatArgumentList(defeated) +
+						", so they are defeated." + (defended.isEmpty() ? "" : " Now all attackers of " + framework.formatArgumentList(defended) +
+						" are defeated, so they are defended and belong to the grounded extension."), toInstruction()));
+			}
+		}
+
+		return in;
+	}
+
+	/**
+	 * @param set ids of arguments
+	 * @return the arguments with these ids
+	 */
+	private ArrayList<Argument> toArguments(BitSet set) {
+		ArrayList<Argument> list = new ArrayList<Argument>();
+
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i+1)){
+			list.add(framework.getArgument(i));
+		}
+
+		return list;
+	}
+
+	/**
+	 * @return an instruction coloring the accepted arguments green and the defeated ones red
+	 */
+	private GraphInstruction toInstruction() {
+		ArrayList<SingleInstruction> nodeInstructions = new ArrayList<SingleInstruction>();
+
+		for(int i = in.nextSetBit(0); i >= 0; i = in.nextSetBit(i+1)){
+			nodeInstructions.add(new SingleInstruction(i, Color.GREEN));
+		}
+		for(int i = out.nextSetBit(0); i >= 0; i = out.nextSetBit(i+1)){
+			nodeInstructions.add(new SingleInstruction(i, Color.RED));
+		}
+
+		return new GraphInstruction(nodeInstructions, null);
+	}
+}
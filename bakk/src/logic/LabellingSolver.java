@@ -0,0 +1,530 @@
+package logic;
+
+import interactor.Command;
+import interactor.GraphInstruction;
+import interactor.SingleInstruction;
+import interactor.Trace;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Enumerates complete, preferred and stable labellings directly, following the
+ * labelling algorithms of Modgil and Caminada: every argument is labelled in, out or undec,
+ * labels that are forced by the labels around an argument are propagated, and the search
+ * backtracks over the remaining arguments
+ * @details no conflict-free or admissible sets are materialized; a complete labelling
+ * 			labels an argument in iff all its attackers are out, and out iff one of its
+ * 			attackers is in; a stable labelling additionally has no undec arguments
+ * @author Patrick Bellositz
+ */
+public class LabellingSolver {
+
+	/**
+	 * label of an argument that has not been decided yet
+	 */
+	public static final byte BLANK = 0;
+
+	/**
+	 * label of an accepted argument
+	 */
+	public static final byte IN = 1;
+
+	/**
+	 * label of a rejected argument
+	 */
+	public static final byte OUT = 2;
+
+	/**
+	 * label of an argument that is neither accepted nor rejected
+	 */
+	public static final byte UNDEC = 3;
+
+	private Framework framework; //framework whose labellings are searched
+	private Trace<?> trace; //trace explaining the search, null if it is not traced
+	private AttackIndex index; //adjacency index of the framework
+	private boolean write; //whether the results are explained to the interactor
+	private boolean stable; //whether undec labels are forbidden
+	private boolean preferred; //whether branches that can not beat a found labelling are abandoned
+	private int[] scope; //ids of the arguments to be labelled
+	private boolean[] inScope; //for every argument whether it is to be labelled
+	private byte[] labels; //current label of every argument
+	private int[] trail; //ids labelled in the current branch, in order, to undo them when backtracking
+	private int trailSize; //number of ids on the trail
+	private int[] queue; //ring buffer of arguments whose labels have to be checked again
+	private boolean[] queued; //for every argument whether it is in the queue
+	private int head, queueSize; //position of the first argument and number of arguments in the queue
+	private ArrayList<byte[]> found; //labellings found so far
+	private SetTrie<byte[]> foundInSets; //in-sets of the labellings found so far, while searching preferred ones
+
+	/**
+	 * creates a labelling solver
+	 * @param framework the framework whose labellings are searched
+	 * @param write whether the found extensions are explained to the interactor
+	 */
+	public LabellingSolver(Framework framework, boolean write) {
+		this(framework, write, Trace.getProducing());
+	}
+
+	/**
+	 * creates a labelling solver searching on behalf of a trace, for solvers created on other threads than its producer
+	 * @param framework the framework whose labellings are searched
+	 * @param write whether the found extensions are explained to the interactor
+	 * @param trace the trace explaining the search, whose cancellation ends it; null if it is not traced
+	 */
+	LabellingSolver(Framework framework, boolean write, Trace<?> trace) {
+		this.framework = framework;
+		this.index = framework.getIndex();
+		this.write = write;
+		this.trace = trace;
+	}
+
+	/**
+	 * @return all complete extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getCompleteExtensions() {
+		ArrayList<Extension> complete = toExtensions(getLabellings(allArguments(), new byte[index.size()], false), framework);
+
+		if(write){
+			for(Extension e: complete){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a complete labelling: every argument is in iff all its attackers are out "
+						+ "and out iff one of its attackers is in. So " + e.format() + " is a complete extension.", toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return complete;
+	}
+
+	/**
+	 * @return all stable extensions, ordered like the ones computed from conflict-free sets
+	 */
+	public ArrayList<Extension> getStableExtensions() {
+		ArrayList<Extension> stableExtensions = toExtensions(getLabellings(allArguments(), new byte[index.size()], true), framework);
+
+		if(write){
+			for(Extension e: stableExtensions){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a complete labelling without undec arguments, so it is a stable extension.",
+						toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return stableExtensions;
+	}
+
+	/**
+	 * @return all preferred extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getPreferredExtensions() {
+		ArrayList<BitSet> maximal = new ArrayList<BitSet>();
+
+		for(byte[] labelling: getScopeLabellings(allArguments(), new byte[index.size()], false, true)){
+			maximal.add(inSet(labelling));
+		}
+
+		ArrayList<Extension> preferredExtensions = new ArrayList<Extension>();
+		for(BitSet m: maximal){
+			preferredExtensions.add(new Extension(m, framework));
+		}
+		Framework.sortExtensions(preferredExtensions);
+
+		if(write){
+			for(Extension e: preferredExtensions){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a complete labelling and no other complete labelling accepts more arguments, "
+						+ "so it is a preferred extension.", toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return preferredExtensions;
+	}
+
+	/**
+	 * enumerates the complete (or stable) labellings of some arguments, while the labels of all other arguments are fixed
+	 * @param scope the ids of the arguments to be labelled
+	 * @param context the label of every argument; arguments outside the scope must be labelled, the others are ignored
+	 * @param stableOnly whether only labellings without undec arguments are wanted
+	 * @return copies of the label array, one for each labelling found
+	 */
+	public ArrayList<byte[]> getLabellings(int[] scope, byte[] context, boolean stableOnly) {
+		ArrayList<byte[]> labellings = new ArrayList<byte[]>();
+
+		for(byte[] scopeLabels: getScopeLabellings(scope, context.clone(), stableOnly, false)){
+			byte[] labelling = context.clone();
+
+			for(int i = 0; i < scope.length; i++){
+				labelling[scope[i]] = scopeLabels[i];
+			}
+			labellings.add(labelling);
+		}
+
+		return labellings;
+	}
+
+	/**
+	 * enumerates the complete (or stable) labellings of some arguments, while the labels of all other arguments are fixed,
+	 * without copying the labels of the other arguments
+	 * @param scope the ids of the arguments to be labelled
+	 * @param context the label of every argument; arguments outside the scope must be labelled, the others are
+	 * 			overwritten during the search and left blank afterwards
+	 * @param stableOnly whether only labellings without undec arguments are wanted
+	 * @param maximalOnly whether only the labellings with a maximal in-set within the scope are wanted
+	 * @return for every labelling found the labels of the scope, in the order of the scope
+	 */
+	public ArrayList<byte[]> getScopeLabellings(int[] scope, byte[] context, boolean stableOnly, boolean maximalOnly) {
+		preferred = maximalOnly;
+		ArrayList<byte[]> labellings = search(scope, context, stableOnly);
+		preferred = false;
+
+		if(!maximalOnly){
+			return labellings;
+		}
+
+		ArrayList<byte[]> maximal = new ArrayList<byte[]>();
+
+		Collections.sort(labellings, new Comparator<byte[]>(){ //bigger candidates first, so a contained one finds its superset
+			@Override
+			public int compare(byte[] l1, byte[] l2) {
+				return Integer.compare(countIn(l2), countIn(l1));
+			}
+		});
+
+		SetTrie<byte[]> kept = new SetTrie<byte[]>();
+		for(byte[] l: labellings){ //keep the candidates that are not contained in another one
+			BitSet in = scopeInSet(l);
+
+			if(kept.getSuperset(in) == null){
+				kept.add(in, l);
+				maximal.add(l);
+			}
+		}
+
+		return maximal;
+	}
+
+	/**
+	 * prepares and runs the search
+	 * @param scope the ids of the arguments to be labelled
+	 * @param context the label of every argument, used as the label array of the search
+	 * @param stableOnly whether only labellings without undec arguments are wanted
+	 * @return for every labelling found the labels of the scope, in the order of the scope
+	 */
+	private ArrayList<byte[]> search(int[] scope, byte[] context, boolean stableOnly) {
+		int size = index.size();
+
+		if(inScope == null){ //kept between searches, so labelling small parts of a big framework stays cheap
+			inScope = new boolean[size];
+			queue = new int[size];
+			queued = new boolean[size];
+		}
+
+		this.scope = scope;
+		this.stable = stableOnly;
+		labels = context;
+		trail = new int[scope.length];
+		trailSize = 0;
+		head = queueSize = 0;
+		found = new ArrayList<byte[]>();
+		foundInSets = new SetTrie<byte[]>();
+
+		for(int id: scope){
+			inScope[id] = true;
+			labels[id] = BLANK;
+		}
+
+		for(int id: scope){
+			enqueue(id);
+		}
+
+		if(propagate()){
+			branch(0);
+		}
+
+		undo(0);
+		for(int id: scope){
+			inScope[id] = false;
+		}
+
+		return found;
+	}
+
+	/**
+	 * labels the next undecided argument in every possible way and continues with the one after it
+	 * @param from the position in the scope before which all arguments are decided
+	 */
+	private void branch(int from) {
+		int position = from;
+
+		Trace.checkCancelled(trace); //a search can take long without writing a command
+
+		while(position < scope.length && labels[scope[position]] != BLANK){
+			position++;
+		}
+
+		if(position == scope.length){
+			byte[] scopeLabels = new byte[scope.length];
+
+			for(int i = 0; i < scope.length; i++){
+				scopeLabels[i] = labels[scope[i]];
+			}
+
+			found.add(scopeLabels);
+			if(preferred){
+				foundInSets.add(scopeInSet(scopeLabels), scopeLabels);
+			}
+			return;
+		}
+
+		if(preferred && isDominated()){
+			return;
+		}
+
+		int id = scope[position];
+		byte[] options = stable ? new byte[]{IN, OUT} : new byte[]{IN, OUT, UNDEC};
+
+		for(byte option: options){
+			int mark = trailSize;
+
+			if(assign(id, option) && propagate()){
+				branch(position+1);
+			}
+
+			undo(mark);
+		}
+	}
+
+	/**
+	 * checks if every labelling of the current branch accepts a subset of a labelling found before,
+	 * which means that none of them can be preferred
+	 * @return whether the branch can be abandoned
+	 */
+	private boolean isDominated() {
+		BitSet possible = new BitSet(index.size()); //arguments of the scope that may still be in
+
+		for(int id: scope){
+			if(labels[id] == IN || labels[id] == BLANK){
+				possible.set(id);
+			}
+		}
+
+		return foundInSets.getSuperset(possible) != null;
+	}
+
+	/**
+	 * labels an argument and schedules it and the arguments it attacks to be checked
+	 * @param id the id of the argument
+	 * @param label the new label
+	 * @return true, so forced labels can be returned as check results
+	 */
+	private boolean assign(int id, byte label) {
+		labels[id] = label;
+		trail[trailSize++] = id;
+
+		enqueue(id);
+		for(int i = index.getAttackedStart(id); i < index.getAttackedEnd(id); i++){
+			enqueue(index.getAttacked(i));
+		}
+
+		return true;
+	}
+
+	/**
+	 * removes the labels given since the trail had the given size
+	 * @param mark the earlier size of the trail
+	 */
+	private void undo(int mark) {
+		while(trailSize > mark){
+			labels[trail[--trailSize]] = BLANK;
+		}
+	}
+
+	/**
+	 * @param id the id of an argument to be checked
+	 */
+	private void enqueue(int id) {
+		if(inScope[id] && !queued[id]){
+			queued[id] = true;
+			queue[(head + queueSize++) % queue.length] = id;
+		}
+	}
+
+	/**
+	 * checks queued arguments until no more labels are forced
+	 * @return false if some argument can not be labelled legally any more
+	 */
+	private boolean propagate() {
+		while(queueSize > 0){
+			int id = queue[head];
+			head = (head+1) % queue.length;
+			queueSize--;
+			queued[id] = false;
+
+			if(!check(id)){
+				while(queueSize > 0){ //drop the rest of the queue
+					queued[queue[head]] = false;
+					head = (head+1) % queue.length;
+					queueSize--;
+				}
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * compares the label of an argument with the labels of its attackers and forces the labels that follow
+	 * @param id the id of the argument
+	 * @return false if the argument's label contradicts its attackers' labels
+	 */
+	private boolean check(int id) {
+		int in = 0, blank = 0, undec = 0, lastBlank = -1;
+
+		for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+			int attacker = index.getAttacker(i);
+
+			switch(labels[attacker]){
+				case IN:
+					in++;
+					break;
+				case UNDEC:
+					undec++;
+					break;
+				case BLANK:
+					blank++;
+					lastBlank = attacker;
+					break;
+				default:
+					break;
+			}
+		}
+
+		byte label = labels[id];
+
+		if(in > 0){ //an attacker is in, so the argument has to be out
+			return label == BLANK ? assign(id, OUT) : label == OUT;
+		}
+		if(blank == 0 && undec == 0){ //all attackers are out, so the argument has to be in
+			return label == BLANK ? assign(id, IN) : label == IN;
+		}
+		if(blank == 0){ //no attacker is in, but some are undec
+			if(stable){
+				return false;
+			}
+			return label == BLANK ? assign(id, UNDEC) : label == UNDEC;
+		}
+
+		switch(label){
+			case IN: //all attackers have to be out
+				for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+					int attacker = index.getAttacker(i);
+					if(labels[attacker] == BLANK){
+						assign(attacker, OUT);
+					}
+				}
+				return true;
+			case OUT: //an attacker has to be in
+				return blank == 1 ? assign(lastBlank, IN) : true;
+			case UNDEC: //an attacker has to be undec
+				return (blank == 1 && undec == 0) ? assign(lastBlank, UNDEC) : true;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @return the ids of all arguments of the framework
+	 */
+	private int[] allArguments() {
+		int[] all = new int[index.size()];
+
+		for(int i = 0; i < all.length; i++){
+			all[i] = i;
+		}
+
+		return all;
+	}
+
+	/**
+	 * @param labelling the label of every argument
+	 * @return the ids of the arguments labelled in
+	 */
+	public static BitSet inSet(byte[] labelling) {
+		BitSet in = new BitSet(labelling.length);
+
+		for(int i = 0; i < labelling.length; i++){
+			if(labelling[i] == IN){
+				in.set(i);
+			}
+		}
+
+		return in;
+	}
+
+	/**
+	 * @param scopeLabels the labels of the current scope, in the order of the scope
+	 * @return the ids of the scope's arguments labelled in
+	 */
+	private BitSet scopeInSet(byte[] scopeLabels) {
+		BitSet in = new BitSet(index.size());
+
+		for(int i = 0; i < scopeLabels.length; i++){
+			if(scopeLabels[i] == IN){
+				in.set(scope[i]);
+			}
+		}
+
+		return in;
+	}
+
+	/**
+	 * @param scopeLabels some labels
+	 * @return the number of in labels
+	 */
+	private static int countIn(byte[] scopeLabels) {
+		int count = 0;
+
+		for(byte label: scopeLabels){
+			if(label == IN){
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @param labellings labellings of all arguments
+	 * @param framework the framework the labellings belong to
+	 * @return their in-sets as extensions, in the usual order
+	 */
+	static ArrayList<Extension> toExtensions(ArrayList<byte[]> labellings, Framework framework) {
+		ArrayList<Extension> extensions = new ArrayList<Extension>();
+
+		for(byte[] labelling: labellings){
+			extensions.add(new Extension(inSet(labelling), framework));
+		}
+		Framework.sortExtensions(extensions);
+
+		return extensions;
+	}
+
+	/**
+	 * @param in the in-set of a complete labelling
+	 * @param framework the framework the labelling belongs to
+	 * @return an instruction coloring the in arguments green, the out arguments red and the undec ones blue
+	 */
+	static GraphInstruction toInstruction(BitSet in, Framework framework) {
+		ArrayList<SingleInstruction> nodeInstructions = new ArrayList<SingleInstruction>();
+		BitSet out = new Extension(in, framework).getRange();
+
+		for(Argument a: framework.getArguments()){
+			Color color = in.get(a.getId()) ? Color.GREEN : (out.get(a.getId()) ? Color.RED : Color.BLUE);
+			nodeInstructions.add(new SingleInstruction(a.getId(), color));
+		}
+
+		return new GraphInstruction(nodeInstructions, null);
+	}
+}
@@ -0,0 +1,108 @@
+package logic;
+
+import interactor.Command;
+import interactor.Trace;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Fork/join task that tests a range of extensions, splitting the range in halves
+ * until it is small enough to be tested by one thread
+ * @details every task collects the accepted extensions and the commands written while testing
+ * 			on its own, and a parent appends the results of its left half before the ones of its
+ * 			right half, so the outcome is the same as that of a sequential loop
+ * @author Patrick Bellositz
+ */
+public class ParallelFilter extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private Framework framework; //framework of the extensions
+	private Trace<?> trace; //trace explaining the computation, null if it is not traced
+	private ArrayList<Extension> extensions; //all extensions to be tested
+	private Predicate<Extension> test; //the test an extension has to pass
+	private int from, to; //range of extensions tested by this task
+	private int threshold; //size of a range that is not split any more
+	private ArrayList<Extension> accepted; //extensions of the range that passed the test, in order
+	private ArrayList<Command> commands; //commands written while testing the range, in order
+
+	private ParallelFilter(Framework framework, Trace<?> trace, ArrayList<Extension> extensions, Predicate<Extension> test, int from, int to, int threshold) {
+		this.framework = framework;
+		this.trace = trace;
+		this.extensions = extensions;
+		this.test = test;
+		this.from = from;
+		this.to = to;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * tests all extensions, using the framework's thread pool if its parallelism is above one
+	 * @param framework the framework of the extensions
+	 * @param extensions the extensions to be tested
+	 * @param test the test an extension has to pass
+	 * @return the extensions that passed the test, in their original order
+	 */
+	public static ArrayList<Extension> filter(Framework framework, ArrayList<Extension> extensions, Predicate<Extension> test) {
+		int parallelism = framework.getParallelism();
+		Trace<?> trace = Trace.getProducing();
+
+		if(parallelism <= 1){
+			ArrayList<Extension> accepted = new ArrayList<Extension>();
+			for(Extension e: extensions){
+				Trace.checkCancelled(trace);
+				if(test.test(e)){
+					accepted.add(e);
+				}
+			}
+			return accepted;
+		}
+
+		int threshold = Math.max(1, extensions.size() / (8*parallelism)); //some tasks per thread, to balance the load
+		ParallelFilter root = new ParallelFilter(framework, trace, extensions, test, 0, extensions.size(), threshold);
+
+		Framework.getPool(parallelism).invoke(root);
+
+		for(Command c: root.commands){
+			framework.addToInteractor(c);
+		}
+
+		return root.accepted;
+	}
+
+	@Override
+	protected void compute() {
+		accepted = new ArrayList<Extension>();
+		commands = new ArrayList<Command>();
+
+		if(to - from <= threshold){
+			ArrayList<Command> previous = framework.setCommandBuffer(commands);
+
+			try{
+				for(int i = from; i < to; i++){
+					Trace.checkCancelled(trace); //the commands are collected, so the test is not ended by writing them
+					if(test.test(extensions.get(i))){
+						accepted.add(extensions.get(i));
+					}
+				}
+			}
+			finally{
+				framework.setCommandBuffer(previous);
+			}
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		ParallelFilter left = new ParallelFilter(framework, trace, extensions, test, from, middle, threshold);
+		ParallelFilter right = new ParallelFilter(framework, trace, extensions, test, middle, to, threshold);
+
+		invokeAll(left, right);
+
+		accepted.addAll(left.accepted);
+		accepted.addAll(right.accepted);
+		commands.addAll(left.commands);
+		commands.addAll(right.commands);
+	}
+}
@@ -0,0 +1,267 @@
+package logic;
+
+import interactor.Command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * Computes complete, stable and preferred extensions by encoding the semantics
+ * as propositional clauses and solving them with the SatSolver
+ * @details the complete encoding has a variable in(a) and out(a) for every argument a, with
+ * 			out(a) iff one attacker of a is in, in(a) iff all attackers of a are out, and never both;
+ * 			the stable encoding has a variable in(a), forbids attacks inside the set and
+ * 			requires every argument to be in or attacked; models are enumerated by adding a
+ * 			clause that blocks every found in-set, and preferred extensions are found by
+ * 			growing a complete extension until no bigger one exists, then excluding all its subsets
+ * @author Patrick Bellositz
+ */
+public class SatEncoder {
+
+	private Framework framework; //framework whose extensions are computed
+	private AttackIndex index; //adjacency index of the framework
+	private boolean write; //whether the results are explained to the interactor
+	private int size; //number of arguments
+
+	/**
+	 * creates an encoder
+	 * @param framework the framework whose extensions are computed
+	 * @param write whether the found extensions are explained to the interactor
+	 */
+	public SatEncoder(Framework framework, boolean write) {
+		this.framework = framework;
+		this.index = framework.getIndex();
+		this.write = write;
+		this.size = index.size();
+	}
+
+	/**
+	 * @return all complete extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getCompleteExtensions() {
+		ArrayList<Extension> complete = enumerate(encodeComplete());
+
+		if(write){
+			for(Extension e: complete){
+				framework.addToInteractor(new Command(e.format() + " satisfies the clauses of complete labellings: every argument is in iff all its attackers are out "
+						+ "and out iff one of its attackers is in. So " + e.format() + " is a complete extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return complete;
+	}
+
+	/**
+	 * @return all stable extensions, ordered like the ones computed from conflict-free sets
+	 */
+	public ArrayList<Extension> getStableExtensions() {
+		ArrayList<Extension> stable = enumerate(encodeStable());
+
+		if(write){
+			for(Extension e: stable){
+				framework.addToInteractor(new Command(e.format() + " satisfies the clauses of stable extensions: it contains no attack "
+						+ "and every other argument is attacked by it. So " + e.format() + " is a stable extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return stable;
+	}
+
+	/**
+	 * @return all preferred extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getPreferredExtensions() {
+		SatSolver solver = encodeComplete();
+		ArrayList<Extension> preferred = new ArrayList<Extension>();
+
+		while(solver.solve()){
+			BitSet in = readIn(solver);
+
+			while(in.cardinality() < size){ //look for a complete extension strictly containing the current one
+				int activation = solver.newVariable();
+				int[] assumptions = new int[in.cardinality()+1];
+				int[] bigger = new int[size-in.cardinality()+1];
+				int a = 0, b = 0;
+
+				assumptions[a++] = activation;
+				bigger[b++] = -activation;
+
+				for(int i = 0; i < size; i++){
+					if(in.get(i)){
+						assumptions[a++] = inVariable(i);
+					}
+					else{
+						bigger[b++] = inVariable(i);
+					}
+				}
+
+				solver.addClause(bigger); //only holds while the activation variable is assumed
+
+				boolean grown = solver.solve(assumptions);
+				solver.addClause(-activation); //switches the clause off for good
+
+				if(!grown){
+					break;
+				}
+
+				in = readIn(solver);
+			}
+
+			preferred.add(new Extension(in, framework));
+			solver.addClause(outside(in)); //later extensions must not be contained in this one
+		}
+
+		Framework.sortExtensions(preferred);
+
+		if(write){
+			for(Extension e: preferred){
+				framework.addToInteractor(new Command(e.format() + " satisfies the clauses of complete labellings and the solver finds no complete labelling "
+						+ "accepting more arguments, so it is a preferred extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * enumerates all models of the clauses, blocking the in-set of every model found
+	 * @param solver a solver holding the clauses
+	 * @return the in-sets of all models, in the usual order
+	 */
+	private ArrayList<Extension> enumerate(SatSolver solver) {
+		ArrayList<Extension> extensions = new ArrayList<Extension>();
+
+		while(solver.solve()){
+			BitSet in = readIn(solver);
+			int[] block = new int[size];
+
+			for(int i = 0; i < size; i++){
+				block[i] = in.get(i) ? -inVariable(i) : inVariable(i);
+			}
+
+			extensions.add(new Extension(in, framework));
+			solver.addClause(block);
+		}
+
+		Framework.sortExtensions(extensions);
+
+		return extensions;
+	}
+
+	/**
+	 * @return a solver holding the clauses whose models are the complete labellings
+	 */
+	private SatSolver encodeComplete() {
+		SatSolver solver = createSolver(2*size);
+
+		for(int a = 0; a < size; a++){
+			int start = index.getAttackerStart(a), end = index.getAttackerEnd(a);
+			int[] someAttackerIn = new int[end-start+1];
+			int[] allAttackersOut = new int[end-start+1];
+
+			someAttackerIn[0] = -outVariable(a);
+			allAttackersOut[0] = inVariable(a);
+
+			for(int i = start; i < end; i++){
+				int b = index.getAttacker(i);
+
+				someAttackerIn[i-start+1] = inVariable(b);
+				allAttackersOut[i-start+1] = -outVariable(b);
+				solver.addClause(-inVariable(b), outVariable(a)); //an attacker in makes a out
+				solver.addClause(-inVariable(a), outVariable(b)); //a in needs all attackers out
+			}
+
+			solver.addClause(someAttackerIn); //a out needs an attacker in
+			solver.addClause(allAttackersOut); //all attackers out make a in
+			solver.addClause(-inVariable(a), -outVariable(a));
+		}
+
+		return solver;
+	}
+
+	/**
+	 * @return a solver holding the clauses whose models are the stable extensions
+	 */
+	private SatSolver encodeStable() {
+		SatSolver solver = createSolver(size);
+
+		for(int a = 0; a < size; a++){
+			int start = index.getAttackerStart(a), end = index.getAttackerEnd(a);
+			int[] inOrAttacked = new int[end-start+1];
+
+			inOrAttacked[0] = inVariable(a);
+
+			for(int i = start; i < end; i++){
+				int b = index.getAttacker(i);
+
+				inOrAttacked[i-start+1] = inVariable(b);
+				solver.addClause(-inVariable(b), -inVariable(a)); //no attack inside the set
+			}
+
+			solver.addClause(inOrAttacked);
+		}
+
+		return solver;
+	}
+
+	/**
+	 * @param variables the number of variables the encoding uses
+	 * @return a solver with these variables
+	 */
+	private SatSolver createSolver(int variables) {
+		SatSolver solver = new SatSolver();
+
+		while(solver.getVariableCount() < variables){
+			solver.newVariable();
+		}
+
+		return solver;
+	}
+
+	/**
+	 * @param in a set of arguments
+	 * @return a clause that holds iff some argument outside the set is in
+	 */
+	private int[] outside(BitSet in) {
+		int[] clause = new int[size-in.cardinality()];
+		int c = 0;
+
+		for(int i = in.nextClearBit(0); i < size; i = in.nextClearBit(i+1)){
+			clause[c++] = inVariable(i);
+		}
+
+		return clause;
+	}
+
+	/**
+	 * @param solver a solver that has found a model
+	 * @return the arguments that are in in the model
+	 */
+	private BitSet readIn(SatSolver solver) {
+		BitSet in = new BitSet(size);
+
+		for(int i = 0; i < size; i++){
+			if(solver.getValue(inVariable(i))){
+				in.set(i);
+			}
+		}
+
+		return in;
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the variable stating that the argument is in
+	 */
+	private int inVariable(int id) {
+		return id+1;
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the variable stating that the argument is out
+	 */
+	private int outVariable(int id) {
+		return size+id+1;
+	}
+}
@@ -0,0 +1,616 @@
+package logic;
+
+import interactor.Trace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A small conflict-driven clause learning (CDCL) SAT solver in plain Java
+ * @details literals are given like in the DIMACS format: variable v (starting at 1)
+ * 			is the literal v, its negation -v; the solver uses two watched literals
+ * 			per clause, first-UIP clause learning, VSIDS variable activities kept in a heap,
+ * 			phase saving and Luby restarts; clauses may be added between calls of solve,
+ * 			and solve accepts assumptions that only hold for that call
+ * @author Patrick Bellositz
+ */
+public class SatSolver {
+
+	/**
+	 * number of conflicts of the first restart interval, multiplied by the Luby sequence
+	 */
+	private static final int RESTART_BASE = 100;
+
+	/**
+	 * factor by which variable activities decay after every conflict
+	 */
+	private static final double ACTIVITY_DECAY = 0.95;
+
+	private int variables; //number of variables
+	private ArrayList<int[]> clauses; //original and learnt clauses as internal literals (2*variable + sign)
+	private IntList[] watches; //for every internal literal the clauses watching it
+	private byte[] values; //for every variable 1 (true), -1 (false) or 0 (unassigned)
+	private int[] levels; //decision level at which every variable was assigned
+	private int[] reasons; //clause that implied every variable, -1 for decisions
+	private boolean[] phases; //last value of every variable, tried first at the next decision
+	private boolean[] seen; //marks used during conflict analysis
+	private int[] trail; //assigned literals in order
+	private int trailSize; //number of assigned literals
+	private IntList trailLimits; //trail size at the start of every decision level
+	private int propagated; //number of trail literals whose consequences have been propagated
+	private double[] activities; //VSIDS activity of every variable
+	private double increment; //amount by which a variable's activity is bumped
+	private int[] heap; //unassigned (and possibly assigned) variables ordered by activity
+	private int[] heapPositions; //position of every variable in the heap, -1 if not contained
+	private int heapSize; //number of variables in the heap
+	private boolean unsatisfiable; //whether the clauses are contradictory without any assumption
+	private boolean[] model; //value of every variable in the last model found
+	private Trace<?> trace; //trace explaining the computation the solver is used by, null if it is not traced
+
+	/**
+	 * creates a solver without variables or clauses
+	 */
+	public SatSolver() {
+		trace = Trace.getProducing();
+		clauses = new ArrayList<int[]>();
+		trailLimits = new IntList();
+		increment = 1;
+		ensureVariables(0);
+	}
+
+	/**
+	 * adds a new variable
+	 * @return the new variable (a positive literal)
+	 */
+	public int newVariable() {
+		ensureVariables(variables+1);
+		return variables;
+	}
+
+	/**
+	 * @return the number of variables
+	 */
+	public int getVariableCount() {
+		return variables;
+	}
+
+	/**
+	 * adds a clause, creating the variables it mentions if necessary
+	 * @param literals the literals of the clause, in DIMACS notation
+	 */
+	public void addClause(int... literals) {
+		if(unsatisfiable){
+			return;
+		}
+
+		cancelUntil(0);
+
+		int[] clause = new int[literals.length];
+		int size = 0;
+
+		for(int literal: literals){
+			if(literal == 0){
+				throw new IllegalArgumentException("0 is not a literal!");
+			}
+
+			ensureVariables(Math.abs(literal));
+			int internal = toInternal(literal);
+
+			if(value(internal) == 1){ //satisfied at the top level
+				return;
+			}
+			if(value(internal) == -1){ //false at the top level, so it can be left out
+				continue;
+			}
+
+			boolean duplicate = false;
+			for(int i = 0; i < size; i++){
+				if(clause[i] == internal){
+					duplicate = true;
+				}
+				else if(clause[i] == (internal ^ 1)){ //tautology
+					return;
+				}
+			}
+
+			if(!duplicate){
+				clause[size++] = internal;
+			}
+		}
+
+		if(size == 0){
+			unsatisfiable = true;
+		}
+		else if(size == 1){
+			enqueue(clause[0], -1);
+			if(propagate() >= 0){
+				unsatisfiable = true;
+			}
+		}
+		else{
+			attach(Arrays.copyOf(clause, size));
+		}
+	}
+
+	/**
+	 * searches a model of the clauses
+	 * @param assumptions literals that have to hold in the model, only for this call
+	 * @return whether a model was found; it can be read with getValue
+	 */
+	public boolean solve(int... assumptions) {
+		if(unsatisfiable){
+			return false;
+		}
+
+		int[] internalAssumptions = new int[assumptions.length];
+		for(int i = 0; i < assumptions.length; i++){
+			ensureVariables(Math.abs(assumptions[i]));
+			internalAssumptions[i] = toInternal(assumptions[i]);
+		}
+
+		cancelUntil(0);
+
+		int restart = 0;
+		while(true){
+			int result = search(internalAssumptions, luby(restart++) * RESTART_BASE);
+
+			if(result != 0){
+				cancelUntil(0);
+				return result > 0;
+			}
+		}
+	}
+
+	/**
+	 * @param variable a variable
+	 * @return the value of the variable in the last model found
+	 */
+	public boolean getValue(int variable) {
+		return model[variable-1];
+	}
+
+	/**
+	 * runs the search until a model is found, the assumptions are refuted or the conflict limit is reached
+	 * @param assumptions the assumptions as internal literals
+	 * @param conflictLimit number of conflicts after which the search restarts
+	 * @return 1 for a model, -1 for unsatisfiability, 0 for a restart
+	 */
+	private int search(int[] assumptions, int conflictLimit) {
+		int conflicts = 0;
+
+		while(true){
+			Trace.checkCancelled(trace); //a search can take long without writing a command
+
+			int conflict = propagate();
+
+			if(conflict >= 0){
+				conflicts++;
+
+				if(getLevel() == 0){
+					unsatisfiable = true;
+					return -1;
+				}
+
+				learn(conflict);
+				increment /= ACTIVITY_DECAY;
+			}
+			else{
+				if(conflicts >= conflictLimit){
+					cancelUntil(0);
+					return 0;
+				}
+
+				int next = -1;
+
+				while(getLevel() < assumptions.length){ //assumptions are decided first, one per level
+					int assumption = assumptions[getLevel()];
+
+					if(value(assumption) == 1){
+						trailLimits.add(trailSize); //already true, so the level stays empty
+					}
+					else if(value(assumption) == -1){
+						return -1;
+					}
+					else{
+						next = assumption;
+						break;
+					}
+				}
+
+				if(next == -1){
+					int variable = pickVariable();
+
+					if(variable == -1){ //everything is assigned without conflict
+						model = new boolean[variables];
+						for(int i = 0; i < variables; i++){
+							model[i] = values[i] == 1;
+						}
+						return 1;
+					}
+
+					next = 2*variable + (phases[variable] ? 0 : 1);
+				}
+
+				trailLimits.add(trailSize);
+				enqueue(next, -1);
+			}
+		}
+	}
+
+	/**
+	 * propagates all assignments on the trail through the watched literals
+	 * @return the index of a clause that became false, -1 if there is none
+	 */
+	private int propagate() {
+		while(propagated < trailSize){
+			int falseLiteral = trail[propagated++] ^ 1;
+			IntList watching = watches[falseLiteral];
+			int i = 0, j = 0;
+
+			while(i < watching.size){
+				int index = watching.data[i++];
+				int[] clause = clauses.get(index);
+
+				if(clause[0] == falseLiteral){ //the false literal is kept at position 1
+					clause[0] = clause[1];
+					clause[1] = falseLiteral;
+				}
+
+				if(value(clause[0]) == 1){
+					watching.data[j++] = index;
+					continue;
+				}
+
+				boolean moved = false;
+				for(int k = 2; k < clause.length; k++){
+					if(value(clause[k]) != -1){ //watch this literal instead
+						clause[1] = clause[k];
+						clause[k] = falseLiteral;
+						watches[clause[1]].add(index);
+						moved = true;
+						break;
+					}
+				}
+
+				if(moved){
+					continue;
+				}
+
+				watching.data[j++] = index;
+
+				if(value(clause[0]) == -1){
+					while(i < watching.size){
+						watching.data[j++] = watching.data[i++];
+					}
+					watching.size = j;
+					propagated = trailSize;
+					return index;
+				}
+
+				enqueue(clause[0], index);
+			}
+
+			watching.size = j;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * derives a clause from a conflict (first unique implication point), jumps back and asserts it
+	 * @param conflict the index of the clause that became false
+	 */
+	private void learn(int conflict) {
+		IntList learnt = new IntList();
+		int pending = 0;
+		int literal = -1;
+		int position = trailSize-1;
+		int index = conflict;
+
+		learnt.add(-1); //place of the asserting literal
+
+		do{
+			int[] clause = clauses.get(index);
+
+			for(int k = (literal == -1) ? 0 : 1; k < clause.length; k++){
+				int variable = clause[k] >> 1;
+
+				if(!seen[variable] && levels[variable] > 0){
+					seen[variable] = true;
+					bump(variable);
+
+					if(levels[variable] >= getLevel()){
+						pending++;
+					}
+					else{
+						learnt.add(clause[k]);
+					}
+				}
+			}
+
+			while(!seen[trail[position] >> 1]){
+				position--;
+			}
+
+			literal = trail[position--];
+			index = reasons[literal >> 1];
+			seen[literal >> 1] = false;
+			pending--;
+		} while(pending > 0);
+
+		learnt.data[0] = literal ^ 1;
+
+		int backtrackLevel = 0;
+		for(int i = 1; i < learnt.size; i++){ //the literal of the highest level is watched second
+			seen[learnt.data[i] >> 1] = false;
+
+			if(levels[learnt.data[i] >> 1] > backtrackLevel){
+				backtrackLevel = levels[learnt.data[i] >> 1];
+				int tmp = learnt.data[1];
+				learnt.data[1] = learnt.data[i];
+				learnt.data[i] = tmp;
+			}
+		}
+
+		cancelUntil(backtrackLevel);
+
+		if(learnt.size == 1){
+			enqueue(learnt.data[0], -1);
+		}
+		else{
+			int[] clause = Arrays.copyOf(learnt.data, learnt.size);
+			attach(clause);
+			enqueue(clause[0], clauses.size()-1);
+		}
+	}
+
+	/**
+	 * stores a clause of at least two literals and watches its first two literals
+	 * @param clause the clause
+	 */
+	private void attach(int[] clause) {
+		clauses.add(clause);
+		watches[clause[0]].add(clauses.size()-1);
+		watches[clause[1]].add(clauses.size()-1);
+	}
+
+	/**
+	 * makes a literal true
+	 * @param literal the internal literal
+	 * @param reason the clause implying it, -1 for decisions and top level facts
+	 */
+	private void enqueue(int literal, int reason) {
+		int variable = literal >> 1;
+
+		values[variable] = (byte) (((literal & 1) == 0) ? 1 : -1);
+		levels[variable] = getLevel();
+		reasons[variable] = reason;
+		trail[trailSize++] = literal;
+	}
+
+	/**
+	 * removes all assignments above the given decision level
+	 * @param level the decision level to return to
+	 */
+	private void cancelUntil(int level) {
+		if(getLevel() <= level){
+			return;
+		}
+
+		int limit = trailLimits.data[level];
+
+		for(int i = trailSize-1; i >= limit; i--){
+			int variable = trail[i] >> 1;
+			phases[variable] = values[variable] == 1;
+			values[variable] = 0;
+			reasons[variable] = -1;
+			heapInsert(variable);
+		}
+
+		trailSize = limit;
+		propagated = limit;
+		trailLimits.size = level;
+	}
+
+	/**
+	 * @return the unassigned variable with the highest activity, -1 if all are assigned
+	 */
+	private int pickVariable() {
+		while(heapSize > 0){
+			int variable = heapRemoveTop();
+			if(values[variable] == 0){
+				return variable;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * raises the activity of a variable involved in a conflict
+	 * @param variable the variable
+	 */
+	private void bump(int variable) {
+		activities[variable] += increment;
+
+		if(activities[variable] > 1e100){ //rescale to stay within double range
+			for(int i = 0; i < variables; i++){
+				activities[i] *= 1e-100;
+			}
+			increment *= 1e-100;
+		}
+
+		if(heapPositions[variable] >= 0){
+			heapUp(heapPositions[variable]);
+		}
+	}
+
+	/**
+	 * @return the current decision level
+	 */
+	private int getLevel() {
+		return trailLimits.size;
+	}
+
+	/**
+	 * @param literal an internal literal
+	 * @return 1 if it is true, -1 if it is false, 0 if it is unassigned
+	 */
+	private int value(int literal) {
+		int value = values[literal >> 1];
+		return ((literal & 1) == 0) ? value : -value;
+	}
+
+	/**
+	 * @param literal a literal in DIMACS notation
+	 * @return the internal literal
+	 */
+	private static int toInternal(int literal) {
+		return (literal > 0) ? 2*(literal-1) : 2*(-literal-1) + 1;
+	}
+
+	/**
+	 * @param i the position in the Luby sequence, starting at 0
+	 * @return the i-th element of the Luby sequence (1, 1, 2, 1, 1, 2, 4, ...)
+	 */
+	private static int luby(int i) {
+		int size = 1, exponent = 0;
+
+		while(size < i+1){ //smallest complete subsequence containing position i
+			size = 2*size + 1;
+			exponent++;
+		}
+
+		while(size-1 != i){
+			size = (size-1) / 2;
+			exponent--;
+			i = i % size;
+		}
+
+		return 1 << exponent;
+	}
+
+	/**
+	 * grows all per-variable arrays
+	 * @param count the number of variables needed
+	 */
+	private void ensureVariables(int count) {
+		if(values != null && count <= variables){
+			return;
+		}
+
+		int capacity = (values == null) ? Math.max(count, 16) : values.length;
+		if(values == null || count > values.length){
+			while(capacity < count){
+				capacity *= 2;
+			}
+
+			values = (values == null) ? new byte[capacity] : Arrays.copyOf(values, capacity);
+			levels = (levels == null) ? new int[capacity] : Arrays.copyOf(levels, capacity);
+			reasons = (reasons == null) ? new int[capacity] : Arrays.copyOf(reasons, capacity);
+			phases = (phases == null) ? new boolean[capacity] : Arrays.copyOf(phases, capacity);
+			seen = (seen == null) ? new boolean[capacity] : Arrays.copyOf(seen, capacity);
+			trail = (trail == null) ? new int[capacity] : Arrays.copyOf(trail, capacity);
+			activities = (activities == null) ? new double[capacity] : Arrays.copyOf(activities, capacity);
+			heap = (heap == null) ? new int[capacity] : Arrays.copyOf(heap, capacity);
+			heapPositions = (heapPositions == null) ? new int[capacity] : Arrays.copyOf(heapPositions, capacity);
+			watches = (watches == null) ? new IntList[2*capacity] : Arrays.copyOf(watches, 2*capacity);
+		}
+
+		for(int v = variables; v < count; v++){
+			reasons[v] = -1;
+			heapPositions[v] = -1;
+			watches[2*v] = new IntList();
+			watches[2*v+1] = new IntList();
+			heapInsert(v);
+		}
+
+		variables = count;
+	}
+
+	/**
+	 * @param variable a variable to be put into the heap if it is not contained
+	 */
+	private void heapInsert(int variable) {
+		if(heapPositions[variable] >= 0){
+			return;
+		}
+
+		heap[heapSize] = variable;
+		heapPositions[variable] = heapSize;
+		heapUp(heapSize++);
+	}
+
+	/**
+	 * @return the variable with the highest activity, removed from the heap
+	 */
+	private int heapRemoveTop() {
+		int top = heap[0];
+
+		heap[0] = heap[--heapSize];
+		heapPositions[heap[0]] = 0;
+		heapPositions[top] = -1;
+
+		if(heapSize > 0){
+			heapDown(0);
+		}
+
+		return top;
+	}
+
+	/**
+	 * @param position a heap position whose variable may have to move up
+	 */
+	private void heapUp(int position) {
+		int variable = heap[position];
+
+		while(position > 0 && activities[heap[(position-1)/2]] < activities[variable]){
+			heap[position] = heap[(position-1)/2];
+			heapPositions[heap[position]] = position;
+			position = (position-1)/2;
+		}
+
+		heap[position] = variable;
+		heapPositions[variable] = position;
+	}
+
+	/**
+	 * @param position a heap position whose variable may have to move down
+	 */
+	private void heapDown(int position) {
+		int variable = heap[position];
+
+		while(2*position+1 < heapSize){
+			int child = 2*position+1;
+
+			if(child+1 < heapSize && activities[heap[child+1]] > activities[heap[child]]){
+				child++;
+			}
+			if(activities[heap[child]] <= activities[variable]){
+				break;
+			}
+
+			heap[position] = heap[child];
+			heapPositions[heap[position]] = position;
+			position = child;
+		}
+
+		heap[position] = variable;
+		heapPositions[variable] = position;
+	}
+
+	/**
+	 * growable list of ints, used for watch lists and learnt clauses
+	 */
+	private static class IntList {
+		private int[] data = new int[4];
+		private int size;
+
+		private void add(int value) {
+			if(size == data.length){
+				data = Arrays.copyOf(data, 2*size);
+			}
+			data[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * The strongly connected components of a framework's attack graph, in topological order
+ * @details components are found by an iterative version of Tarjan's algorithm on the attack index,
+ * 			in O(|arguments| + |attacks|); a component comes after all components attacking it, and its
+ * 			level is the length of the longest chain of components attacking it, so components of the
+ * 			same level never attack each other
+ * @author Patrick Bellositz
+ */
+public class SccDecomposition {
+
+	private int[] component; //for every argument the topological number of its component
+	private int[][] members; //for every component the ids of its arguments, ascending
+	private int[] levels; //for every component its level
+	private int levelCount; //number of different levels
+
+	/**
+	 * decomposes the attack graph of a framework
+	 * @param index the adjacency index of the framework
+	 */
+	public SccDecomposition(AttackIndex index) {
+		int size = index.size();
+		int[] order = new int[size]; //visiting number of every argument, -1 if not visited
+		int[] low = new int[size]; //lowest visiting number reachable from every argument
+		int[] next = new int[size]; //position of the next attack of every argument to be followed
+		boolean[] onStack = new boolean[size];
+		int[] stack = new int[size]; //visited arguments whose component is not complete yet
+		int[] path = new int[size]; //arguments whose attacks are being followed, replacing the recursion
+		int stackSize = 0, pathSize = 0, counter = 0, count = 0;
+
+		component = new int[size];
+		Arrays.fill(order, -1);
+
+		for(int start = 0; start < size; start++){
+			if(order[start] >= 0){
+				continue;
+			}
+
+			order[start] = low[start] = counter++;
+			next[start] = index.getAttackedStart(start);
+			stack[stackSize++] = start;
+			onStack[start] = true;
+			path[pathSize++] = start;
+
+			while(pathSize > 0){
+				int v = path[pathSize-1];
+
+				if(next[v] < index.getAttackedEnd(v)){
+					int w = index.getAttacked(next[v]++);
+
+					if(order[w] < 0){
+						order[w] = low[w] = counter++;
+						next[w] = index.getAttackedStart(w);
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						path[pathSize++] = w;
+					}
+					else if(onStack[w]){
+						low[v] = Math.min(low[v], order[w]);
+					}
+					continue;
+				}
+
+				pathSize--;
+				if(pathSize > 0){
+					int parent = path[pathSize-1];
+					low[parent] = Math.min(low[parent], low[v]);
+				}
+
+				if(low[v] == order[v]){ //v is the root of a component, which is popped from the stack
+					int w;
+					do{
+						w = stack[--stackSize];
+						onStack[w] = false;
+						component[w] = count;
+					} while(w != v);
+					count++;
+				}
+			}
+		}
+
+		int[] sizes = new int[count];
+		for(int i = 0; i < size; i++){ //components are completed downstream first, so their numbers are reversed
+			component[i] = count-1 - component[i];
+			sizes[component[i]]++;
+		}
+
+		members = new int[count][];
+		for(int c = 0; c < count; c++){
+			members[c] = new int[sizes[c]];
+			sizes[c] = 0;
+		}
+		for(int i = 0; i < size; i++){
+			members[component[i]][sizes[component[i]]++] = i;
+		}
+
+		levels = new int[count];
+		for(int c = 0; c < count; c++){
+			for(int id: members[c]){
+				for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+					int upstream = component[index.getAttacker(i)];
+
+					if(upstream != c){
+						levels[c] = Math.max(levels[c], levels[upstream]+1);
+					}
+				}
+			}
+			levelCount = Math.max(levelCount, levels[c]+1);
+		}
+	}
+
+	/**
+	 * @return the number of components
+	 */
+	public int getComponentCount() {
+		return members.length;
+	}
+
+	/**
+	 * @param id the id of an argument
+	 * @return the topological number of the argument's component
+	 */
+	public int getComponent(int id) {
+		return component[id];
+	}
+
+	/**
+	 * @param component the topological number of a component
+	 * @return the ids of the component's arguments, ascending
+	 */
+	public int[] getMembers(int component) {
+		return members[component];
+	}
+
+	/**
+	 * @param component the topological number of a component
+	 * @return the length of the longest chain of components attacking it
+	 */
+	public int getLevel(int component) {
+		return levels[component];
+	}
+
+	/**
+	 * @return the number of different levels
+	 */
+	public int getLevelCount() {
+		return levelCount;
+	}
+}
@@ -0,0 +1,356 @@
+package logic;
+
+import interactor.Command;
+import interactor.Trace;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes complete, stable and preferred extensions one strongly connected component at a time
+ * @details the components are labelled in topological order, each one given the labels of the
+ * 			arguments attacking it from earlier components; every partial labelling is continued with
+ * 			all complete (stable, or maximal complete for preferred) labellings of the next components,
+ * 			so the search only branches within a component; components of the same level are labelled
+ * 			independently, in parallel if the framework's parallelism is above one, and a component
+ * 			is labelled only once for every combination of labels of its attackers
+ * @author Patrick Bellositz
+ */
+public class SccSolver {
+
+	private Framework framework; //framework whose extensions are computed
+	private AttackIndex index; //adjacency index of the framework
+	private boolean write; //whether the results are explained to the interactor
+	private Trace<?> trace; //trace explaining the computation, null if it is not traced
+	private SccDecomposition decomposition; //the components of the framework
+	private ThreadLocal<LabellingSolver> solvers; //one labelling solver per thread, reused for all components
+	private int[][] upstreamAttackers; //for every component the arguments of earlier components attacking it
+
+	/**
+	 * creates a solver and decomposes the framework into its components
+	 * @param framework the framework whose extensions are computed
+	 * @param write whether the components and the found extensions are explained to the interactor
+	 */
+	public SccSolver(final Framework framework, boolean write) {
+		this.framework = framework;
+		this.index = framework.getIndex();
+		this.write = write;
+		this.trace = Trace.getProducing();
+		this.decomposition = new SccDecomposition(index);
+		this.upstreamAttackers = findUpstreamAttackers();
+		this.solvers = new ThreadLocal<LabellingSolver>(){
+			@Override
+			protected LabellingSolver initialValue() {
+				return new LabellingSolver(framework, false, trace); //created on the pool's threads, which produce no trace
+			}
+		};
+	}
+
+	/**
+	 * @return all complete extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getCompleteExtensions() {
+		ArrayList<Extension> complete = LabellingSolver.toExtensions(solve(false, false), framework);
+
+		if(write){
+			explainDecomposition();
+			for(Extension e: complete){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a labelling that is complete on every component, given the labels "
+						+ "of the components before it. So " + e.format() + " is a complete extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return complete;
+	}
+
+	/**
+	 * @return all stable extensions, ordered like the ones computed from conflict-free sets
+	 */
+	public ArrayList<Extension> getStableExtensions() {
+		ArrayList<Extension> stable = LabellingSolver.toExtensions(solve(true, false), framework);
+
+		if(write){
+			explainDecomposition();
+			for(Extension e: stable){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a labelling without undec arguments that is complete on every component, "
+						+ "given the labels of the components before it. So " + e.format() + " is a stable extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return stable;
+	}
+
+	/**
+	 * @return all preferred extensions, ordered like the ones computed from admissible extensions
+	 */
+	public ArrayList<Extension> getPreferredExtensions() {
+		ArrayList<Extension> preferred = LabellingSolver.toExtensions(solve(false, true), framework);
+
+		if(write){
+			explainDecomposition();
+			for(Extension e: preferred){
+				framework.addToInteractor(new Command(e.format() + " is the in-set of a labelling that accepts as many arguments as possible on every component, "
+						+ "given the labels of the components before it. So " + e.format() + " is a preferred extension.", LabellingSolver.toInstruction(e.getMembers(), framework)));
+			}
+		}
+
+		return preferred;
+	}
+
+	/**
+	 * labels the components level by level
+	 * @param stableOnly whether only labellings without undec arguments are wanted
+	 * @param maximalOnly whether only the labellings with a maximal in-set within every component are wanted
+	 * @return the labellings of all arguments
+	 */
+	private ArrayList<byte[]> solve(boolean stableOnly, boolean maximalOnly) {
+		ArrayList<byte[]> partials = new ArrayList<byte[]>();
+		ArrayList<ArrayList<Integer>> byLevel = new ArrayList<ArrayList<Integer>>();
+
+		partials.add(new byte[index.size()]);
+
+		for(int l = 0; l < decomposition.getLevelCount(); l++){
+			byLevel.add(new ArrayList<Integer>());
+		}
+		for(int c = 0; c < decomposition.getComponentCount(); c++){
+			byLevel.get(decomposition.getLevel(c)).add(c);
+		}
+
+		for(ArrayList<Integer> level: byLevel){
+			ArrayList<ComponentTask> tasks = new ArrayList<ComponentTask>();
+			ComponentTask[][] chosen = new ComponentTask[partials.size()][level.size()];
+
+			for(int k = 0; k < level.size(); k++){ //one task for every component and every combination of labels of its attackers
+				int[] scope = decomposition.getMembers(level.get(k));
+				int[] attackers = upstreamAttackers[level.get(k)];
+				HashMap<ByteBuffer, ComponentTask> known = new HashMap<ByteBuffer, ComponentTask>();
+
+				for(int p = 0; p < partials.size(); p++){
+					byte[] key = new byte[attackers.length];
+					for(int i = 0; i < attackers.length; i++){
+						key[i] = partials.get(p)[attackers[i]];
+					}
+
+					ComponentTask task = known.get(ByteBuffer.wrap(key));
+					if(task == null){
+						task = new ComponentTask(scope, partials.get(p), stableOnly, maximalOnly);
+						known.put(ByteBuffer.wrap(key), task);
+						tasks.add(task);
+					}
+					chosen[p][k] = task;
+				}
+			}
+
+			if(framework.getParallelism() > 1 && tasks.size() > 1){
+				Framework.getPool(framework.getParallelism()).invoke(new LevelTask(tasks));
+			}
+			else{
+				for(ComponentTask task: tasks){
+					task.run();
+				}
+			}
+
+			ArrayList<byte[]> continued = new ArrayList<byte[]>();
+			for(int p = 0; p < partials.size(); p++){
+				combine(partials.get(p), level, chosen[p], continued);
+			}
+			partials = continued;
+		}
+
+		return partials;
+	}
+
+	/**
+	 * continues a partial labelling with every combination of the labellings of the level's components
+	 * @param partial the labelling of the earlier levels
+	 * @param level the components of the level
+	 * @param chosen for every component of the level the task that labelled it given the partial labelling
+	 * @param continued the list the complete combinations are added to
+	 */
+	private void combine(byte[] partial, ArrayList<Integer> level, ComponentTask[] chosen, ArrayList<byte[]> continued) {
+		ArrayList<byte[]> current = new ArrayList<byte[]>();
+		current.add(partial);
+
+		for(int k = 0; k < level.size() && !current.isEmpty(); k++){
+			int[] scope = decomposition.getMembers(level.get(k));
+			ArrayList<byte[]> labellings = chosen[k].labellings;
+			ArrayList<byte[]> next = new ArrayList<byte[]>();
+
+			for(byte[] labels: current){
+				Trace.checkCancelled(trace);
+
+				for(int j = 0; j < labellings.size(); j++){
+					byte[] extended = (j == labellings.size()-1) ? labels : labels.clone(); //the last one may reuse the array
+
+					for(int i = 0; i < scope.length; i++){
+						extended[scope[i]] = labellings.get(j)[i];
+					}
+					next.add(extended);
+				}
+			}
+
+			current = next;
+		}
+
+		continued.addAll(current);
+	}
+
+	/**
+	 * @return for every component the ids of the arguments of earlier components attacking it, without repetitions
+	 */
+	private int[][] findUpstreamAttackers() {
+		int[][] attackers = new int[decomposition.getComponentCount()][];
+		int[] lastAttacked = new int[index.size()]; //for every argument the last component found to be attacked by it
+		int[] ids = new int[index.size()];
+
+		Arrays.fill(lastAttacked, -1);
+
+		for(int c = 0; c < attackers.length; c++){
+			int k = 0;
+
+			for(int id: decomposition.getMembers(c)){
+				for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+					int attacker = index.getAttacker(i);
+
+					if(decomposition.getComponent(attacker) != c && lastAttacked[attacker] != c){
+						lastAttacked[attacker] = c;
+						ids[k++] = attacker;
+					}
+				}
+			}
+
+			attackers[c] = Arrays.copyOf(ids, k);
+		}
+
+		return attackers;
+	}
+
+	/**
+	 * labels a single argument that does not attack itself, whose label is forced by its attackers
+	 * @param id the id of the argument
+	 * @param labels the labels of its attackers
+	 * @return the label of the argument
+	 */
+	private byte labelAlone(int id, byte[] labels) {
+		boolean undec = false;
+
+		for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+			byte label = labels[index.getAttacker(i)];
+
+			if(label == LabellingSolver.IN){
+				return LabellingSolver.OUT;
+			}
+			if(label == LabellingSolver.UNDEC){
+				undec = true;
+			}
+		}
+
+		return undec ? LabellingSolver.UNDEC : LabellingSolver.IN;
+	}
+
+	/**
+	 * writes the components of the framework to the interactor
+	 */
+	private void explainDecomposition() {
+		String components = "";
+
+		for(int c = 0; c < decomposition.getComponentCount(); c++){
+			components += "{";
+			for(int id: decomposition.getMembers(c)){
+				components += framework.getArgument(id).getLabel() + ", ";
+			}
+			components = components.substring(0, components.length()-2) + "}, ";
+		}
+
+		if(components.length() > 1){
+			components = components.substring(0, components.length()-2);
+		}
+
+		framework.addToInteractor(new Command("The arguments form the strongly connected components " + components
+				+ ". Every component is labelled after the components attacking it, given their labels.", null));
+	}
+
+	/**
+	 * labelling of one component given one combination of labels of its attackers
+	 */
+	private class ComponentTask {
+		private int[] scope; //the ids of the component's arguments
+		private byte[] context; //a partial labelling with the labels of the attackers
+		private boolean stableOnly, maximalOnly; //which labellings are wanted
+		private ArrayList<byte[]> labellings; //for every labelling found the labels of the scope
+
+		private ComponentTask(int[] scope, byte[] context, boolean stableOnly, boolean maximalOnly) {
+			this.scope = scope;
+			this.context = context;
+			this.stableOnly = stableOnly;
+			this.maximalOnly = maximalOnly;
+		}
+
+		/**
+		 * labels the component; only the component's entries of the context are written, and they are blank again afterwards,
+		 * so tasks of different components may share a context
+		 */
+		private void run() {
+			labellings = new ArrayList<byte[]>();
+
+			if(scope.length == 1 && !attacksItself(scope[0])){
+				byte label = labelAlone(scope[0], context);
+
+				if(!stableOnly || label != LabellingSolver.UNDEC){
+					labellings.add(new byte[]{label});
+				}
+				return;
+			}
+
+			labellings = solvers.get().getScopeLabellings(scope, context, stableOnly, maximalOnly);
+		}
+
+		/**
+		 * @param id the id of an argument
+		 * @return whether it attacks itself
+		 */
+		private boolean attacksItself(int id) {
+			for(int i = index.getAttackerStart(id); i < index.getAttackerEnd(id); i++){
+				if(index.getAttacker(i) == id){
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Fork/join task running the component tasks of one level, which do not depend on each other
+	 */
+	private class LevelTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private ArrayList<ComponentTask> tasks; //the component tasks of the level
+
+		private LevelTask(ArrayList<ComponentTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected void compute() {
+			ArrayList<RecursiveAction> actions = new ArrayList<RecursiveAction>();
+
+			for(final ComponentTask task: tasks){
+				actions.add(new RecursiveAction(){
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected void compute() {
+						task.run();
+					}
+				});
+			}
+
+			invokeAll(actions);
+		}
+	}
+}
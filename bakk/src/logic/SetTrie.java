@@ -0,0 +1,136 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Set-trie over sets of argument ids, answering whether a stored set contains a given set
+ * @details every stored set is a path of its ids in ascending order; a superset query walks
+ * 			only the children whose id is not bigger than the next id of the query, so it does
+ * 			not compare the query with every stored set
+ * @param <T> the type of the values stored with the sets
+ * @author Patrick Bellositz
+ */
+public class SetTrie<T> {
+
+	private Node<T> root; //node of the empty prefix
+	private int size; //number of stored sets
+
+	/**
+	 * creates an empty set-trie
+	 */
+	public SetTrie() {
+		root = new Node<T>();
+	}
+
+	/**
+	 * stores a set, replacing the value of an equal set stored before
+	 * @param set the ids of the set
+	 * @param value the value stored with the set
+	 */
+	public void add(BitSet set, T value) {
+		Node<T> node = root;
+
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i+1)){
+			node = node.getOrCreateChild(i);
+		}
+
+		if(node.value == null){
+			size++;
+		}
+		node.value = value;
+	}
+
+	/**
+	 * @param set the ids of a set
+	 * @return the value of a stored set containing the given set (possibly equal to it), null if there is none
+	 */
+	public T getSuperset(BitSet set) {
+		int[] ids = new int[set.cardinality()];
+		int c = 0;
+
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i+1)){
+			ids[c++] = i;
+		}
+
+		return findSuperset(root, ids, 0);
+	}
+
+	/**
+	 * @return the number of stored sets
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param node the node reached so far
+	 * @param ids the ids of the query in ascending order
+	 * @param next position of the next id that still has to be found on the path
+	 * @return the value of a stored set below the node containing the remaining ids, null if there is none
+	 */
+	private T findSuperset(Node<T> node, int[] ids, int next) {
+		if(next == ids.length){ //every set below the node is a superset
+			while(node.value == null && node.childCount > 0){ //only the root of an empty trie has neither
+				node = node.children[0];
+			}
+			return node.value;
+		}
+
+		for(int i = 0; i < node.childCount && node.labels[i] <= ids[next]; i++){
+			T found = findSuperset(node.children[i], ids, (node.labels[i] == ids[next]) ? next+1 : next);
+
+			if(found != null){
+				return found;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * node of the trie, its children ordered by their ids
+	 * @param <T> the type of the values stored with the sets
+	 */
+	private static class Node<T> {
+		private int[] labels = new int[0]; //ids of the children
+		private Node<T>[] children = newArray(0); //children, in the order of their ids
+		private int childCount; //number of children
+		private T value; //value of the set ending here, null if no set ends here
+
+		/**
+		 * @param id an id
+		 * @return the child for the id, which is created if it does not exist
+		 */
+		private Node<T> getOrCreateChild(int id) {
+			int position = Arrays.binarySearch(labels, 0, childCount, id);
+
+			if(position >= 0){
+				return children[position];
+			}
+
+			position = -position - 1;
+
+			if(childCount == labels.length){
+				int capacity = Math.max(2, 2*childCount);
+				labels = Arrays.copyOf(labels, capacity);
+				children = Arrays.copyOf(children, capacity);
+			}
+
+			System.arraycopy(labels, position, labels, position+1, childCount-position);
+			System.arraycopy(children, position, children, position+1, childCount-position);
+
+			Node<T> child = new Node<T>();
+			labels[position] = id;
+			children[position] = child;
+			childCount++;
+
+			return child;
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private static <T> Node<T>[] newArray(int length) {
+			return (Node<T>[]) new Node[length];
+		}
+	}
+}
@@ -0,0 +1,312 @@
+package main;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import exceptions.InvalidInputException;
+import logic.Engine;
+import logic.Extension;
+import logic.Framework;
+import logic.FrameworkReader;
+import logic.FrameworkReader.Format;
+
+/**
+ * Solves argument frameworks read from files without a window, e.g. in nightly jobs on servers without a display
+ * @details the frameworks are solved without explanations and without the interactor, so no JavaFX class is
+ * 			ever loaded; tasks and results are written the way the ICCMA competition does:
+ * 			EE-X enumerates all extensions, SE-X gives some extension, DC-X and DS-X decide whether the argument
+ * 			given by -a is credulously or skeptically accepted, for X one of CF, AD, CO, PR, ST and GR
+ * @author Patrick Bellositz
+ */
+public class Batch {
+
+	/**
+	 * how the batch solver is called
+	 */
+	private static final String USAGE = "usage: java -cp AF.jar main.Batch -p <task> [-a <argument>] [-e <engine>] [-t <threads>] [-o <output file>] [-fo <format>] <file or directory>...\n"
+			+ "  task:   EE, SE, DC or DS followed by -CF, -AD, -CO, -PR, -ST or -GR, e.g. EE-PR\n"
+			+ "  engine: " + Arrays.toString(Engine.values()) + ", ENUMERATION by default\n"
+			+ "  format: " + Arrays.toString(Format.values()) + ", given by the extensions of the files by default\n"
+			+ "  a directory stands for all apx, tgf, i23 and af files in it; with more than one file every result is preceded by its file";
+
+	private String problem; //what is computed: EE, SE, DC or DS
+	private String semantics; //the semantics: CF, AD, CO, PR, ST or GR
+	private String query; //the argument to be decided, null for EE and SE
+	private Engine engine = Engine.ENUMERATION; //the way extensions are computed
+	private int parallelism = 1; //number of threads computing a framework's extensions
+	private File output; //file the results are written to, null for stdout
+	private Format format; //the format of all files, null if given by their extensions
+	private ArrayList<File> files = new ArrayList<File>(); //the frameworks to be solved
+
+	/**
+	 * main method
+	 * @param args arguments from terminal
+	 */
+	public static void main(String[] args) {
+		Batch batch = new Batch();
+
+		try {
+			batch.parseArguments(args);
+		} catch (InvalidInputException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		try {
+			System.exit(batch.run() ? 0 : 1);
+		} catch (IOException e) {
+			System.err.println("The results could not be written: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * reads the options and files from the terminal arguments
+	 * @param args arguments from terminal
+	 * @throws InvalidInputException if an option is unknown or misses its value, or no task or file is given
+	 */
+	private void parseArguments(String[] args) throws InvalidInputException {
+		for(int i = 0; i < args.length; i++){
+			String arg = args[i];
+
+			if(!arg.startsWith("-") || arg.length() == 1){
+				addFiles(new File(arg));
+				continue;
+			}
+
+			if(i+1 >= args.length){
+				throw new InvalidInputException("The option " + arg + " needs a value.");
+			}
+
+			String value = args[++i];
+
+			if(arg.equals("-p")){
+				String[] task = value.toUpperCase().split("-");
+
+				if(task.length != 2 || !Arrays.asList("EE", "SE", "DC", "DS").contains(task[0])
+						|| !Arrays.asList("CF", "AD", "CO", "PR", "ST", "GR").contains(task[1])){
+					throw new InvalidInputException("The task " + value + " is not supported.");
+				}
+				problem = task[0];
+				semantics = task[1];
+			}
+			else if(arg.equals("-a")){
+				query = value;
+			}
+			else if(arg.equals("-e")){
+				try {
+					engine = Engine.valueOf(value.toUpperCase());
+				} catch (IllegalArgumentException e) {
+					throw new InvalidInputException("The engine " + value + " is not supported.");
+				}
+			}
+			else if(arg.equals("-t")){
+				try {
+					parallelism = Integer.parseInt(value);
+				} catch (NumberFormatException e) {
+					throw new InvalidInputException("The number of threads " + value + " is no number.");
+				}
+				if(parallelism < 1){
+					throw new InvalidInputException("The number of threads has to be at least 1.");
+				}
+			}
+			else if(arg.equals("-o")){
+				output = new File(value);
+			}
+			else if(arg.equals("-f")){ //as in ICCMA
+				addFiles(new File(value));
+			}
+			else if(arg.equals("-fo")){
+				try {
+					format = Format.valueOf(value.toUpperCase());
+				} catch (IllegalArgumentException e) {
+					throw new InvalidInputException("The file format " + value + " is not supported.");
+				}
+			}
+			else{
+				throw new InvalidInputException("The option " + arg + " is unknown.");
+			}
+		}
+
+		if(problem == null){
+			throw new InvalidInputException("No task is given.");
+		}
+		if(query == null && (problem.equals("DC") || problem.equals("DS"))){
+			throw new InvalidInputException("The task " + problem + "-" + semantics + " needs an argument given by -a.");
+		}
+		if(files.isEmpty()){
+			throw new InvalidInputException("No framework file is given.");
+		}
+	}
+
+	/**
+	 * adds a file to the frameworks to be solved, or all files of a directory in a known format in alphabetical order
+	 * @param file the file or directory
+	 */
+	private void addFiles(File file) {
+		File[] children = file.listFiles();
+
+		if(children == null){
+			files.add(file);
+			return;
+		}
+
+		Arrays.sort(children);
+		for(File child: children){
+			try {
+				if(child.isFile()){
+					Format.of(child);
+					files.add(child);
+				}
+			} catch (InvalidInputException e) {
+				//not a framework, skipped
+			}
+		}
+	}
+
+	/**
+	 * solves all frameworks, a framework that cannot be read or solved is reported and skipped
+	 * @return whether all frameworks were solved
+	 * @throws IOException if the output file could not be written
+	 */
+	private boolean run() throws IOException {
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(
+				(output != null) ? new FileOutputStream(output) : System.out, StandardCharsets.UTF_8));
+		boolean solved = true;
+
+		try{
+			for(File file: files){
+				String result;
+
+				try {
+					FrameworkReader reader = (format != null) ? new FrameworkReader(file, format) : new FrameworkReader(file);
+					reader.read();
+
+					Framework framework = new Framework(reader.getArguments(), reader.getAttackers(), reader.getAttacked(), reader.getAttackCount(), null);
+					framework.setEngine(engine);
+					framework.setParallelism(parallelism);
+					result = solve(framework);
+				} catch (IOException e) {
+					System.err.println(file.getPath() + ": the file could not be read: " + e.getMessage());
+					solved = false;
+					continue;
+				} catch (InvalidInputException e) {
+					System.err.println(file.getPath() + ": " + e.getMessage());
+					solved = false;
+					continue;
+				}
+
+				out.println((files.size() > 1) ? file.getPath() + "\t" + result : result);
+			}
+		} finally{
+			out.flush();
+
+			if(output != null){
+				out.close();
+			}
+		}
+
+		if(out.checkError()){
+			throw new IOException((output != null) ? output.getPath() : "stdout");
+		}
+		return solved;
+	}
+
+	/**
+	 * solves the task for a framework
+	 * @param framework the framework
+	 * @return the result, as written by ICCMA solvers
+	 * @throws InvalidInputException if the argument to be decided is not part of the framework,
+	 * 			or the extensions could not be computed
+	 */
+	private String solve(Framework framework) throws InvalidInputException {
+		int queried = -1;
+
+		if(query != null){
+			if(framework.getArgument(query) == null){
+				throw new InvalidInputException("The argument " + query + " is not part of the framework.");
+			}
+			queried = framework.getArgument(query).getId();
+		}
+
+		ArrayList<Extension> extensions = getExtensions(framework);
+
+		if(problem.equals("EE")){
+			StringBuilder result = new StringBuilder("[");
+
+			for(int e = 0; e < extensions.size(); e++){
+				result.append((e > 0) ? "," : "").append(format(framework, extensions.get(e)));
+			}
+			return result.append("]").toString();
+		}
+
+		if(problem.equals("SE")){
+			return extensions.isEmpty() ? "NO" : format(framework, extensions.get(0));
+		}
+
+		boolean credulous = problem.equals("DC");
+
+		for(Extension e: extensions){
+			if(e.getMembers().get(queried) == credulous){ //the first witness decides
+				return credulous ? "YES" : "NO";
+			}
+		}
+		return credulous ? "NO" : "YES";
+	}
+
+	/**
+	 * @return the extensions of the framework under the semantics of the task
+	 * @param framework the framework
+	 * @throws InvalidInputException if the extensions could not be computed
+	 */
+	private ArrayList<Extension> getExtensions(Framework framework) throws InvalidInputException {
+		ArrayList<Extension> extensions;
+
+		if(semantics.equals("GR")){
+			extensions = new ArrayList<Extension>();
+			extensions.add(framework.getGroundedExtension(false, false));
+			return extensions;
+		}
+
+		if(semantics.equals("CF")){
+			extensions = framework.getConflictFreeSets(false);
+		}
+		else if(semantics.equals("AD")){
+			extensions = framework.getAdmissibleExtensions(false, false);
+		}
+		else if(semantics.equals("CO")){
+			extensions = framework.getCompleteExtensions(false, false);
+		}
+		else if(semantics.equals("PR")){
+			extensions = framework.getPreferredExtensions(false, false);
+		}
+		else{
+			extensions = framework.getStableExtensions(false, false);
+		}
+
+		return (extensions != null) ? extensions : new ArrayList<Extension>();
+	}
+
+	/**
+	 * @return an extension as a list of the names its arguments have in the file, e.g. [a,b]
+	 * @param framework the framework of the extension
+	 * @param extension the extension
+	 */
+	private static String format(Framework framework, Extension extension) {
+		StringBuilder result = new StringBuilder("[");
+		BitSet members = extension.getMembers();
+
+		for(int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id+1)){
+			result.append((result.length() > 1) ? "," : "").append(framework.getArgument(id).getLabel());
+		}
+		return result.append("]").toString();
+	}
+}